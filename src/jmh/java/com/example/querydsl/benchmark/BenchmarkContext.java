@@ -0,0 +1,55 @@
+package com.example.querydsl.benchmark;
+
+import com.example.querydsl.QuerydslApplication;
+import com.example.querydsl.infrastructure.persistence.database.repository.MemberBulkIngestRepository;
+import com.example.querydsl.ui.dto.request.MemberIngestDto;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.stream.IntStream;
+
+/** BenchmarkContext
+ * - benchmark 용 spring context (web 없이, embedded H2 in-memory)
+ * - member 를 memberCount 건, team 을 TEAM_COUNT 개 적재
+ */
+final class BenchmarkContext {
+
+    static final int TEAM_COUNT = 10;
+    static final int MAX_AGE = 100;
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start(int memberCount) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(QuerydslApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.profiles.active=bench",  // local profile 의 InitDB 제외
+                        "--spring.datasource.url=jdbc:h2:mem:bench-" + memberCount + ";DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.properties.hibernate.format_sql=false",
+                        "--spring.jpa.properties.hibernate.use_sql_comments=false",
+                        "--decorator.datasource.p6spy.enable-logging=false",
+                        "--logging.level.root=warn",
+                        "--logging.level.org.hibernate.SQL=warn",
+                        "--logging.level.org.hibernate.type=warn"
+                );
+
+        context.getBean(MemberBulkIngestRepository.class).ingest(
+                IntStream.range(0, memberCount).mapToObj(i -> MemberIngestDto.builder()
+                        .username("member" + i)
+                        .age(i % MAX_AGE)
+                        .teamName("team" + (i % TEAM_COUNT))
+                        .build()),
+                false);
+        return context;
+    }
+
+    static TransactionTemplate readOnlyTransaction(ConfigurableApplicationContext context) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        transactionTemplate.setReadOnly(true);
+        return transactionTemplate;
+    }
+}
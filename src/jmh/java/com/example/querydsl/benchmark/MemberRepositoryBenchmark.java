@@ -0,0 +1,127 @@
+package com.example.querydsl.benchmark;
+
+import com.example.querydsl.infrastructure.persistence.database.entity.Member;
+import com.example.querydsl.infrastructure.persistence.database.repository.MemberJpaRepository;
+import com.example.querydsl.infrastructure.persistence.database.repository.MemberNativeSearchRepository;
+import com.example.querydsl.infrastructure.persistence.database.repository.MemberQuerydslRepository;
+import com.example.querydsl.infrastructure.persistence.database.repository.MemberRepository;
+import com.example.querydsl.ui.dto.request.MemberSearchConditionDto;
+import com.example.querydsl.ui.dto.response.MemberTeamResponseDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/** MemberRepositoryBenchmark
+ * - 같은 조회를 MemberJpaRepository(JPQL) / MemberQuerydslRepository / MemberRepository(custom) 로 비교
+ * - searchMembers 는 JPA 경로(MemberSearchQueryShapes) 와 querydsl-sql 경로(MemberNativeSearchRepository) 도 비교
+ * - invocation 마다 새 read-only transaction -> 1차 cache 효과 없이 매번 DB 조회
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class MemberRepositoryBenchmark {
+
+    @Param({"1000", "100000"})
+    int memberCount;
+
+    ConfigurableApplicationContext context;
+    TransactionTemplate transactionTemplate;
+
+    MemberJpaRepository memberJpaRepository;
+    MemberQuerydslRepository memberQuerydslRepository;
+    MemberRepository memberRepository;
+    MemberNativeSearchRepository memberNativeSearchRepository;
+
+    long firstMemberId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(memberCount);
+        transactionTemplate = BenchmarkContext.readOnlyTransaction(context);
+
+        memberJpaRepository = context.getBean(MemberJpaRepository.class);
+        memberQuerydslRepository = context.getBean(MemberQuerydslRepository.class);
+        memberRepository = context.getBean(MemberRepository.class);
+        memberNativeSearchRepository = context.getBean(MemberNativeSearchRepository.class);
+
+        firstMemberId = transactionTemplate.execute(status -> memberQuerydslRepository.findByUsername("member0").get(0).getId());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private long randomId() {
+        return firstMemberId + ThreadLocalRandom.current().nextInt(memberCount);
+    }
+
+    private String randomUsername() {
+        return "member" + ThreadLocalRandom.current().nextInt(memberCount);
+    }
+
+    private MemberSearchConditionDto randomCondition() {
+        int ageGoe = ThreadLocalRandom.current().nextInt(BenchmarkContext.MAX_AGE - 2);
+        return MemberSearchConditionDto.builder()
+                .teamName("team" + ThreadLocalRandom.current().nextInt(BenchmarkContext.TEAM_COUNT))
+                .ageGoe(ageGoe)
+                .ageLoe(ageGoe + 2)
+                .build();
+    }
+
+    @Benchmark
+    public Optional<Member> findById_jpa() {
+        long id = randomId();
+        return transactionTemplate.execute(status -> memberJpaRepository.findById(id));
+    }
+
+    @Benchmark
+    public Optional<Member> findById_querydsl() {
+        long id = randomId();
+        return transactionTemplate.execute(status -> memberQuerydslRepository.findById(id));
+    }
+
+    @Benchmark
+    public List<Member> findByUsername_jpa() {
+        String username = randomUsername();
+        return transactionTemplate.execute(status -> memberJpaRepository.findByUsername(username));
+    }
+
+    @Benchmark
+    public List<Member> findByUsername_querydsl() {
+        String username = randomUsername();
+        return transactionTemplate.execute(status -> memberQuerydslRepository.findByUsername(username));
+    }
+
+    @Benchmark
+    public List<MemberTeamResponseDto> searchMembers_querydslRepository() {
+        MemberSearchConditionDto condition = randomCondition();
+        return transactionTemplate.execute(status -> memberQuerydslRepository.searchByMemberSearchCondition(condition));
+    }
+
+    @Benchmark
+    public List<MemberTeamResponseDto> searchMembers_customRepository() {
+        MemberSearchConditionDto condition = randomCondition();
+        return transactionTemplate.execute(status -> memberRepository.searchMembers(condition));
+    }
+
+    @Benchmark
+    public List<MemberTeamResponseDto> searchMembers_nativeSql() {
+        MemberSearchConditionDto condition = randomCondition();
+        return transactionTemplate.execute(status -> memberNativeSearchRepository.search(condition));
+    }
+}
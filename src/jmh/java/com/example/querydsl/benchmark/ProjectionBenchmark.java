@@ -0,0 +1,85 @@
+package com.example.querydsl.benchmark;
+
+import com.example.querydsl.ui.dto.response.MemberResponseDto;
+import com.example.querydsl.ui.dto.response.QMemberResponseDto;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Projections;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.querydsl.infrastructure.persistence.database.entity.QMember.member;
+
+/** ProjectionBenchmark
+ * - QuerydslAdvancedTest 의 DTO projection 방식 비교 (같은 query, projection 만 다름)
+ * - Projections.constructor / bean(setter) / fields / @QueryProjection
+ * - rows: 한 번에 조회하는 row 수 -> row 당 projection 비용이 드러나도록
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ProjectionBenchmark {
+
+    @Param({"100000"})
+    int memberCount;
+
+    @Param({"1000"})
+    int rows;
+
+    ConfigurableApplicationContext context;
+    TransactionTemplate transactionTemplate;
+    JPAQueryFactory queryFactory;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(memberCount);
+        transactionTemplate = BenchmarkContext.readOnlyTransaction(context);
+        queryFactory = context.getBean(JPAQueryFactory.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private List<MemberResponseDto> fetch(Expression<MemberResponseDto> projection) {
+        return transactionTemplate.execute(status -> queryFactory
+                .select(projection)
+                .from(member)
+                .limit(rows)
+                .fetch());
+    }
+
+    @Benchmark
+    public List<MemberResponseDto> constructor() {
+        return fetch(Projections.constructor(MemberResponseDto.class, member.username, member.age));
+    }
+
+    @Benchmark
+    public List<MemberResponseDto> bean() {
+        return fetch(Projections.bean(MemberResponseDto.class, member.username, member.age));
+    }
+
+    @Benchmark
+    public List<MemberResponseDto> fields() {
+        return fetch(Projections.fields(MemberResponseDto.class, member.username, member.age));
+    }
+
+    @Benchmark
+    public List<MemberResponseDto> queryProjection() {
+        return fetch(new QMemberResponseDto(member.username, member.age));
+    }
+}
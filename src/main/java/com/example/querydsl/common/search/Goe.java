@@ -0,0 +1,19 @@
+package com.example.querydsl.common.search;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 검색 조건 DTO field -> {path} >= {값} (값이 null 이거나 빈 문자열이면 조건 없음) -> PredicateCompiler
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface Goe {
+
+    /**
+     * "{root}.{property}" (ex. "member.age", "team.name") -> root 는 Q-class static instance 이름 (PredicateCompiler.rootName)
+     */
+    String value();
+}
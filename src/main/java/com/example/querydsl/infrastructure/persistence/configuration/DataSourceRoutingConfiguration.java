@@ -0,0 +1,124 @@
+package com.example.querydsl.infrastructure.persistence.configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.util.StringUtils.hasText;
+
+/** DataSourceRoutingConfiguration
+ * - querydsl.datasource.routing.enabled=true 일 때만 사용 (기본은 spring.datasource 하나)
+ * - primary  : spring.datasource.*
+ * - replicas : querydsl.datasource.routing.replicas[n].{url, username, password, driver-class-name}
+ *
+ * [ 구성 ]
+ * LazyConnectionDataSourceProxy -> ReplicaRoutingDataSource -> primary / replica HikariDataSource
+ *
+ * [ Hikari pool ]
+ * - 모든 pool 에 spring.datasource.hikari.* 적용, replica 는 querydsl.datasource.routing.replicas[n].hikari.* 로 덮어씀
+ * - pool 이름: {spring.datasource.hikari.pool-name 또는 querydsl}-primary, -replica-n -> hikaricp.* metric 의 pool tag
+ * - pool 은 bean 이 아님 (DataSource bean 은 하나) -> metric 은 여기서 등록, context 종료 시 close
+ */
+@Configuration
+@ConditionalOnProperty(name = "querydsl.datasource.routing.enabled", havingValue = "true")
+public class DataSourceRoutingConfiguration implements DisposableBean {
+
+    private static final String REPLICAS = "querydsl.datasource.routing.replicas";
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties primaryProperties,
+                                                             Environment environment,
+                                                             ObjectProvider<MeterRegistry> meterRegistry,
+                                                             @Value("${querydsl.datasource.routing.selection:ROUND_ROBIN}") ReplicaRoutingDataSource.Selection selection,
+                                                             @Value("${querydsl.datasource.routing.validation-timeout-seconds:1}") int validationTimeoutSeconds) {
+        Binder binder = Binder.get(environment);
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+
+        HikariDataSource primary = hikari(primaryProperties, binder, null, "primary", registry);
+
+        List<DataSourceProperties> replicaProperties = binder
+                .bind(REPLICAS, Bindable.listOf(DataSourceProperties.class))
+                .orElse(List.of());
+        List<DataSource> replicas = new ArrayList<>(replicaProperties.size());
+        for (int i = 0; i < replicaProperties.size(); i++) {
+            replicas.add(hikari(replicaProperties.get(i), binder, REPLICAS + "[" + i + "].hikari", "replica-" + i, registry));
+        }
+
+        this.routingDataSource = new ReplicaRoutingDataSource(primary, replicas, selection, validationTimeoutSeconds);
+        return routingDataSource;
+    }
+
+    /**
+     * DataSourceAutoConfiguration 대신 사용 (@ConditionalOnMissingBean(DataSource.class))
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return lazy(replicaRoutingDataSource);
+    }
+
+    /**
+     * 기본값을 지정하지 않으면 transaction 시작 시 getAutoCommit() 을 위해 connection 을 바로 가져옴 (readOnly 설정 전 -> primary)
+     */
+    static LazyConnectionDataSourceProxy lazy(DataSource routingDataSource) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(routingDataSource);
+        proxy.setDefaultAutoCommit(true);
+        proxy.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        return proxy;
+    }
+
+    @Scheduled(initialDelayString = "${querydsl.datasource.routing.health-check-interval:PT5S}",
+            fixedDelayString = "${querydsl.datasource.routing.health-check-interval:PT5S}")
+    public void checkReplicaHealth() {
+        routingDataSource.checkHealth();
+    }
+
+    @Override
+    public void destroy() {
+        for (int i = pools.size() - 1; i >= 0; i--) {
+            pools.get(i).close();
+        }
+        pools.clear();
+    }
+
+    /**
+     * DataSourceConfiguration.Hikari 와 같은 순서 -> spring.datasource.* 로 만들고 spring.datasource.hikari.* 를 binding
+     * @param overridePrefix pool 별로 덮어쓸 hikari 설정 (없으면 null)
+     */
+    private HikariDataSource hikari(DataSourceProperties properties, Binder binder, String overridePrefix, String role, MeterRegistry registry) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        if (overridePrefix != null) {
+            binder.bind(overridePrefix, Bindable.ofInstance(pool));
+        }
+
+        // pool 이름이 같으면 metric 이 겹침 -> 역할을 붙임
+        pool.setPoolName((hasText(pool.getPoolName()) ? pool.getPoolName() : "querydsl") + "-" + role);
+        if (registry != null) {
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+        }
+        pools.add(pool);
+        return pool;
+    }
+}
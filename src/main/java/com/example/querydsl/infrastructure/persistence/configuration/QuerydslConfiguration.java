@@ -1,12 +1,24 @@
 package com.example.querydsl.infrastructure.persistence.configuration;
 
+import com.example.querydsl.infrastructure.persistence.database.repository.support.InstrumentedJPAQueryFactory;
+import com.example.querydsl.infrastructure.persistence.database.repository.support.QueryMetrics;
 import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.querydsl.sql.SQLQueryFactory;
+import com.querydsl.sql.SQLTemplates;
+import com.querydsl.sql.SQLTemplatesRegistry;
+import com.querydsl.sql.spring.SpringConnectionProvider;
+import com.querydsl.sql.spring.SpringExceptionTranslator;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import javax.sql.DataSource;
 
 @Configuration
 @RequiredArgsConstructor
@@ -15,8 +27,34 @@ public class QuerydslConfiguration {
 //    @PersistenceContext
     private final EntityManager entityManager;
 
+    /**
+     * 모든 select query 의 latency, row 수를 query fingerprint 별로 기록
+     * - /actuator/metrics/querydsl.query?tag=query:MemberQuerydslRepository.findById#fetchOne (NAME_HINT)
+     */
     @Bean
-    public JPAQueryFactory jpaQueryFactory() {
-        return new JPAQueryFactory(this.entityManager);
+    public JPAQueryFactory jpaQueryFactory(QueryMetrics queryMetrics) {
+        return new InstrumentedJPAQueryFactory(this.entityManager, queryMetrics);
+    }
+
+    /**
+     * querydsl-sql -> Hibernate 를 거치지 않고 JDBC 로 바로 조회 (MemberNativeSearchRepository)
+     * - SpringConnectionProvider : 진행 중인 spring transaction 의 connection 사용 (JpaTransactionManager 가 묶어 둔 connection 포함)
+     * - SQL 방언은 DB metadata 로 결정 (H2, MySQL ..)
+     */
+    @Bean
+    public SQLQueryFactory sqlQueryFactory(DataSource dataSource) throws MetaDataAccessException {
+        SQLTemplates templates = JdbcUtils.extractDatabaseMetaData(dataSource, new SQLTemplatesRegistry()::getTemplates);
+        com.querydsl.sql.Configuration configuration = new com.querydsl.sql.Configuration(templates);
+        configuration.setExceptionTranslator(new SpringExceptionTranslator());
+        return new SQLQueryFactory(configuration, new SpringConnectionProvider(dataSource));
+    }
+
+    /**
+     * call-site -> NAME_HINT 가 없는 query 의 fingerprint 를 호출 위치로 (query 마다 StackWalker, 개발용)
+     */
+    @Bean
+    public QueryMetrics queryMetrics(MeterRegistry meterRegistry,
+                                     @Value("${querydsl.query-metrics.call-site:false}") boolean callSite) {
+        return new QueryMetrics(meterRegistry, callSite);
     }
 }
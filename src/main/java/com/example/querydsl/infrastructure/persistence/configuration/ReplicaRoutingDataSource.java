@@ -0,0 +1,164 @@
+package com.example.querydsl.infrastructure.persistence.configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/** ReplicaRoutingDataSource
+ * - read-only transaction (@Transactional(readOnly = true)) 은 replica, 나머지는 primary 로 connection 을 가져옴
+ * - transaction 시작 시점에는 readOnly 여부가 아직 정해지지 않았으므로 LazyConnectionDataSourceProxy 로 감싸서 사용해야 함
+ *   (실제 connection 은 첫 statement 실행 시점에 가져옴)
+ *
+ * [ replica 선택 ]
+ * - ROUND_ROBIN : 정상인 replica 를 순서대로
+ * - LEAST_BUSY  : 사용 중인 connection 이 가장 적은 replica (HikariDataSource 가 아니면 0 으로 취급)
+ *
+ * [ fallback ]
+ * - checkHealth() 에서 Connection.isValid 에 실패한 replica 는 다음 검사에서 복구될 때까지 제외
+ * - replica connection 획득에 실패하면 바로 제외하고 primary 사용
+ * - 정상인 replica 가 없으면 primary
+ *
+ * [ 주의 ]
+ * - replication lag 만큼 방금 commit 한 변경이 보이지 않을 수 있음 -> read-your-writes 가 필요하면 readOnly 로 조회하지 않기
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Selection {
+        ROUND_ROBIN, LEAST_BUSY
+    }
+
+    static final String PRIMARY = "primary";
+
+    private final DataSource primary;
+    private final Map<String, DataSource> replicas;
+    private final Selection selection;
+    private final int validationTimeoutSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+    private volatile List<String> healthy;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, Selection selection, int validationTimeoutSeconds) {
+        this.primary = primary;
+        this.replicas = new LinkedHashMap<>();
+        for (int i = 0; i < replicas.size(); i++) {
+            this.replicas.put("replica-" + i, replicas.get(i));
+        }
+        this.selection = selection;
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+        this.healthy = List.copyOf(this.replicas.keySet());
+
+        Map<Object, Object> targets = new HashMap<>(this.replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        return selectReplica();
+    }
+
+    private String selectReplica() {
+        List<String> candidates = healthy;
+        if (candidates.isEmpty()) {
+            return PRIMARY;
+        }
+        if (selection == Selection.LEAST_BUSY) {
+            return candidates.stream()
+                    .min(Comparator.comparingInt(key -> activeConnections(replicas.get(key))))
+                    .orElse(PRIMARY);
+        }
+        return candidates.get(Math.floorMod(next.getAndIncrement(), candidates.size()));
+    }
+
+    private static int activeConnections(DataSource dataSource) {
+        if (dataSource instanceof HikariDataSource) {
+            HikariPoolMXBean pool = ((HikariDataSource) dataSource).getHikariPoolMXBean();
+            return pool != null ? pool.getActiveConnections() : 0;
+        }
+        return 0;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Object key = determineCurrentLookupKey();
+        if (PRIMARY.equals(key)) {
+            return primary.getConnection();
+        }
+        try {
+            return replicas.get(key).getConnection();
+        } catch (SQLException e) {
+            markDown((String) key, e);
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        Object key = determineCurrentLookupKey();
+        if (PRIMARY.equals(key)) {
+            return primary.getConnection(username, password);
+        }
+        try {
+            return replicas.get(key).getConnection(username, password);
+        } catch (SQLException e) {
+            markDown((String) key, e);
+            return primary.getConnection(username, password);
+        }
+    }
+
+    /**
+     * replica 마다 connection 을 하나 꺼내서 검사 -> 정상 목록 교체
+     */
+    public void checkHealth() {
+        List<String> up = new ArrayList<>();
+        replicas.forEach((key, dataSource) -> {
+            try (Connection connection = dataSource.getConnection()) {
+                if (connection.isValid(validationTimeoutSeconds)) {
+                    up.add(key);
+                }
+            } catch (SQLException e) {
+                log.debug("Replica {} health check failed", key, e);
+            }
+        });
+
+        List<String> previous;
+        synchronized (this) {
+            previous = healthy;
+            healthy = Collections.unmodifiableList(up);
+        }
+        if (!previous.equals(up)) {
+            log.warn("Healthy replicas changed: {} -> {}", previous, up);
+        }
+    }
+
+    private synchronized void markDown(String key, SQLException cause) {
+        List<String> up = new ArrayList<>(healthy);
+        if (up.remove(key)) {
+            healthy = Collections.unmodifiableList(up);
+            log.warn("Replica {} is unavailable, falling back to primary until the next health check", key, cause);
+        }
+    }
+
+    public List<String> getHealthyReplicas() {
+        return healthy;
+    }
+}
@@ -8,9 +8,16 @@ import javax.persistence.*;
 @ToString(of = {"id", "username", "age"})  // ToString에서 연관관계도 넣을 경우 순환 참조 될 수 있음 !!
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_member_team_age", columnList = "team_id, age"),  // teamName(-> team id) + age 범위, team join
+        @Index(name = "idx_member_age", columnList = "age"),                // team 조건 없는 age 범위
+        @Index(name = "idx_member_username", columnList = "username")       // username =, like 'x%'
+})
 public class Member extends BaseEntity {
 
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "member_seq_generator")  // IDENTITY 는 JDBC insert batch 가 꺼짐
+    @SequenceGenerator(name = "member_seq_generator", sequenceName = "member_seq", allocationSize = 50)
     @Column(name = "member_id")
     private Long id;
 
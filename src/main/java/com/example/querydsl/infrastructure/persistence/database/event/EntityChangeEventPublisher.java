@@ -0,0 +1,102 @@
+package com.example.querydsl.infrastructure.persistence.database.event;
+
+import com.example.querydsl.infrastructure.persistence.database.event.EntityChangedEvent.ChangeType;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/** EntityChangeEventPublisher
+ * - Hibernate post-commit listener 를 등록해서 EntityChangedEvent 를 spring event 로 발행
+ * - commit 된 변경만 발행 (rollback 되면 발행하지 않음)
+ * - JPA @EntityListeners 와 달리 update/delete 의 변경 전 값(old state)을 알 수 있음
+ */
+@Component
+@RequiredArgsConstructor
+public class EntityChangeEventPublisher
+        implements PostCommitInsertEventListener, PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        publish(event.getPersister(), event.getId(), ChangeType.INSERTED, event.getEntity(), null);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        publish(event.getPersister(), event.getId(), ChangeType.UPDATED, event.getEntity(), event.getOldState());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        publish(event.getPersister(), event.getId(), ChangeType.DELETED, event.getEntity(), event.getDeletedState());
+    }
+
+    // rollback 된 변경은 DB 에 반영되지 않았으므로 알릴 것이 없음
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    // Hibernate 버전에 따라 둘 중 하나가 abstract (오타가 있는 쪽이 예전 이름)
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return true;
+    }
+
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return true;
+    }
+
+    private void publish(EntityPersister persister, Object id, ChangeType changeType, Object entity, Object[] state) {
+        eventPublisher.publishEvent(new EntityChangedEvent(
+                persister.getMappedClass(), id, changeType, entity, toMap(persister, state)));
+    }
+
+    private Map<String, Object> toMap(EntityPersister persister, Object[] state) {
+        if (state == null) {
+            return Collections.emptyMap();
+        }
+
+        String[] propertyNames = persister.getPropertyNames();
+        Map<String, Object> values = new HashMap<>();
+        for (int i = 0; i < propertyNames.length; i++) {
+            values.put(propertyNames[i], state[i]);
+        }
+        return values;
+    }
+}
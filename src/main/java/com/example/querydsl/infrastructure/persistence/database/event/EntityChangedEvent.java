@@ -0,0 +1,51 @@
+package com.example.querydsl.infrastructure.persistence.database.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Collections;
+import java.util.Map;
+
+/** EntityChangedEvent
+ * - transaction commit 후 entity 의 insert / update / delete 를 알림
+ * - cache, 통계 등 DB 값을 복제해 둔 곳을 갱신하는 용도
+ *
+ * [ 주의 ]
+ * - JPQL bulk update/delete 는 영속성 컨텍스트를 거치지 않으므로 event 가 발생하지 않음
+ *   -> ChunkedBulkOperations 를 거치면 어떤 row 가 바뀌었는지 모르는 BULK event 하나가 발생 (id, entity 없음)
+ * - StatelessSession 도 영속성 컨텍스트를 거치지 않음 -> MemberBulkIngestRepository(stateless) 가 끝나면 BULK event
+ */
+@Getter
+@RequiredArgsConstructor
+public class EntityChangedEvent {
+
+    public enum ChangeType {
+        INSERTED, UPDATED, DELETED,
+        BULK  // 해당 type 의 여러 row 가 변경됨 -> 전체 무효화/재적재
+    }
+
+    private final Class<?> entityType;
+    private final Object id;
+    private final ChangeType changeType;
+    private final Object entity;
+
+    /**
+     * UPDATED, DELETED 일 때 변경 전 값 (property name -> value), INSERTED 면 비어 있음
+     */
+    private final Map<String, Object> previousState;
+
+    /**
+     * 어떤 row 가 바뀌었는지 모르는 변경 (JPQL bulk, StatelessSession ingest 등)
+     */
+    public static EntityChangedEvent bulk(Class<?> entityType) {
+        return new EntityChangedEvent(entityType, null, ChangeType.BULK, null, Collections.emptyMap());
+    }
+
+    public boolean isFor(Class<?> type) {
+        return type.isAssignableFrom(entityType);
+    }
+
+    public Object getPreviousValue(String property) {
+        return previousState.get(property);
+    }
+}
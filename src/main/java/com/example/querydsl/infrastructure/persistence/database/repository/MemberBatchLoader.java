@@ -0,0 +1,54 @@
+package com.example.querydsl.infrastructure.persistence.database.repository;
+
+import com.example.querydsl.infrastructure.persistence.database.repository.support.BatchLoader;
+import com.example.querydsl.ui.dto.response.MemberTeamResponseDto;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/** MemberBatchLoader
+ * - 동시에 들어온 id 단건 조회를 모아서 MemberQuerydslRepository.findDtosByIds 한 번으로 조회 (BatchLoader)
+ *   -> 요청 N개 = query N개 대신 window 마다 "member.id in (..)" 한 번
+ * - 다른 thread, 다른 transaction 에서 조회하므로 entity 대신 DTO 반환 (lazy loading, 영속성 컨텍스트 공유 문제 없음)
+ * - 호출한 쪽 transaction 에서 commit 되지 않은 member 는 보이지 않음
+ * - get(id) 는 timeout 까지만 기다림 -> pool 이 밀리거나 DB 가 느려도 요청 thread 가 묶여 있지 않음 (QueryTimeoutException)
+ */
+@Component
+public class MemberBatchLoader implements DisposableBean {
+
+    private final ThreadPoolTaskScheduler scheduler;
+    private final BatchLoader<Long, MemberTeamResponseDto> loader;
+    private final Duration timeout;
+
+    public MemberBatchLoader(MemberQuerydslRepository memberQuerydslRepository,
+                             @Value("${querydsl.member.batch-loader.window:2ms}") Duration window,
+                             @Value("${querydsl.member.batch-loader.max-batch-size:256}") int maxBatchSize,
+                             @Value("${querydsl.member.batch-loader.pool-size:4}") int poolSize,
+                             @Value("${querydsl.member.batch-loader.timeout:1s}") Duration timeout) {
+        this.scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadNamePrefix("member-batch-loader-");
+        scheduler.initialize();
+
+        this.loader = new BatchLoader<>(memberQuerydslRepository::findDtosByIds, window, maxBatchSize, scheduler.getScheduledExecutor());
+        this.timeout = timeout;
+    }
+
+    public Optional<MemberTeamResponseDto> get(Long id) {
+        return loader.get(id, timeout);
+    }
+
+    public CompletableFuture<Optional<MemberTeamResponseDto>> load(Long id) {
+        return loader.load(id);
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdown();
+    }
+}
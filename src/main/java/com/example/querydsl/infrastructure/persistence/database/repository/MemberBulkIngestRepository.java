@@ -0,0 +1,206 @@
+package com.example.querydsl.infrastructure.persistence.database.repository;
+
+import com.example.querydsl.infrastructure.persistence.database.entity.Member;
+import com.example.querydsl.infrastructure.persistence.database.entity.Team;
+import com.example.querydsl.infrastructure.persistence.database.event.EntityChangedEvent;
+import com.example.querydsl.ui.dto.request.MemberIngestDto;
+import com.example.querydsl.ui.dto.response.BulkIngestResponseDto;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static com.example.querydsl.infrastructure.persistence.database.entity.QTeam.team;
+import static org.springframework.util.StringUtils.hasText;
+
+/** MemberBulkIngestRepository
+ * - 대량 member 적재 (migration 등)
+ * - member/team id 가 SEQUENCE 전략 -> hibernate.jdbc.batch_size 단위 batch insert (order_inserts 로 member, team insert 정렬)
+ * - batch size 마다 flush/clear -> 영속성 컨텍스트가 커지지 않음
+ * - chunk size 마다 commit -> transaction 하나가 너무 길어지지 않음 (실패하면 그 chunk 만 rollback)
+ *
+ * [ stateless ]
+ * - StatelessSession 으로 영속성 컨텍스트, dirty checking, entity listener 를 모두 건너뜀 -> 더 빠름
+ * - 대신 auditing(createdDate, modifiedDate) 이 채워지지 않고 row 별 EntityChangedEvent 도 발생하지 않음
+ *   -> 끝나면(실패해도 commit 된 chunk 가 있으면) Member, 새 Team 이 있으면 Team 의 BULK event 하나씩 발행
+ *      (MemberUsernameIndex, MemberColumnarIndex 재적재, MemberDataVersion 증가, TeamStatisticsStore reconcile ..)
+ * - ingest 가 끝나기 전까지는 이미 commit 된 chunk 도 event 로 반영되지 않음
+ */
+@Repository
+public class MemberBulkIngestRepository {
+
+    private final EntityManager em;
+    private final EntityManagerFactory entityManagerFactory;
+    private final JPAQueryFactory queryFactory;
+    private final MemberIdFilter memberIdFilter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int chunkSize;
+
+    public MemberBulkIngestRepository(EntityManager em,
+                                      EntityManagerFactory entityManagerFactory,
+                                      JPAQueryFactory queryFactory,
+                                      MemberIdFilter memberIdFilter,
+                                      ApplicationEventPublisher eventPublisher,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:100}") int batchSize,
+                                      @Value("${querydsl.member.ingest.chunk-size:10000}") int chunkSize) {
+        this.em = em;
+        this.entityManagerFactory = entityManagerFactory;
+        this.queryFactory = queryFactory;
+        this.memberIdFilter = memberIdFilter;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.chunkSize = chunkSize;
+    }
+
+    public BulkIngestResponseDto ingest(Stream<MemberIngestDto> rows, boolean stateless) {
+        return ingest(rows.iterator(), stateless);
+    }
+
+    public BulkIngestResponseDto ingest(Iterator<MemberIngestDto> rows, boolean stateless) {
+        long startedAt = System.nanoTime();
+        IngestState state = new IngestState();
+
+        if (stateless) {
+            try {
+                ingestStateless(rows, state);
+            } finally {
+                publishBulkChanged(state);
+            }
+        } else {
+            while (rows.hasNext()) {
+                transactionTemplate.executeWithoutResult(status -> ingestChunk(rows, state));
+            }
+        }
+        return BulkIngestResponseDto.of(state.rows, state.teamsCreated, System.nanoTime() - startedAt);
+    }
+
+    private void ingestChunk(Iterator<MemberIngestDto> rows, IngestState state) {
+        for (int i = 1; i <= chunkSize && rows.hasNext(); i++) {
+            MemberIngestDto row = rows.next();
+
+            Member member = Member.builder().username(row.getUsername()).age(row.getAge()).build();
+            if (hasText(row.getTeamName())) {
+                // builder 의 team 을 쓰면 team.members 에 계속 쌓이므로 FK 만 채움 (getReference -> select 없음)
+                member.setTeam(em.getReference(Team.class, teamId(row.getTeamName(), state)));
+            }
+            em.persist(member);
+            state.rows++;
+
+            if (i % batchSize == 0) {
+                em.flush();
+                em.clear();
+            }
+        }
+    }
+
+    private Long teamId(String teamName, IngestState state) {
+        Long teamId = state.teamIds.get(teamName);
+        if (teamId == null) {
+            teamId = queryFactory.select(team.id)
+                    .from(team)
+                    .where(team.name.eq(teamName))
+                    .fetchFirst();
+            if (teamId == null) {
+                Team newTeam = Team.builder().name(teamName).build();
+                em.persist(newTeam);
+                teamId = newTeam.getId();
+                state.teamsCreated++;
+            }
+            state.teamIds.put(teamName, teamId);
+        }
+        return teamId;
+    }
+
+    private void ingestStateless(Iterator<MemberIngestDto> rows, IngestState state) {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+
+        StatelessSession session = sessionFactory.openStatelessSession();
+        try {
+            session.setJdbcBatchSize(batchSize);
+
+            while (rows.hasNext()) {
+                Transaction transaction = session.beginTransaction();
+                List<Long> insertedIds = new ArrayList<>();
+                try {
+                    for (int i = 0; i < chunkSize && rows.hasNext(); i++) {
+                        MemberIngestDto row = rows.next();
+
+                        Member member = Member.builder().username(row.getUsername()).age(row.getAge()).build();
+                        if (hasText(row.getTeamName())) {
+                            member.setTeam(statelessTeam(session, row.getTeamName(), state));
+                        }
+                        Long id = (Long) session.insert(member);
+                        memberIdFilter.put(id);  // StatelessSession 은 insert event 가 없음
+                        insertedIds.add(id);
+                        state.rows++;
+                    }
+                    transaction.commit();
+                    state.committedRows = state.rows;
+                    state.committedTeams = state.teamsCreated;
+                } catch (RuntimeException e) {
+                    transaction.rollback();
+                    throw e;
+                } finally {
+                    memberIdFilter.completed(insertedIds);
+                }
+            }
+        } finally {
+            session.close();
+        }
+    }
+
+    /**
+     * StatelessSession 은 insert event 가 없음 -> commit 된 row 가 있으면 BULK event
+     */
+    private void publishBulkChanged(IngestState state) {
+        if (state.committedRows > 0) {
+            eventPublisher.publishEvent(EntityChangedEvent.bulk(Member.class));
+        }
+        if (state.committedTeams > 0) {
+            eventPublisher.publishEvent(EntityChangedEvent.bulk(Team.class));
+        }
+    }
+
+    private Team statelessTeam(StatelessSession session, String teamName, IngestState state) {
+        Long teamId = state.teamIds.get(teamName);
+        if (teamId == null) {
+            teamId = session.createQuery("select t.id from Team t where t.name = :name", Long.class)
+                    .setParameter("name", teamName)
+                    .setMaxResults(1)
+                    .uniqueResult();
+            if (teamId == null) {
+                teamId = (Long) session.insert(Team.builder().name(teamName).build());
+                state.teamsCreated++;
+            }
+            state.teamIds.put(teamName, teamId);
+        }
+        // insert 시 FK 값만 필요하므로 id 만 가진 instance 로 충분
+        return Team.builder().id(teamId).name(teamName).build();
+    }
+
+    private static class IngestState {
+        private final Map<String, Long> teamIds = new HashMap<>();
+        private long rows;
+        private long teamsCreated;
+        private long committedRows;
+        private long committedTeams;
+    }
+}
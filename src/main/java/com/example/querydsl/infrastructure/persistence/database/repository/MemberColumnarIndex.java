@@ -0,0 +1,345 @@
+package com.example.querydsl.infrastructure.persistence.database.repository;
+
+import com.example.querydsl.infrastructure.persistence.database.entity.Member;
+import com.example.querydsl.infrastructure.persistence.database.event.EntityChangedEvent;
+import com.example.querydsl.infrastructure.persistence.database.repository.support.QueryMetrics;
+import com.example.querydsl.ui.dto.request.MemberSearchConditionDto;
+import com.example.querydsl.ui.dto.response.MemberTeamResponseDto;
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static com.example.querydsl.infrastructure.persistence.database.entity.QMember.member;
+import static org.springframework.util.StringUtils.hasText;
+
+/** MemberColumnarIndex
+ * - searchMembers 를 DB 대신 메모리의 column 배열로 처리하는 read model (querydsl.member.columnar-index.enabled)
+ * - member 1건 = row 1개, column 은 primitive 배열
+ *   1. ids (long[]), ages (int[]), teamIds (long[])
+ *   2. username -> dictionary encoding (int[] code + code -> username)
+ *   3. team 별 row bitmap (BitSet) -> teamName 조건은 bitmap OR 후 나머지 조건은 선택된 row 만 scan
+ *   4. usernamePrefix, usernameContains 는 선택된 row 의 username 을 decode 해서 비교
+ *
+ * [ 갱신 ]
+ * 1. 기동 완료(ApplicationReadyEvent) 시 id 순으로 batch 단위 전체 적재, rebuild 중에는 이전 index(없으면 DB)로 응답
+ * 2. Member insert/update/delete commit -> EntityChangedEvent 로 해당 row 갱신
+ *    - rebuild 중에 들어온 event 는 모아 두었다가 새 index 에 다시 적용 (upsert 이므로 중복 적용해도 같은 결과)
+ * 3. BULK event (ChunkedBulkOperations, StatelessSession ingest) -> index 를 버리고(DB 로 조회) 다시 적재
+ * 4. 그 외 JPQL bulk update 등 event 가 없는 변경은 rebuild() 전까지 반영되지 않음
+ *
+ * - 삭제된 row 는 live bitmap 에서만 빠지고 자리는 다음 rebuild 까지 남음
+ */
+@Slf4j
+@Component
+public class MemberColumnarIndex {
+
+    private final boolean enabled;
+    private final int batchSize;
+    private final JPAQueryFactory queryFactory;
+    private final TeamCache teamCache;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Columns columns;                    // null -> 아직 적재 전 (DB 로 조회)
+    private List<EntityChangedEvent> pending;   // null -> rebuild 중이 아님
+    private boolean rebuildRequested;
+
+    public MemberColumnarIndex(@Value("${querydsl.member.columnar-index.enabled:false}") boolean enabled,
+                               @Value("${querydsl.member.columnar-index.batch-size:10000}") int batchSize,
+                               JPAQueryFactory queryFactory,
+                               TeamCache teamCache) {
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.queryFactory = queryFactory;
+        this.teamCache = teamCache;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    /**
+     * @return index 가 꺼져 있거나 아직 적재 전이면 empty -> 호출한 쪽에서 Querydsl 로 조회
+     */
+    public Optional<List<MemberTeamResponseDto>> search(MemberSearchConditionDto condition) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+
+        List<Long> teamIds = hasText(condition.getTeamName()) ? teamCache.findIdsByName(condition.getTeamName()) : null;
+        String username = hasText(condition.getUsername()) ? condition.getUsername() : null;
+
+        List<MemberTeamResponseDto> results;
+        lock.readLock().lock();
+        try {
+            if (columns == null) {
+                return Optional.empty();
+            }
+            results = columns.search(username, teamIds, condition.getAgeGoe(), condition.getAgeLoe(),
+                    hasText(condition.getUsernamePrefix()) ? condition.getUsernamePrefix() : null,
+                    hasText(condition.getUsernameContains()) ? condition.getUsernameContains() : null);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return Optional.of(teamCache.fillTeamNames(results));
+    }
+
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            if (pending != null) {
+                rebuildRequested = true;  // 이미 rebuild 중 -> 끝나면 한 번 더
+                return;
+            }
+            pending = new ArrayList<>();
+            rebuildRequested = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        boolean again;
+        do {
+            Columns built = null;
+            try {
+                built = load();
+            } finally {
+                lock.writeLock().lock();
+                try {
+                    again = built != null && rebuildRequested;
+                    if (again) {  // 적재하는 동안 BULK 변경 -> 적재한 값을 믿을 수 없음
+                        rebuildRequested = false;
+                        pending.clear();
+                    } else {
+                        if (built != null) {  // 실패하면 일부만 채워진 index 로 바꾸지 않음
+                            pending.forEach(built::apply);
+                            columns = built;
+                        }
+                        pending = null;
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        } while (again);
+    }
+
+    @EventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (!enabled || !event.isFor(Member.class)) {
+            return;
+        }
+
+        if (event.getChangeType() == EntityChangedEvent.ChangeType.BULK) {
+            // 어떤 row 가 바뀌었는지 모름 -> 다시 적재할 때까지 DB 로 조회
+            lock.writeLock().lock();
+            try {
+                columns = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            CompletableFuture.runAsync(this::rebuild);
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (pending != null) {
+                pending.add(event);
+            }
+            if (columns != null) {
+                columns.apply(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Columns load() {
+        long startedAt = System.nanoTime();
+        Columns built = new Columns();
+        Long lastId = null;
+        List<Tuple> rows;
+        do {
+            rows = queryFactory
+                    .select(member.id, member.username, member.age, member.team.id)
+                    .from(member)
+                    .where(lastId != null ? member.id.gt(lastId) : null)
+                    .orderBy(member.id.asc())
+                    .limit(batchSize)
+                    .setHint(QueryMetrics.NAME_HINT, "MemberColumnarIndex.load#fetch")
+                    .fetch();
+            for (Tuple row : rows) {
+                built.upsert(row.get(member.id), row.get(member.username), row.get(member.age), row.get(member.team.id));
+                lastId = row.get(member.id);
+            }
+        } while (rows.size() == batchSize);
+
+        log.info("Member columnar index built: {} rows in {} ms", built.liveCount(), (System.nanoTime() - startedAt) / 1_000_000);
+        return built;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return columns != null ? columns.liveCount() : 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * column 배열 묶음 -> MemberColumnarIndex 의 lock 안에서만 접근
+     */
+    private static final class Columns {
+
+        private static final long NO_TEAM = Long.MIN_VALUE;
+        private static final int NULL_USERNAME = -1;
+
+        private int rowCount;
+        private long[] ids = new long[1024];
+        private int[] ages = new int[1024];
+        private long[] teamIds = new long[1024];
+        private int[] usernameCodes = new int[1024];
+
+        private final BitSet live = new BitSet();
+        private final Map<Long, BitSet> teamRows = new HashMap<>();
+        private final Map<Long, Integer> rowById = new HashMap<>();
+
+        private final List<String> dictionary = new ArrayList<>();
+        private final Map<String, Integer> codes = new HashMap<>();
+
+        void apply(EntityChangedEvent event) {
+            if (event.getChangeType() == EntityChangedEvent.ChangeType.DELETED) {
+                delete((Long) event.getId());
+                return;
+            }
+            Member changed = (Member) event.getEntity();
+            Long teamId = changed.getTeam() != null ? changed.getTeam().getId() : null;  // proxy 의 id 는 초기화 없이 조회
+            upsert((Long) event.getId(), changed.getUsername(), changed.getAge(), teamId);
+        }
+
+        void upsert(Long id, String username, int age, Long teamId) {
+            Integer row = rowById.get(id);
+            if (row == null) {
+                row = rowCount++;
+                ensureCapacity(rowCount);
+                rowById.put(id, row);
+                ids[row] = id;
+                live.set(row);
+            } else {
+                teamBitmap(teamIds[row]).clear(row);
+            }
+
+            ages[row] = age;
+            teamIds[row] = teamId != null ? teamId : NO_TEAM;
+            usernameCodes[row] = encode(username);
+            teamBitmap(teamIds[row]).set(row);
+        }
+
+        void delete(Long id) {
+            Integer row = rowById.remove(id);
+            if (row != null) {
+                live.clear(row);
+                teamBitmap(teamIds[row]).clear(row);
+            }
+        }
+
+        List<MemberTeamResponseDto> search(String username, List<Long> teamIdsIn, Integer ageGoe, Integer ageLoe,
+                                           String usernamePrefix, String usernameContains) {
+            BitSet candidates;
+            if (teamIdsIn != null) {
+                candidates = new BitSet();
+                for (Long teamId : teamIdsIn) {
+                    BitSet rows = teamRows.get(teamId);
+                    if (rows != null) {
+                        candidates.or(rows);
+                    }
+                }
+            } else {
+                candidates = live;  // 읽기만 하므로 복사하지 않음
+            }
+
+            int code = NULL_USERNAME;
+            if (username != null) {
+                Integer found = codes.get(username);
+                if (found == null) {
+                    return new ArrayList<>();
+                }
+                code = found;
+            }
+            int minAge = ageGoe != null ? ageGoe : Integer.MIN_VALUE;
+            int maxAge = ageLoe != null ? ageLoe : Integer.MAX_VALUE;
+
+            List<MemberTeamResponseDto> results = new ArrayList<>();
+            for (int row = candidates.nextSetBit(0); row >= 0; row = candidates.nextSetBit(row + 1)) {
+                if ((username != null && usernameCodes[row] != code) || ages[row] < minAge || ages[row] > maxAge) {
+                    continue;
+                }
+                if ((usernamePrefix != null || usernameContains != null) && !matches(decode(usernameCodes[row]), usernamePrefix, usernameContains)) {
+                    continue;
+                }
+                results.add(new MemberTeamResponseDto(
+                        ids[row],
+                        decode(usernameCodes[row]),
+                        ages[row],
+                        teamIds[row] != NO_TEAM ? teamIds[row] : null));
+            }
+            return results;
+        }
+
+        int liveCount() {
+            return live.cardinality();
+        }
+
+        private static boolean matches(String username, String prefix, String contains) {
+            return username != null
+                    && (prefix == null || username.startsWith(prefix))
+                    && (contains == null || username.contains(contains));
+        }
+
+        private BitSet teamBitmap(long teamId) {
+            return teamRows.computeIfAbsent(teamId, key -> new BitSet());
+        }
+
+        private int encode(String username) {
+            if (username == null) {
+                return NULL_USERNAME;
+            }
+            return codes.computeIfAbsent(username, key -> {
+                dictionary.add(key);
+                return dictionary.size() - 1;
+            });
+        }
+
+        private String decode(int code) {
+            return code != NULL_USERNAME ? dictionary.get(code) : null;
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > ids.length) {
+                int newLength = Math.max(capacity, ids.length * 2);
+                ids = Arrays.copyOf(ids, newLength);
+                ages = Arrays.copyOf(ages, newLength);
+                teamIds = Arrays.copyOf(teamIds, newLength);
+                usernameCodes = Arrays.copyOf(usernameCodes, newLength);
+            }
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.querydsl.infrastructure.persistence.database.repository;
+
+import com.example.querydsl.infrastructure.persistence.database.entity.Member;
+import com.example.querydsl.infrastructure.persistence.database.entity.Team;
+import com.example.querydsl.infrastructure.persistence.database.event.EntityChangedEvent;
+import com.example.querydsl.ui.dto.request.MemberSearchConditionDto;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/** MemberCountCache
+ * - 같은 검색 조건으로 페이지를 넘길 때마다 count query 를 다시 실행하지 않도록 total count 를 캐시
+ * - key: 정규화된 MemberSearchConditionDto (username, teamName, ageGoe, ageLoe)
+ *
+ * [ 만료 ]
+ * 1. TTL (다른 서버에서의 변경, bulk 연산 등 event 로 알 수 없는 변경도 TTL 이 지나면 반영)
+ * 2. 최대 크기 초과 시 가장 오래 사용하지 않은 조건부터 제거 (LRU)
+ * 3. Member, Team 변경이 commit 되면 전체 무효화
+ *
+ * [ metric ] MeterBinder bean -> Spring Boot 가 MeterRegistry 에 등록 (TTL, maximum-size 조정 근거)
+ * - querydsl.count-cache.requests (result=hit|miss), querydsl.count-cache.size
+ */
+@Component
+public class MemberCountCache implements MeterBinder {
+
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final Map<MemberSearchConditionDto, Entry> entries;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+
+    // 무효화 이전에 시작한 count query 결과가 무효화 이후에 저장되는 것을 막기 위한 세대 번호
+    private long generation;
+
+    public MemberCountCache(@Value("${querydsl.member.count-cache.enabled:false}") boolean enabled,
+                            @Value("${querydsl.member.count-cache.ttl:30s}") Duration ttl,
+                            @Value("${querydsl.member.count-cache.maximum-size:1000}") int maximumSize) {
+        this.enabled = enabled;
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<MemberSearchConditionDto, Entry> eldest) {
+                return size() > maximumSize;
+            }
+        };
+    }
+
+    public long get(MemberSearchConditionDto conditionDto, LongSupplier countQuery) {
+        if (!enabled) {
+            return countQuery.getAsLong();
+        }
+
+        MemberSearchConditionDto key = conditionDto.normalize();
+        long loadGeneration;
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.expiresAt - System.nanoTime() > 0) {
+                hitCount.incrementAndGet();
+                return entry.count;
+            }
+            loadGeneration = generation;
+        }
+
+        missCount.incrementAndGet();
+        long count = countQuery.getAsLong();
+
+        synchronized (this) {
+            if (loadGeneration == generation) {
+                entries.put(key, new Entry(count, System.nanoTime() + ttlNanos));
+            }
+        }
+        return count;
+    }
+
+    /**
+     * count query 없이 cache 만 확인 (hit 일 때만 hit 으로 셈) -> 병렬 count 를 시작하기 전에 사용
+     */
+    public OptionalLong getIfPresent(MemberSearchConditionDto conditionDto) {
+        if (!enabled) {
+            return OptionalLong.empty();
+        }
+
+        MemberSearchConditionDto key = conditionDto.normalize();
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.expiresAt - System.nanoTime() > 0) {
+                hitCount.incrementAndGet();
+                return OptionalLong.of(entry.count);
+            }
+        }
+        return OptionalLong.empty();
+    }
+
+    public synchronized void invalidateAll() {
+        generation++;
+        entries.clear();
+    }
+
+    @EventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (event.isFor(Member.class) || event.isFor(Team.class)) {
+            invalidateAll();
+        }
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("querydsl.count-cache.requests", this, MemberCountCache::getHitCount)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("querydsl.count-cache.requests", this, MemberCountCache::getMissCount)
+                .tag("result", "miss")
+                .register(registry);
+        Gauge.builder("querydsl.count-cache.size", this, MemberCountCache::size)
+                .register(registry);
+    }
+
+    private static class Entry {
+        private final long count;
+        private final long expiresAt;
+
+        private Entry(long count, long expiresAt) {
+            this.count = count;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
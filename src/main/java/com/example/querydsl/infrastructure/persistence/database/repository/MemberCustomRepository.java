@@ -1,6 +1,7 @@
 package com.example.querydsl.infrastructure.persistence.database.repository;
 
 import com.example.querydsl.ui.dto.request.MemberSearchConditionDto;
+import com.example.querydsl.ui.dto.response.CursorResponseDto;
 import com.example.querydsl.ui.dto.response.MemberTeamResponseDto;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -19,4 +20,13 @@ public interface MemberCustomRepository {
      */
     Page<MemberTeamResponseDto> searchPageSimple(MemberSearchConditionDto conditionDto, Pageable pageable);
     Page<MemberTeamResponseDto> searchPageComplex(MemberSearchConditionDto conditionDto, Pageable pageable);
+
+    /** Keyset(seek) pagination
+     * - offset 대신 이전 페이지 마지막 row 의 (sort key, id) 이후부터 조회 -> 깊은 페이지도 첫 페이지와 같은 비용
+     * - pageable 의 page number 는 무시하고 size, sort(첫 번째 order 만) 를 사용
+     * - 지원 sort key: id(memberId), age, username (username 은 null 이 아닌 것을 전제)
+     *
+     * @param cursor : 이전 응답의 nextCursor (첫 페이지면 null)
+     */
+    CursorResponseDto<MemberTeamResponseDto> searchSliceByCursor(MemberSearchConditionDto conditionDto, String cursor, Pageable pageable);
 }
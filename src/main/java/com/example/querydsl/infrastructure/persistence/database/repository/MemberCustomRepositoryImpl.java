@@ -1,62 +1,76 @@
 package com.example.querydsl.infrastructure.persistence.database.repository;
 
+import com.example.querydsl.infrastructure.persistence.database.repository.support.InvalidCursorException;
+import com.example.querydsl.infrastructure.persistence.database.repository.support.KeysetCursor;
+import com.example.querydsl.infrastructure.persistence.database.repository.support.ParallelQueryExecutor;
+import com.example.querydsl.infrastructure.persistence.database.repository.support.PredicateCompiler;
+import com.example.querydsl.infrastructure.persistence.database.repository.support.QueryMetrics;
 import com.example.querydsl.ui.dto.request.MemberSearchConditionDto;
+import com.example.querydsl.ui.dto.response.CursorResponseDto;
 import com.example.querydsl.ui.dto.response.MemberTeamResponseDto;
 import com.querydsl.core.QueryResults;
-import com.querydsl.core.types.Projections;
+import com.querydsl.core.types.Order;
+import com.querydsl.core.types.OrderSpecifier;
 import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.LongSupplier;
 
 import static com.example.querydsl.infrastructure.persistence.database.entity.QMember.member;
 import static com.example.querydsl.infrastructure.persistence.database.entity.QTeam.team;
+import static com.example.querydsl.infrastructure.persistence.database.repository.MemberProjections.MEMBER_TEAM;
+import static com.example.querydsl.infrastructure.persistence.database.repository.MemberProjections.MEMBER_TEAM_ID;
 import static org.springframework.util.StringUtils.hasText;
 
 @RequiredArgsConstructor
+@Transactional(readOnly = true)  // 조회만 -> routing 이 켜져 있으면 replica
 public class MemberCustomRepositoryImpl implements MemberCustomRepository {
 
+    // team join 하는 query -> teamName 은 team.name = ?
+    private static final PredicateCompiler<MemberSearchConditionDto> MEMBER_TEAM_CONDITION = PredicateCompiler.of(MemberSearchConditionDto.class, member, team);
+    // team join 하지 않는 query -> teamName 은 teamIdIn 으로 따로
+    private static final PredicateCompiler<MemberSearchConditionDto> MEMBER_CONDITION = PredicateCompiler.of(MemberSearchConditionDto.class, Set.of("team"), member);
+
     private final JPAQueryFactory queryFactory;
+    private final MemberCountCache countCache;
+    private final ParallelQueryExecutor parallelQueryExecutor;
+    private final MemberSearchQueryShapes queryShapes;
+    private final TeamCache teamCache;
+    private final MemberColumnarIndex columnarIndex;
+    private final MemberUsernameIndex usernameIndex;
 
+    /**
+     * 조건 조합(shape)별로 미리 직렬화해 둔 JPQL 로 조회 -> MemberSearchQueryShapes
+     * - columnar index 가 켜져 있으면 DB 대신 index 로 조회 -> MemberColumnarIndex
+     */
     @Override
     public List<MemberTeamResponseDto> searchMembers(MemberSearchConditionDto conditionDto) {
-
-            return queryFactory
-                    .select(Projections.constructor(MemberTeamResponseDto.class,
-                            member.id.as("memberId"),
-                            member.username,
-                            member.age,
-                            team.id.as("teamId"),
-                            team.name.as("teamName")))
-                    .from(member)
-                    .leftJoin(member.team, team)
-                    .where(
-                            usernameEq(conditionDto.getUsername()),
-                            teamNameEq(conditionDto.getTeamName()),
-                            userAgeGoe(conditionDto.getAgeGoe()),
-                            userAgeLoe(conditionDto.getAgeLoe())
-                    )
-                    .fetch();
-        }
-
-    private BooleanExpression usernameEq(String username) {
-            return hasText(username) ? member.username.eq(username) : null;
-    }
-
-    private BooleanExpression teamNameEq(String teamName) {
-        return hasText(teamName) ? team.name.eq(teamName) : null;
+        return columnarIndex.search(conditionDto)
+                .orElseGet(() -> queryShapes.search(conditionDto));
     }
 
-    private BooleanExpression userAgeGoe(Integer age) {
-        return age != null ? member.age.goe(age) : null;
+    /**
+     * team join 대신 TeamCache 로 구한 team id 로 조건 (teamIds 가 null 이면 teamName 조건 없음)
+     */
+    private BooleanExpression teamIdIn(List<Long> teamIds) {
+        return teamIds != null ? member.team.id.in(teamIds) : null;
     }
 
-    private BooleanExpression userAgeLoe(Integer age) {
-        return age != null ? member.age.loe(age) : null;
+    private List<Long> teamIds(String teamName) {
+        return hasText(teamName) ? teamCache.findIdsByName(teamName) : null;
     }
 
     /**
@@ -71,22 +85,14 @@ public class MemberCustomRepositoryImpl implements MemberCustomRepository {
     @Override
     public Page<MemberTeamResponseDto> searchPageSimple(MemberSearchConditionDto conditionDto, Pageable pageable) {
         QueryResults<MemberTeamResponseDto> results = queryFactory
-                .select(Projections.constructor(MemberTeamResponseDto.class,
-                        member.id.as("memberId"),
-                        member.username,
-                        member.age,
-                        team.id.as("teamId"),
-                        team.name.as("teamName")))
+                .select(MEMBER_TEAM)
                 .from(member)
                 .leftJoin(member.team, team)
-                .where(
-                        usernameEq(conditionDto.getUsername()),
-                        teamNameEq(conditionDto.getTeamName()),
-                        userAgeGoe(conditionDto.getAgeGoe()),
-                        userAgeLoe(conditionDto.getAgeLoe())
-                )
+                .where(MEMBER_TEAM_CONDITION.predicates(conditionDto,
+                        usernameIndex.usernameMatches(conditionDto.getUsernamePrefix(), conditionDto.getUsernameContains())))
                 .offset(pageable.getOffset())
                 .limit(pageable.getPageSize())
+                .setHint(QueryMetrics.NAME_HINT, "MemberCustomRepositoryImpl.searchPageSimple#fetchResults")
                 .fetchResults();
 
         List<MemberTeamResponseDto> content = results.getResults();
@@ -105,36 +111,166 @@ public class MemberCustomRepositoryImpl implements MemberCustomRepository {
                .fetchOne();
          */
 
-        // count query
-        Long count = queryFactory.select(member.countDistinct())
+        List<Long> teamIds = teamIds(conditionDto.getTeamName());
+        if (teamIds != null && teamIds.isEmpty()) {
+            return Page.empty(pageable);  // 없는 team
+        }
+
+        BooleanExpression usernameMatches = usernameIndex.usernameMatches(conditionDto.getUsernamePrefix(), conditionDto.getUsernameContains());
+
+        // count query -> 실행은 PageableExecutionUtils 가 total 이 필요할 때만, 같은 조건이면 count cache 사용
+        JPAQuery<Long> countQuery = queryFactory.select(member.countDistinct())
                 .from(member)
-                .where(usernameEq(conditionDto.getUsername()),
-                        teamNameEq(conditionDto.getTeamName()),
-                        userAgeGoe(conditionDto.getAgeGoe()),
-                        userAgeLoe(conditionDto.getAgeLoe())
-                )
-                .fetchOne();
-
-        // content query
+                .where(MEMBER_CONDITION.predicates(conditionDto, teamIdIn(teamIds), usernameMatches))
+                .setHint(QueryMetrics.NAME_HINT, "MemberCustomRepositoryImpl.searchPageComplex#count");  // count cache, 다른 thread 에서 실행되므로 직접 지정
+        OptionalLong cachedTotal = countCache.getIfPresent(conditionDto);
+        LongSupplier total = cachedTotal.isPresent() ? cachedTotal::getAsLong : () -> countCache.get(conditionDto, countQuery::fetchOne);
+
+        // 병렬 모드 -> count query 를 다른 connection 에서 content query 와 동시에 실행
+        // - cache 에 있으면 병렬 실행하지 않음
+        // - 첫 페이지는 content 가 페이지 크기보다 적으면 total 이 필요 없음 -> content 를 보고 순차 실행
+        //   offset 이 있는 페이지만 병렬 (마지막 페이지면 필요 없던 count 가 되지만 결과는 count cache 에 남음)
+        // - 시작된 count query 는 cancel 로 멈추지 않고, 실행되는 동안 connection 을 하나 더 사용
+        Optional<CompletableFuture<Long>> parallelTotal = cachedTotal.isEmpty() && pageable.getOffset() > 0
+                ? parallelQueryExecutor.trySubmit(total::getAsLong)
+                : Optional.empty();
+
+        // content query -> team join 없이 teamId 만 조회, teamName 은 TeamCache
         List<MemberTeamResponseDto> content = queryFactory
-                .select(Projections.constructor(MemberTeamResponseDto.class,
-                        member.id.as("memberId"),
-                        member.username,
-                        member.age,
-                        team.id.as("teamId"),
-                        team.name.as("teamName")))
+                .select(MEMBER_TEAM_ID)
                 .from(member)
-                .leftJoin(member.team, team)
-                .where(
-                        usernameEq(conditionDto.getUsername()),
-                        teamNameEq(conditionDto.getTeamName()),
-                        userAgeGoe(conditionDto.getAgeGoe()),
-                        userAgeLoe(conditionDto.getAgeLoe())
-                )
+                .where(MEMBER_CONDITION.predicates(conditionDto, teamIdIn(teamIds), usernameMatches))
                 .offset(pageable.getOffset())
                 .limit(pageable.getPageSize())
+                .setHint(QueryMetrics.NAME_HINT, "MemberCustomRepositoryImpl.searchPageComplex#content")
                 .fetch();
+        teamCache.fillTeamNames(content);
+
+        if (parallelTotal.isPresent()) {
+            CompletableFuture<Long> future = parallelTotal.get();
+            Page<MemberTeamResponseDto> page = PageableExecutionUtils.getPage(content, pageable, () -> ParallelQueryExecutor.join(future));
+            future.cancel(false);  // total 이 필요 없었던 경우 -> 아직 queue 에 있으면 실행하지 않음
+            return page;
+        }
+        return PageableExecutionUtils.getPage(content, pageable, total);
+    }
+
+    @Override
+    public CursorResponseDto<MemberTeamResponseDto> searchSliceByCursor(MemberSearchConditionDto conditionDto, String cursor, Pageable pageable) {
+        Sort.Order order = pageable.getSort().stream()
+                .findFirst()
+                .orElse(Sort.Order.asc("id"));
+        String property = keysetProperty(order.getProperty());
+        Sort.Direction direction = order.getDirection();
 
-        return PageableExecutionUtils.getPage(content, pageable, () -> count);
+        KeysetCursor after = null;
+        if (cursor != null) {
+            after = KeysetCursor.decode(cursor);
+            after.validate(property, direction);
+        }
+
+        List<Long> teamIds = teamIds(conditionDto.getTeamName());
+        if (teamIds != null && teamIds.isEmpty()) {
+            return new CursorResponseDto<>(new ArrayList<>(), 0, false, null);  // 없는 team
+        }
+
+        List<MemberTeamResponseDto> results = queryFactory
+                .select(MEMBER_TEAM_ID)
+                .from(member)
+                .where(MEMBER_CONDITION.predicates(conditionDto,
+                        teamIdIn(teamIds),
+                        usernameIndex.usernameMatches(conditionDto.getUsernamePrefix(), conditionDto.getUsernameContains()),
+                        keysetAfter(after)))
+                .orderBy(keysetOrder(property, direction))
+                .limit(pageable.getPageSize() + 1)  // 다음 페이지 존재 여부 확인용으로 1건 더 조회
+                .setHint(QueryMetrics.NAME_HINT, "MemberCustomRepositoryImpl.searchSliceByCursor#fetch")
+                .fetch();
+
+        boolean hasNext = results.size() > pageable.getPageSize();
+        List<MemberTeamResponseDto> content = teamCache.fillTeamNames(hasNext ? results.subList(0, pageable.getPageSize()) : results);
+
+        String nextCursor = null;
+        if (hasNext) {
+            MemberTeamResponseDto last = content.get(content.size() - 1);
+            nextCursor = KeysetCursor.of(property, direction, last.getMemberId(), keysetValue(property, last)).encode();
+        }
+        return new CursorResponseDto<>(content, content.size(), hasNext, nextCursor);
+    }
+
+    private String keysetProperty(String property) {
+        switch (property) {
+            case "id":
+            case "memberId":
+                return "id";
+            case "age":
+            case "username":
+                return property;
+            default:
+                throw new InvalidCursorException("Unsupported keyset sort property: " + property);
+        }
+    }
+
+    private Object keysetValue(String property, MemberTeamResponseDto dto) {
+        switch (property) {
+            case "age":
+                return dto.getAge();
+            case "username":
+                return dto.getUsername();
+            default:
+                return dto.getMemberId();
+        }
+    }
+
+    /**
+     * id 를 tie-breaker 로 항상 붙여서 sort key 가 같은 row 끼리도 순서가 고정되도록 함
+     */
+    private OrderSpecifier<?>[] keysetOrder(String property, Sort.Direction direction) {
+        Order order = direction.isAscending() ? Order.ASC : Order.DESC;
+        OrderSpecifier<Long> byId = new OrderSpecifier<>(order, member.id);
+
+        switch (property) {
+            case "age":
+                return new OrderSpecifier<?>[]{new OrderSpecifier<>(order, member.age), byId};
+            case "username":
+                return new OrderSpecifier<?>[]{new OrderSpecifier<>(order, member.username), byId};
+            default:
+                return new OrderSpecifier<?>[]{byId};
+        }
+    }
+
+    /**
+     * (key, id) > (lastKey, lastId)
+     * -> key > lastKey or (key = lastKey and id > lastId)  (desc 이면 부등호 반대)
+     */
+    private BooleanExpression keysetAfter(KeysetCursor cursor) {
+        if (cursor == null) {
+            return null;
+        }
+
+        boolean asc = cursor.getDirection().isAscending();
+        BooleanExpression idAfter = asc ? member.id.gt(cursor.getId()) : member.id.lt(cursor.getId());
+
+        switch (cursor.getProperty()) {
+            case "age": {
+                int age = parseAge(cursor);
+                return (asc ? member.age.gt(age) : member.age.lt(age))
+                        .or(member.age.eq(age).and(idAfter));
+            }
+            case "username": {
+                String username = cursor.getKey();
+                return (asc ? member.username.gt(username) : member.username.lt(username))
+                        .or(member.username.eq(username).and(idAfter));
+            }
+            default:
+                return idAfter;
+        }
+    }
+
+    private static int parseAge(KeysetCursor cursor) {
+        try {
+            return Integer.parseInt(cursor.getKey());
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException("Malformed cursor key for age: " + cursor.getKey(), e);
+        }
     }
 }
@@ -0,0 +1,85 @@
+package com.example.querydsl.infrastructure.persistence.database.repository;
+
+import com.example.querydsl.infrastructure.persistence.database.entity.Member;
+import com.example.querydsl.infrastructure.persistence.database.entity.Team;
+import com.example.querydsl.infrastructure.persistence.database.event.EntityChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.StringJoiner;
+
+/** MemberDataVersion
+ * - member 검색 결과가 바뀌었는지 판단하는 watermark -> conditional GET (ETag) 에 사용
+ * - 이 서버에서 Member, Team 변경이 commit 될 때마다 version 증가 (BULK 포함, StatelessSession ingest 도 끝날 때 BULK)
+ * - event 로 알 수 없는 변경(다른 서버, DB 직접 변경)은 TTL 로 보완 -> ETag 는 길어야 TTL 동안만 유효
+ * - Last-Modified 는 보내지 않음 -> HTTP date 는 초 단위라 같은 초에 두 번 바뀌면 If-Modified-Since 만 보내는 client 가 이전 결과를 계속 씀
+ *
+ * [ ETag ]
+ * - "{epoch}-{version}.{period}-{검색 조건 hash}" -> 조건마다 다른 ETag, 이 서버에서 데이터가 바뀌면 모든 ETag 가 바뀜
+ * - epoch(서버 시작 시각) 을 포함 -> 재시작으로 version 이 0 부터 다시 시작해도 이전 ETag 와 겹치지 않음
+ * - period = (현재 시각 - epoch) / TTL -> 변경 event 가 없어도 TTL 마다 ETag 가 바뀜 (querydsl.member.data-version.ttl)
+ *
+ * [ 주의 ]
+ * - 검색 query 실행 전에 snapshot() 을 읽어야 함 (실행 후에 읽으면 이전 데이터에 새 ETag 가 붙을 수 있음)
+ * - 다른 서버, DB 직접 변경은 TTL 이 지나야 반영됨 (MemberCountCache 와 같은 한계) -> 서버마다 epoch, version 이 다르므로 ETag 도 다름
+ */
+@Component
+public class MemberDataVersion {
+
+    private final long epoch = System.currentTimeMillis();
+    private final long ttlMillis;
+
+    private long version;
+
+    public MemberDataVersion(@Value("${querydsl.member.data-version.ttl:30s}") Duration ttl) {
+        this.ttlMillis = Math.max(1, ttl.toMillis());
+    }
+
+    @EventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (event.isFor(Member.class) || event.isFor(Team.class)) {
+            bump();
+        }
+    }
+
+    public synchronized void bump() {
+        version++;
+    }
+
+    public synchronized Snapshot snapshot() {
+        long period = (System.currentTimeMillis() - epoch) / ttlMillis;
+        return new Snapshot(epoch, version, period);
+    }
+
+    public static final class Snapshot {
+        private final long epoch;
+        private final long version;
+        private final long period;
+
+        private Snapshot(long epoch, long version, long period) {
+            this.epoch = epoch;
+            this.version = version;
+            this.period = period;
+        }
+
+        /**
+         * @param keyParts 결과를 결정하는 값 (정규화된 검색 조건, pageable 등) -> toString 으로 hash
+         */
+        public String etag(Object... keyParts) {
+            StringJoiner key = new StringJoiner("|");
+            for (Object part : keyParts) {
+                key.add(String.valueOf(part));
+            }
+            String hash = DigestUtils.md5DigestAsHex(key.toString().getBytes(StandardCharsets.UTF_8));
+            return "\"" + Long.toString(epoch, 36) + "-" + version + "." + period + "-" + hash + "\"";
+        }
+
+        public long getVersion() {
+            return version;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.querydsl.infrastructure.persistence.database.repository;
+
+import com.example.querydsl.infrastructure.persistence.database.entity.Member;
+import com.example.querydsl.infrastructure.persistence.database.repository.support.LongBloomFilter;
+import com.example.querydsl.infrastructure.persistence.database.repository.support.QueryMetrics;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.example.querydsl.infrastructure.persistence.database.entity.QMember.member;
+
+/** MemberIdFilter
+ * - member id Bloom filter -> existsAll 에서 "확실히 없는" id 는 DB 에 묻지 않음
+ *
+ * [ 갱신 ]
+ * 1. 기동 완료 시 id 전체로 생성
+ * 2. Member insert 가 flush 될 때 추가 (commit 전에 추가 -> 다른 transaction 이 commit 된 row 를 filter 보다 먼저 볼 일이 없음)
+ *    - rollback 된 id 가 남아도 false positive 일 뿐 (DB 에서 한 번 더 확인)
+ *    - transaction 이 끝날 때까지는 pendingIds 에도 보관 (Hibernate after transaction completion 에서 제거)
+ *    - StatelessSession 은 event 가 없으므로 MemberBulkIngestRepository 가 직접 put, commit/rollback 후 completed
+ * 3. Bloom filter 는 지울 수 없음 -> rebuild-interval 마다 다시 생성해서 삭제된 id 를 정리
+ *    - 다시 생성하는 동안 insert 된 id 는 기존 filter, 새 filter 모두에 추가
+ *    - rebuild 시작 시점의 pendingIds 도 새 filter 에 다시 추가 (flush 됐지만 scan 시점에 commit 되지 않았을 수 있는 id)
+ *    - pendingIds 는 진행 중인 transaction 이 insert 한 id 만 가짐 -> rebuild 주기와 관계없이 크기가 제한됨
+ * - 이 application 을 거치지 않은 insert(다른 서버, 직접 SQL) 는 알 수 없음 -> 그런 환경에서는 끄거나 rebuild 주기를 짧게
+ */
+@Slf4j
+@Component
+public class MemberIdFilter implements PostInsertEventListener {
+
+    private final boolean enabled;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final int batchSize;
+    private final JPAQueryFactory queryFactory;
+    private final EntityManagerFactory entityManagerFactory;
+
+    private volatile LongBloomFilter filter;     // null -> 아직 생성 전 (모두 DB 로 확인)
+    private LongBloomFilter building;            // rebuild 중인 filter (this lock)
+    private final Set<Long> pendingIds = new HashSet<>();  // flush 됐지만 transaction 이 아직 끝나지 않은 id (this lock)
+
+    public MemberIdFilter(@Value("${querydsl.member.id-filter.enabled:false}") boolean enabled,
+                          @Value("${querydsl.member.id-filter.expected-insertions:1000000}") long expectedInsertions,
+                          @Value("${querydsl.member.id-filter.false-positive-rate:0.01}") double falsePositiveRate,
+                          @Value("${querydsl.member.id-filter.batch-size:10000}") int batchSize,
+                          JPAQueryFactory queryFactory,
+                          EntityManagerFactory entityManagerFactory) {
+        this.enabled = enabled;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.batchSize = batchSize;
+        this.queryFactory = queryFactory;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @PostConstruct
+    public void register() {
+        entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class)
+                .appendListeners(EventType.POST_INSERT, this);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    @Scheduled(initialDelayString = "${querydsl.member.id-filter.rebuild-interval:PT1H}",
+            fixedDelayString = "${querydsl.member.id-filter.rebuild-interval:PT1H}")
+    public void scheduledRebuild() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    /**
+     * @return false 면 확실히 없음, true 면 있을 수 있음 (filter 생성 전이면 항상 true)
+     */
+    public boolean mightExist(long id) {
+        LongBloomFilter current = filter;
+        return current == null || current.mightContain(id);
+    }
+
+    /**
+     * insert 된(commit 전) id 추가 -> transaction 이 끝나면 completed 를 호출해야 함
+     */
+    public synchronized void put(long id) {
+        if (!enabled) {
+            return;
+        }
+        pendingIds.add(id);
+        if (filter != null) {
+            filter.put(id);
+        }
+        if (building != null) {
+            building.put(id);
+        }
+    }
+
+    /**
+     * put 한 id 의 transaction 이 끝남 (commit, rollback 모두)
+     */
+    public synchronized void completed(Collection<Long> ids) {
+        if (enabled) {
+            pendingIds.removeAll(ids);
+        }
+    }
+
+    public void rebuild() {
+        long count = queryFactory.select(member.count()).from(member)
+                .setHint(QueryMetrics.NAME_HINT, "MemberIdFilter.rebuild#count")
+                .fetchOne();
+        LongBloomFilter rebuilt = LongBloomFilter.create(Math.max(expectedInsertions, count * 2), falsePositiveRate);
+        Set<Long> carriedIds;
+        synchronized (this) {
+            if (building != null) {
+                return;  // 이미 rebuild 중
+            }
+            building = rebuilt;
+            carriedIds = new HashSet<>(pendingIds);
+        }
+
+        boolean loaded = false;
+        try {
+            long startedAt = System.nanoTime();
+            Long lastId = null;
+            List<Long> ids;
+            do {
+                ids = queryFactory
+                        .select(member.id)
+                        .from(member)
+                        .where(lastId != null ? member.id.gt(lastId) : null)
+                        .orderBy(member.id.asc())
+                        .limit(batchSize)
+                        .setHint(QueryMetrics.NAME_HINT, "MemberIdFilter.rebuild#fetch")
+                        .fetch();
+                for (Long id : ids) {
+                    rebuilt.put(id);
+                    lastId = id;
+                }
+            } while (ids.size() == batchSize);
+            loaded = true;
+            log.info("Member id filter built: {} bits, {} hashes in {} ms",
+                    rebuilt.bitSize(), rebuilt.hashCount(), (System.nanoTime() - startedAt) / 1_000_000);
+        } finally {
+            synchronized (this) {
+                if (loaded) {
+                    carriedIds.forEach(rebuilt::put);
+                    filter = rebuilt;
+                }
+                building = null;  // 실패해도 기존 filter 에는 그동안 put 된 id 가 모두 있음
+            }
+        }
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (enabled && Member.class.isAssignableFrom(event.getPersister().getMappedClass())) {
+            Long id = (Long) event.getId();
+            put(id);
+            event.getSession().getActionQueue().registerProcess(
+                    (success, session) -> completed(Collections.singleton(id)));
+        }
+    }
+
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return false;
+    }
+
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+}
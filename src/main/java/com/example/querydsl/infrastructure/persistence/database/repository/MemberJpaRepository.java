@@ -1,20 +1,30 @@
 package com.example.querydsl.infrastructure.persistence.database.repository;
 
 import com.example.querydsl.infrastructure.persistence.database.entity.Member;
+import com.example.querydsl.infrastructure.persistence.database.repository.support.InClauses;
+import com.example.querydsl.infrastructure.persistence.database.repository.support.QueryMetrics;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.persistence.EntityManager;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+/** MemberJpaRepository
+ * - Querydsl 없이 JPQL 문자열, em.find 로 조회 -> QueryMetrics.measure 로 InstrumentedJPAQuery 와 같은 metric 에 기록
+ */
 @Transactional
 @Repository
 @RequiredArgsConstructor
 public class MemberJpaRepository {
 
     private final EntityManager em;
+    private final QueryMetrics queryMetrics;
 
     public void save(Member member) {
         em.persist(member);
@@ -22,21 +32,44 @@ public class MemberJpaRepository {
 
     @Transactional(readOnly = true)
     public Optional<Member> findById(Long id) {
-        Member member = em.find(Member.class, id);
+        Member member = queryMetrics.measure("MemberJpaRepository.findById#find",
+                () -> em.find(Member.class, id), found -> found != null ? 1 : 0);
 
         return Optional.ofNullable(member);
     }
 
+    /**
+     * id 여러 개를 한 번에 조회 (id 마다 find 하지 않음) -> InClauses 로 나누고 IN 크기는 Hibernate padding 으로 고정
+     * @return 요청한 id 순서, 없는 id 는 빠짐
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, Member> findAllByIds(Collection<Long> ids) {
+        Map<Long, Member> found = new HashMap<>();
+        for (List<Long> chunk : InClauses.partition(ids)) {
+            queryMetrics.measure("MemberJpaRepository.findAllByIds#fetch",
+                    em.createQuery("select m from Member m where m.id in :ids", Member.class)
+                            .setParameter("ids", chunk)::getResultList,
+                    List::size)
+                    .forEach(member -> found.put(member.getId(), member));
+        }
+
+        Map<Long, Member> results = new LinkedHashMap<>();
+        ids.stream().filter(found::containsKey).forEach(id -> results.put(id, found.get(id)));
+        return results;
+    }
+
     @Transactional(readOnly = true)
     public List<Member> findAll() {
-        return em.createQuery("select m from Member m", Member.class)
-                .getResultList();
+        return queryMetrics.measure("MemberJpaRepository.findAll#fetch",
+                em.createQuery("select m from Member m", Member.class)::getResultList,
+                List::size);
     }
 
     @Transactional(readOnly = true)
     public List<Member> findByUsername(String username) {
-        return em.createQuery("select m from Member m where m.username = :username", Member.class)
-                .setParameter("username", username)
-                .getResultList();
+        return queryMetrics.measure("MemberJpaRepository.findByUsername#fetch",
+                em.createQuery("select m from Member m where m.username = :username", Member.class)
+                        .setParameter("username", username)::getResultList,
+                List::size);
     }
 }
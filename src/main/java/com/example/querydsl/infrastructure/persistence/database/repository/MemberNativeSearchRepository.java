@@ -0,0 +1,88 @@
+package com.example.querydsl.infrastructure.persistence.database.repository;
+
+import com.example.querydsl.infrastructure.persistence.database.repository.support.DtoProjections;
+import com.example.querydsl.infrastructure.persistence.database.repository.support.InClauses;
+import com.example.querydsl.infrastructure.persistence.database.repository.support.PredicateCompiler;
+import com.example.querydsl.infrastructure.persistence.database.repository.support.QueryMetrics;
+import com.example.querydsl.infrastructure.persistence.database.sql.SMember;
+import com.example.querydsl.ui.dto.request.MemberSearchConditionDto;
+import com.example.querydsl.ui.dto.response.MemberTeamResponseDto;
+import com.querydsl.core.types.FactoryExpression;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.sql.SQLQuery;
+import com.querydsl.sql.SQLQueryFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static com.example.querydsl.infrastructure.persistence.database.sql.SMember.member;
+import static org.springframework.util.StringUtils.hasText;
+
+/** MemberNativeSearchRepository
+ * - searchMembers 를 querydsl-sql 로 JDBC 에서 바로 DTO 로 조회 (querydsl.member.native-search.enabled)
+ *   -> JPQL -> SQL 변환, entity/result transformer, 영속성 컨텍스트를 모두 거치지 않음
+ * - 조건, 결과는 JPA 경로(MemberSearchQueryShapes)와 같음
+ *   1. 조건은 같은 PredicateCompiler (SMember field 이름이 QMember 와 같음), teamName 은 TeamCache 로 team id
+ *   2. teamName 응답 값은 TeamCache 로 채움
+ * - Hibernate 를 거치지 않으므로 InstrumentedJPAQuery 대신 measure(..) 로 같은 metric 에 기록 ("MemberNativeSearchRepository.search#fetch")
+ * - IN 목록(team id, username 후보 id)은 InClauses.padded 로 채움 -> in_clause_parameter_padding 이 적용되지 않음
+ *
+ * [ 주의 ]
+ * - 같은 transaction 의 connection 을 쓰지만 flush 는 하지 않음 -> 영속성 컨텍스트에만 있는 변경은 보이지 않음
+ * - SMember 는 직접 작성한 metadata -> Member column 이 바뀌면 같이 수정
+ */
+@Repository
+@RequiredArgsConstructor
+public class MemberNativeSearchRepository {
+
+    private static final PredicateCompiler<MemberSearchConditionDto> MEMBER_CONDITION = PredicateCompiler.of(MemberSearchConditionDto.class, Set.of("team"), member);
+
+    private static final FactoryExpression<MemberTeamResponseDto> MEMBER_TEAM_ID = DtoProjections.constructor(MemberTeamResponseDto.class,
+            member.id,
+            member.username,
+            member.age,
+            member.teamId);
+
+    private final SQLQueryFactory sqlQueryFactory;
+    private final QueryMetrics queryMetrics;
+    private final TeamCache teamCache;
+    private final MemberUsernameIndex usernameIndex;
+
+    public List<MemberTeamResponseDto> search(MemberSearchConditionDto condition) {
+        List<Long> teamIds = hasText(condition.getTeamName()) ? teamCache.findIdsByName(condition.getTeamName()) : null;
+        if (teamIds != null && teamIds.isEmpty()) {
+            return new ArrayList<>();  // 없는 team
+        }
+
+        SQLQuery<MemberTeamResponseDto> query = sqlQueryFactory
+                .select(MEMBER_TEAM_ID)
+                .from(member)
+                .where(MEMBER_CONDITION.predicates(condition,
+                        teamIds != null ? member.teamId.in(InClauses.padded(teamIds)) : null,
+                        usernameMatches(condition.getUsernamePrefix(), condition.getUsernameContains())));
+        List<MemberTeamResponseDto> results = queryMetrics.measure("MemberNativeSearchRepository.search#fetch", query::fetch, List::size);
+        return teamCache.fillTeamNames(results);
+    }
+
+    /**
+     * MemberUsernameIndex.usernameMatches 의 SMember 판
+     */
+    private BooleanExpression usernameMatches(String prefix, String contains) {
+        BooleanExpression startsWith = hasText(prefix) ? member.username.startsWith(prefix) : null;
+        if (!hasText(contains)) {
+            return startsWith;
+        }
+
+        BooleanExpression like = member.username.contains(contains);
+        Optional<List<Long>> candidates = usernameIndex.queryCandidates(contains);
+        if (candidates.isPresent()) {
+            List<Long> ids = candidates.get();
+            like = ids.isEmpty() ? member.id.isNull() : member.id.in(InClauses.padded(ids)).and(like);  // Hibernate padding 을 거치지 않음 -> bucket 크기로 채움
+        }
+        return startsWith != null ? startsWith.and(like) : like;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.querydsl.infrastructure.persistence.database.repository;
+
+import com.example.querydsl.infrastructure.persistence.database.repository.support.DtoProjections;
+import com.example.querydsl.ui.dto.response.MemberTeamResponseDto;
+import com.querydsl.core.types.FactoryExpression;
+
+import static com.example.querydsl.infrastructure.persistence.database.entity.QMember.member;
+import static com.example.querydsl.infrastructure.persistence.database.entity.QTeam.team;
+
+/** MemberProjections
+ * - repository 들이 공유하는 DTO projection
+ * - select(member, team join) -> MemberTeamResponseDto (team 은 leftJoin(member.team, team) alias 기준)
+ */
+public final class MemberProjections {
+
+    public static final FactoryExpression<MemberTeamResponseDto> MEMBER_TEAM = DtoProjections.constructor(MemberTeamResponseDto.class,
+            member.id.as("memberId"),
+            member.username,
+            member.age,
+            team.id.as("teamId"),
+            team.name.as("teamName"));
+
+    /**
+     * team join 없이 FK(member.team.id) 만 조회 -> teamName 은 TeamCache.fillTeamNames 로 채움
+     */
+    public static final FactoryExpression<MemberTeamResponseDto> MEMBER_TEAM_ID = DtoProjections.constructor(MemberTeamResponseDto.class,
+            member.id.as("memberId"),
+            member.username,
+            member.age,
+            member.team.id.as("teamId"));
+
+    private MemberProjections() {
+    }
+}
@@ -1,25 +1,42 @@
 package com.example.querydsl.infrastructure.persistence.database.repository;
 
 import com.example.querydsl.infrastructure.persistence.database.entity.Member;
+import com.example.querydsl.infrastructure.persistence.database.repository.support.InClauses;
+import com.example.querydsl.infrastructure.persistence.database.repository.support.PredicateCompiler;
+import com.example.querydsl.infrastructure.persistence.database.repository.support.QueryMetrics;
 import com.example.querydsl.ui.dto.request.MemberSearchConditionDto;
 import com.example.querydsl.ui.dto.response.MemberTeamResponseDto;
 import com.querydsl.core.BooleanBuilder;
-import com.querydsl.core.types.Projections;
-import com.querydsl.core.types.dsl.BooleanExpression;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.jpa.QueryHints;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.management.Query;
 import javax.persistence.EntityManager;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static com.example.querydsl.infrastructure.persistence.database.entity.QMember.member;
 import static com.example.querydsl.infrastructure.persistence.database.entity.QTeam.team;
+import static com.example.querydsl.infrastructure.persistence.database.repository.MemberProjections.MEMBER_TEAM;
+import static com.example.querydsl.infrastructure.persistence.database.repository.MemberProjections.MEMBER_TEAM_ID;
 import static org.springframework.util.ObjectUtils.isEmpty;
-import static org.springframework.util.StringUtils.hasText;
 
 
 /**
@@ -34,8 +51,22 @@ import static org.springframework.util.StringUtils.hasText;
 @RequiredArgsConstructor
 public class MemberQuerydslRepository {
 
+    private static final PredicateCompiler<MemberSearchConditionDto> MEMBER_TEAM_CONDITION = PredicateCompiler.of(MemberSearchConditionDto.class, member, team);
+
     private final EntityManager em;
     private final JPAQueryFactory queryFactory;
+    private final MemberSearchQueryShapes queryShapes;
+    private final MemberColumnarIndex columnarIndex;
+    private final TeamCache teamCache;
+    private final MemberIdFilter memberIdFilter;
+    private final MemberUsernameIndex usernameIndex;
+    private final MemberNativeSearchRepository nativeSearchRepository;
+
+    @Value("${querydsl.member.export.fetch-size:1000}")
+    private int streamFetchSize;
+
+    @Value("${querydsl.member.native-search.enabled:false}")
+    private boolean nativeSearchEnabled;
 
     public void save(Member member) {
         em.persist(member);
@@ -47,10 +78,83 @@ public class MemberQuerydslRepository {
                 queryFactory
                         .selectFrom(member)
                         .where(member.id.eq(id))
+                        .setHint(QueryMetrics.NAME_HINT, "MemberQuerydslRepository.findById#fetchOne")
                         .fetchOne()
         );
     }
 
+    /**
+     * id 여러 개를 한 번에 조회 (호출하는 쪽에서 findById 를 반복하지 않도록)
+     * - InClauses 로 1000개 단위로 나누고 IN 크기는 Hibernate 가 2의 거듭제곱으로 채움 (in_clause_parameter_padding) -> plan cache, statement cache 재사용
+     * @return 요청한 id 순서, 없는 id 는 빠짐
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, Member> findAllByIds(Collection<Long> ids) {
+        Map<Long, Member> found = new HashMap<>();
+        for (List<Long> chunk : InClauses.partition(ids)) {
+            queryFactory
+                    .selectFrom(member)
+                    .where(member.id.in(chunk))
+                    .setHint(QueryMetrics.NAME_HINT, "MemberQuerydslRepository.findAllByIds#fetch")
+                    .fetch()
+                    .forEach(findMember -> found.put(findMember.getId(), findMember));
+        }
+        return inRequestOrder(ids, found);
+    }
+
+    /**
+     * findAllByIds 의 DTO 버전 -> entity 를 영속성 컨텍스트에 올리지 않고 team join 도 없음 (teamName 은 TeamCache)
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, MemberTeamResponseDto> findDtosByIds(Collection<Long> ids) {
+        Map<Long, MemberTeamResponseDto> found = new HashMap<>();
+        for (List<Long> chunk : InClauses.partition(ids)) {
+            teamCache.fillTeamNames(queryFactory
+                    .select(MEMBER_TEAM_ID)
+                    .from(member)
+                    .where(member.id.in(chunk))
+                    .setHint(QueryMetrics.NAME_HINT, "MemberQuerydslRepository.findDtosByIds#fetch")
+                    .fetch())
+                    .forEach(dto -> found.put(dto.getMemberId(), dto));
+        }
+        return inRequestOrder(ids, found);
+    }
+
+    private <T> Map<Long, T> inRequestOrder(Collection<Long> ids, Map<Long, T> found) {
+        Map<Long, T> results = new LinkedHashMap<>();
+        ids.stream().filter(found::containsKey).forEach(id -> results.put(id, found.get(id)));
+        return results;
+    }
+
+    /**
+     * id 여러 개의 존재 여부를 한 번에 확인 -> 존재하는 id 만 반환
+     * - MemberIdFilter(Bloom filter) 가 확실히 없다고 한 id 는 DB 에 묻지 않음, 나머지만 IN 으로 확인
+     * - flush 되지 않은 insert 는 아직 filter 에 없음 -> 영속성 컨텍스트에 있는 id 는 filter 와 관계없이 확인
+     *   (readOnly 라 flush 하지 않음, 바깥 transaction 에 참여하면 IN query 전 auto flush)
+     */
+    @Transactional(readOnly = true)
+    public Set<Long> existsAll(Collection<Long> ids) {
+        SessionImplementor session = em.unwrap(SessionImplementor.class);
+        EntityPersister persister = session.getFactory().getMetamodel().entityPersister(Member.class);
+
+        List<Long> candidates = ids.stream()
+                .filter(Objects::nonNull)
+                .filter(id -> memberIdFilter.mightExist(id)
+                        || session.getPersistenceContext().getEntity(session.generateEntityKey(id, persister)) != null)
+                .collect(Collectors.toList());
+
+        Set<Long> existing = new HashSet<>();
+        for (List<Long> chunk : InClauses.partition(candidates)) {
+            existing.addAll(queryFactory
+                    .select(member.id)
+                    .from(member)
+                    .where(member.id.in(chunk))
+                    .setHint(QueryMetrics.NAME_HINT, "MemberQuerydslRepository.existsAll#fetch")
+                    .fetch());
+        }
+        return existing;
+    }
+
     @Transactional(readOnly = true)
     public List<Member> findAll() {
         return queryFactory
@@ -63,6 +167,7 @@ public class MemberQuerydslRepository {
         return queryFactory
                 .selectFrom(member)
                 .where(member.username.eq(username))
+                .setHint(QueryMetrics.NAME_HINT, "MemberQuerydslRepository.findByUsername#fetch")
                 .fetch();
     }
 
@@ -75,59 +180,56 @@ public class MemberQuerydslRepository {
                 .selectOne()
                 .from(member)
                 .where(member.id.eq(memberId))
+                .setHint(QueryMetrics.NAME_HINT, "MemberQuerydslRepository.exist#fetchOne")
                 .fetchFirst();
 
         return fetchFirst != null;
     }
 
+    /**
+     * 조건 조합(shape)별로 미리 직렬화해 둔 JPQL 로 조회 -> MemberSearchQueryShapes
+     * - Querydsl 로 작성한 query 는 MemberSearchQueryShapes.serialize 참고
+     * - columnar index 가 켜져 있으면 DB 대신 index 로 조회 (commit 된 변경만 반영됨)
+     * - native search 가 켜져 있으면 Hibernate 대신 querydsl-sql 로 조회 -> MemberNativeSearchRepository
+     */
+    @Transactional(readOnly = true)
     public List<MemberTeamResponseDto> searchByMemberSearchCondition(MemberSearchConditionDto condition) {
-
-        return queryFactory
-                .select(Projections.constructor(MemberTeamResponseDto.class,
-                        member.id.as("memberId"),
-                        member.username,
-                        member.age,
-                        team.id.as("teamId"),
-                        team.name.as("teamName")))
-                .from(member)
-                .leftJoin(member.team, team)
-                .where(
-                        usernameEq(condition.getUsername()),
-                        teamNameEq(condition.getTeamName()),
-                        userAgeGoe(condition.getAgeGoe()),
-                        userAgeLoe(condition.getAgeLoe())
-//                        memberSearchCondition(condition)
-                )
-                .fetch();
+        return columnarIndex.search(condition)
+                .orElseGet(() -> nativeSearchEnabled ? nativeSearchRepository.search(condition) : queryShapes.search(condition));
     }
 
-    private BooleanExpression usernameEq(String username) {
-        return hasText(username) ? member.username.eq(username) : null;
-    }
-
-    private BooleanExpression teamNameEq(String teamName) {
-        return hasText(teamName) ? team.name.eq(teamName) : null;
-    }
-
-    private BooleanExpression userAgeGoe(Integer age) {
-        return age != null ? member.age.goe(age) : null;
-    }
-
-    private BooleanExpression userAgeLoe(Integer age) {
-        return age != null ? member.age.loe(age) : null;
-    }
-
-    private BooleanExpression ageBetween(Integer ageGoe, Integer ageLoe) {
-        return userAgeGoe(ageGoe).and(userAgeLoe(ageLoe));
-    }
+    /** stream
+     * - 결과를 List 로 만들지 않고 JDBC fetch size 단위로 forward-only cursor 를 읽으면서 한 건씩 consumer 에 전달
+     *   -> 결과 건수와 상관없이 메모리 사용량 일정 (export 용)
+     * - DTO projection 이라 entity 가 영속성 컨텍스트에 쌓이지는 않지만 fetch size 마다 clear
+     * - MySQL(Connector/J) 은 fetch size 가 Integer.MIN_VALUE 일 때만 row 단위 streaming
+     *
+     * @return : consumer 에 전달한 row 수
+     */
+    @Transactional(readOnly = true)
+    public long streamByMemberSearchCondition(MemberSearchConditionDto condition, Consumer<MemberTeamResponseDto> consumer) {
+        long count = 0;
 
-    private BooleanExpression memberSearchCondition(MemberSearchConditionDto condition) {
-//        BooleanBuilder booleanBuilder = new BooleanBuilder();
-//        booleanBuilder.
-        return usernameEq(condition.getUsername())
-                .and(teamNameEq(condition.getTeamName()))  // NPE -> usernameEq이 Null 이면 .and() method가 없기 떄문에 NPE 발생 -> 첫 번째 조건만 null이 아니면 됨
-                .and(userAgeGoe(condition.getAgeGoe()))
-                .and(userAgeLoe(condition.getAgeLoe()));
+        try (Stream<MemberTeamResponseDto> results = queryFactory
+                .select(MEMBER_TEAM)
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(MEMBER_TEAM_CONDITION.predicates(condition,
+                        usernameIndex.usernameMatches(condition.getUsernamePrefix(), condition.getUsernameContains())))
+                .orderBy(member.id.asc())
+                .setHint(QueryHints.HINT_FETCH_SIZE, streamFetchSize)
+                .setHint(QueryHints.HINT_READONLY, true)
+                .setHint(QueryMetrics.NAME_HINT, "MemberQuerydslRepository.streamByMemberSearchCondition#stream")
+                .stream()) {
+
+            Iterator<MemberTeamResponseDto> iterator = results.iterator();
+            while (iterator.hasNext()) {
+                consumer.accept(iterator.next());
+                if (++count % streamFetchSize == 0) {
+                    em.clear();
+                }
+            }
+        }
+        return count;
     }
-
 }
@@ -0,0 +1,221 @@
+package com.example.querydsl.infrastructure.persistence.database.repository;
+
+import com.example.querydsl.infrastructure.persistence.database.repository.support.PredicateCompiler;
+import com.example.querydsl.infrastructure.persistence.database.repository.support.QueryMetrics;
+import com.example.querydsl.ui.dto.request.MemberSearchConditionDto;
+import com.example.querydsl.ui.dto.response.MemberTeamResponseDto;
+import com.querydsl.core.types.ConstantImpl;
+import com.querydsl.core.types.Ops;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.jpa.JPQLSerializer;
+import com.querydsl.jpa.impl.JPAProvider;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Query;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static com.example.querydsl.infrastructure.persistence.database.entity.QMember.member;
+import static com.example.querydsl.infrastructure.persistence.database.repository.MemberProjections.MEMBER_TEAM_ID;
+import static org.springframework.util.StringUtils.hasText;
+
+/** MemberSearchQueryShapes
+ * - MemberSearchConditionDto 의 optional 조건 4개 -> 조건 조합(query shape)은 2^4 = 16개 뿐
+ * - shape 마다 Querydsl -> JPQL 직렬화를 한 번만 하고 JPQL 문자열을 재사용
+ *   (호출마다 Querydsl tree 를 JPQL 로 직렬화하지 않음, 같은 JPQL 이므로 Hibernate query plan cache 도 항상 hit)
+ * - 기동 시 16개 shape 를 모두 createQuery 해서 plan cache 를 미리 채움 -> 배포 직후 첫 요청이 느리지 않음
+ * - team 은 join 하지 않음 -> teamName 조건은 TeamCache 로 team id 목록을 구해서 member.team.id in (..), 응답의 teamName 도 TeamCache 로 채움
+ * - usernamePrefix, usernameContains 가 있으면 shape 대신 Querydsl 로 조회 (contains 는 trigram 후보 id 목록에 따라 JPQL 이 달라짐)
+ * - QueryMetrics 이름: shape 별 "MemberSearchQueryShapes.search#username+ageGoe", Querydsl 조회는 "MemberSearchQueryShapes.searchPartialUsername#fetch"
+ *
+ * [ shape fingerprint ]
+ * - bit 0: username, bit 1: teamName, bit 2: ageGoe, bit 3: ageLoe
+ * - JPQL 은 다른 조회와 같은 MEMBER_CONDITION.predicates(..) 로 만듦 -> PredicateCompiler 의 canonical order 를 따름
+ * - parameter 순서(?1, ?2 ..)는 직렬화 결과의 constant 목록에서 shape 마다 구해 둠 (teamName 자리에는 team id 목록)
+ */
+@Component
+public class MemberSearchQueryShapes {
+
+    private static final String[] PREDICATE_NAMES = {"username", "teamName", "ageGoe", "ageLoe"};
+    private static final int SHAPE_COUNT = 1 << PREDICATE_NAMES.length;
+    private static final PredicateCompiler<MemberSearchConditionDto> MEMBER_CONDITION = PredicateCompiler.of(MemberSearchConditionDto.class, Set.of("team"), member);
+
+    private final EntityManager em;
+    private final EntityManagerFactory entityManagerFactory;
+    private final JPAQueryFactory queryFactory;
+    private final QueryMetrics queryMetrics;
+    private final TeamCache teamCache;
+    private final MemberUsernameIndex usernameIndex;
+
+    private final String[] jpqls = new String[SHAPE_COUNT];
+    private final int[][] parameterBits = new int[SHAPE_COUNT][];  // ?n -> 조건 bit
+    private final String[] fingerprints = new String[SHAPE_COUNT];
+    private final AtomicLongArray hitCounts = new AtomicLongArray(SHAPE_COUNT);
+
+    public MemberSearchQueryShapes(EntityManager em, EntityManagerFactory entityManagerFactory, JPAQueryFactory queryFactory,
+                                   QueryMetrics queryMetrics, TeamCache teamCache, MemberUsernameIndex usernameIndex) {
+        this.em = em;
+        this.entityManagerFactory = entityManagerFactory;
+        this.queryFactory = queryFactory;
+        this.queryMetrics = queryMetrics;
+        this.teamCache = teamCache;
+        this.usernameIndex = usernameIndex;
+    }
+
+    @PostConstruct
+    public void precompile() {
+        for (int shape = 0; shape < SHAPE_COUNT; shape++) {
+            serialize(shape);
+            fingerprints[shape] = "MemberSearchQueryShapes.search#" + shapeName(shape);
+        }
+
+        // plan cache warm-up (파싱된 HQL plan 은 EntityManagerFactory 단위로 공유)
+        EntityManager warmUp = entityManagerFactory.createEntityManager();
+        try {
+            for (String jpql : jpqls) {
+                warmUp.createQuery(jpql);
+            }
+        } finally {
+            warmUp.close();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<MemberTeamResponseDto> search(MemberSearchConditionDto condition) {
+        if (condition.hasPartialUsername()) {
+            return searchPartialUsername(condition);
+        }
+
+        Object[] values = new Object[PREDICATE_NAMES.length];  // bit 순서
+        int shape = 0;
+        if (hasText(condition.getUsername())) {
+            shape |= 1;
+            values[0] = condition.getUsername();
+        }
+        if (hasText(condition.getTeamName())) {
+            List<Long> teamIds = teamCache.findIdsByName(condition.getTeamName());
+            if (teamIds.isEmpty()) {
+                return new ArrayList<>();  // 없는 team -> query 할 필요 없음
+            }
+            shape |= 1 << 1;
+            values[1] = teamIds;
+        }
+        if (condition.getAgeGoe() != null) {
+            shape |= 1 << 2;
+            values[2] = condition.getAgeGoe();
+        }
+        if (condition.getAgeLoe() != null) {
+            shape |= 1 << 3;
+            values[3] = condition.getAgeLoe();
+        }
+        hitCounts.incrementAndGet(shape);
+
+        Query query = em.createQuery(jpqls[shape]);
+        int[] bits = parameterBits[shape];
+        for (int i = 0; i < bits.length; i++) {
+            query.setParameter(i + 1, values[bits[i]]);
+        }
+
+        List<Object[]> rows = queryMetrics.measure(fingerprints[shape], query::getResultList, List::size);
+        List<MemberTeamResponseDto> results = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            results.add(MEMBER_TEAM_ID.newInstance(row));
+        }
+        return teamCache.fillTeamNames(results);
+    }
+
+    private List<MemberTeamResponseDto> searchPartialUsername(MemberSearchConditionDto condition) {
+        List<Long> teamIds = hasText(condition.getTeamName()) ? teamCache.findIdsByName(condition.getTeamName()) : null;
+        if (teamIds != null && teamIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<MemberTeamResponseDto> results = queryFactory
+                .select(MEMBER_TEAM_ID)
+                .from(member)
+                .where(MEMBER_CONDITION.predicates(condition,
+                        teamIds != null ? member.team.id.in(teamIds) : null,
+                        usernameIndex.usernameMatches(condition.getUsernamePrefix(), condition.getUsernameContains())))
+                .setHint(QueryMetrics.NAME_HINT, "MemberSearchQueryShapes.searchPartialUsername#fetch")
+                .fetch();
+        return teamCache.fillTeamNames(results);
+    }
+
+    /**
+     * shape 이름 (ex. "username+ageGoe", 조건이 없으면 "none") -> 실행 횟수
+     */
+    public Map<String, Long> getHitCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (int shape = 0; shape < SHAPE_COUNT; shape++) {
+            counts.put(shapeName(shape), hitCounts.get(shape));
+        }
+        return counts;
+    }
+
+    /**
+     * shape 의 조건에만 자리 표시 값을 넣어 MEMBER_CONDITION.predicates(..) 로 JPQL 을 만들고 (toString 만 하고 실행하지 않음)
+     * 직렬화된 constant 순서로 ?n 이 어느 조건인지 기록
+     */
+    private void serialize(int shape) {
+        // bit 마다 서로 다른 값 -> 같은 값은 같은 ?n 으로 합쳐지므로 겹치면 안 됨
+        Object[] placeholders = {"username", List.of(0L), 0, 1};
+        MemberSearchConditionDto placeholder = MemberSearchConditionDto.builder()
+                .username(has(shape, 0) ? (String) placeholders[0] : null)
+                .ageGoe(has(shape, 2) ? (Integer) placeholders[2] : null)
+                .ageLoe(has(shape, 3) ? (Integer) placeholders[3] : null)
+                .build();
+
+        JPAQuery<MemberTeamResponseDto> query = queryFactory
+                .select(MEMBER_TEAM_ID)
+                .from(member)
+                .where(MEMBER_CONDITION.predicates(placeholder,
+                        has(shape, 1) ? Expressions.booleanOperation(Ops.IN, member.team.id, ConstantImpl.create(placeholders[1])) : null));  // in(..) 은 값이 1개면 eq 로 바뀜
+
+        JPQLSerializer serializer = new JPQLSerializer(JPAProvider.getTemplates(em), em);
+        serializer.serialize(query.getMetadata(), false, null);
+        List<Object> constants = serializer.getConstants();
+
+        int[] bits = new int[constants.size()];
+        for (int i = 0; i < bits.length; i++) {
+            bits[i] = bitOf(constants.get(i), placeholders, shape);
+        }
+        if (bits.length != Integer.bitCount(shape)) {
+            throw new IllegalStateException("Unexpected parameter layout for shape " + shapeName(shape) + ": " + serializer);
+        }
+        jpqls[shape] = serializer.toString().trim();
+        parameterBits[shape] = bits;
+    }
+
+    private int bitOf(Object constant, Object[] placeholders, int shape) {
+        for (int bit = 0; bit < placeholders.length; bit++) {
+            if (has(shape, bit) && placeholders[bit].equals(constant)) {
+                return bit;
+            }
+        }
+        throw new IllegalStateException("Unexpected parameter " + constant + " for shape " + shapeName(shape));
+    }
+
+    private static boolean has(int shape, int bit) {
+        return (shape & (1 << bit)) != 0;
+    }
+
+    private String shapeName(int shape) {
+        StringJoiner name = new StringJoiner("+");
+        for (int bit = 0; bit < PREDICATE_NAMES.length; bit++) {
+            if (has(shape, bit)) {
+                name.add(PREDICATE_NAMES[bit]);
+            }
+        }
+        return shape == 0 ? "none" : name.toString();
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.querydsl.infrastructure.persistence.database.repository;
+
+import com.example.querydsl.infrastructure.persistence.database.repository.support.MemberSnapshotFormat;
+import com.example.querydsl.infrastructure.persistence.database.repository.support.MemberSnapshotWriter;
+import com.example.querydsl.ui.dto.response.SnapshotExportResponseDto;
+import com.querydsl.core.Tuple;
+import com.querydsl.sql.SQLQueryFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.example.querydsl.infrastructure.persistence.database.sql.SMember.member;
+import static com.example.querydsl.infrastructure.persistence.database.sql.STeam.team;
+
+/** MemberSnapshotExporter
+ * - member 전체를 고정 길이 column 파일로 export (/v1/members/snapshot) -> 분석 job 은 REST 대신 MemberSnapshotReader 로 mmap 해서 scan
+ * - id 순 keyset page(batch size) 를 querydsl-sql 로 읽고 page 1개를 block 1개로 씀 -> 메모리는 batch size 만큼만 사용
+ *   (entity, 영속성 컨텍스트, JSON 직렬화를 모두 거치지 않음)
+ * - 전체를 read-only, REPEATABLE_READ transaction 하나에서 읽음 -> page 사이에 바뀐 row 가 섞이지 않음
+ *   (routing 이 켜져 있으면 replica 에서 읽음)
+ * - 같은 파일로 다시 export 해도 임시 파일에 쓴 뒤 rename -> 읽고 있던 reader 는 이전 파일을 계속 봄
+ *   (export 마다 임시 파일이 다름 -> 동시에 export 해도 파일이 섞이지 않음)
+ */
+@Slf4j
+@Repository
+public class MemberSnapshotExporter {
+
+    static final String FILE_NAME = "member-snapshot.bin";
+
+    private final SQLQueryFactory sqlQueryFactory;
+    private final TransactionTemplate transactionTemplate;
+    private final Path directory;
+    private final int batchSize;
+
+    public MemberSnapshotExporter(SQLQueryFactory sqlQueryFactory,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${querydsl.member.snapshot.directory:${java.io.tmpdir}}") String directory,
+                                  @Value("${querydsl.member.snapshot.batch-size:100000}") int batchSize) {
+        this.sqlQueryFactory = sqlQueryFactory;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.directory = Paths.get(directory);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * 마지막으로 export 한 파일 (querydsl.member.snapshot.directory 아래)
+     */
+    public Path latest() {
+        return directory.resolve(FILE_NAME);
+    }
+
+    public SnapshotExportResponseDto export() {
+        return export(latest());
+    }
+
+    public SnapshotExportResponseDto export(Path file) {
+        long startedAt = System.nanoTime();
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            try (MemberSnapshotWriter writer = MemberSnapshotWriter.create(file)) {
+                long bytes = transactionTemplate.execute(status -> write(writer));
+
+                SnapshotExportResponseDto result = SnapshotExportResponseDto.of(file.toString(),
+                        writer.getRowCount(), writer.getBlockCount(), bytes, System.nanoTime() - startedAt);
+                log.info("Member snapshot exported: {} rows, {} bytes in {} ms -> {}",
+                        result.getRows(), result.getBytes(), result.getElapsedMillis(), file);
+                return result;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private long write(MemberSnapshotWriter writer) {
+        long[] ids = new long[batchSize];
+        long[] teamIds = new long[batchSize];
+        int[] ages = new int[batchSize];
+        String[] usernames = new String[batchSize];
+
+        try {
+            Long lastId = null;
+            List<Tuple> rows;
+            do {
+                rows = sqlQueryFactory
+                        .select(member.id, member.username, member.age, member.teamId)
+                        .from(member)
+                        .where(lastId != null ? member.id.gt(lastId) : null)
+                        .orderBy(member.id.asc())
+                        .limit(batchSize)
+                        .fetch();
+
+                int row = 0;
+                for (Tuple tuple : rows) {
+                    Long teamId = tuple.get(member.teamId);
+                    ids[row] = tuple.get(member.id);
+                    teamIds[row] = teamId != null ? teamId : MemberSnapshotFormat.NO_TEAM;
+                    ages[row] = tuple.get(member.age);
+                    usernames[row] = tuple.get(member.username);
+                    row++;
+                }
+                writer.writeBlock(row, ids, teamIds, ages, usernames);
+                if (row > 0) {
+                    lastId = ids[row - 1];
+                }
+            } while (rows.size() == batchSize);
+
+            Map<Long, String> teamNames = new LinkedHashMap<>();
+            sqlQueryFactory
+                    .select(team.id, team.name)
+                    .from(team)
+                    .orderBy(team.id.asc())
+                    .fetch()
+                    .forEach(tuple -> teamNames.put(tuple.get(team.id), tuple.get(team.name)));
+            return writer.finish(teamNames);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package com.example.querydsl.infrastructure.persistence.database.repository;
 
 import com.example.querydsl.infrastructure.persistence.database.entity.Member;
-import com.example.querydsl.infrastructure.persistence.database.entity.QTeam;
+import com.example.querydsl.infrastructure.persistence.database.repository.support.CountQueries;
+import com.example.querydsl.infrastructure.persistence.database.repository.support.FetchPlan;
+import com.example.querydsl.infrastructure.persistence.database.repository.support.PredicateCompiler;
 import com.example.querydsl.infrastructure.persistence.database.repository.support.Querydsl4RepositorySupport;
 import com.example.querydsl.ui.dto.request.MemberSearchConditionDto;
 import com.querydsl.core.types.dsl.BooleanExpression;
@@ -9,16 +11,27 @@ import com.querydsl.jpa.impl.JPAQuery;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Set;
+import java.util.function.LongSupplier;
 
 import static com.example.querydsl.infrastructure.persistence.database.entity.QMember.member;
 import static com.example.querydsl.infrastructure.persistence.database.entity.QTeam.team;
 import static org.springframework.util.StringUtils.hasText;
 
+@Repository  // Querydsl4RepositorySupport 의 @Repository 는 상속되지 않음
 public class MemberSupportTestRepository extends Querydsl4RepositorySupport {
-    public MemberSupportTestRepository() {
+
+    private static final PredicateCompiler<MemberSearchConditionDto> MEMBER_TEAM_CONDITION = PredicateCompiler.of(MemberSearchConditionDto.class, member, team);
+    private static final PredicateCompiler<MemberSearchConditionDto> MEMBER_CONDITION = PredicateCompiler.of(MemberSearchConditionDto.class, Set.of("team"), member);  // team 을 alias 로 join 하지 않는 query -> teamName 은 teamNameEq 로 따로
+
+    private final MemberUsernameIndex usernameIndex;
+
+    public MemberSupportTestRepository(MemberUsernameIndex usernameIndex) {
         super(Member.class);
+        this.usernameIndex = usernameIndex;
     }
 
     public List<Member> basicSelect() {
@@ -35,46 +48,44 @@ public class MemberSupportTestRepository extends Querydsl4RepositorySupport {
     public Page<Member> searchPageBuAppluPage(MemberSearchConditionDto conditionDto, Pageable pageable) {
         JPAQuery<Member> query = selectFrom(member)
                 .leftJoin(member.team, team)
-                .where(usernameEq(conditionDto.getUsername()),
-                        teamNameEq(conditionDto.getTeamName()),
-                        userAgeGoe(conditionDto.getAgeGoe()),
-                        userAgeLoe(conditionDto.getAgeLoe())
-                );
+                .where(MEMBER_TEAM_CONDITION.predicates(conditionDto, usernameMatches(conditionDto)));
 
+        LongSupplier total = CountQueries.count(query, getEntityManager());  // fetchCount() 는 deprecated
         List<Member> content = getQuerydsl().applyPagination(pageable, query).fetch();
 
-        return PageableExecutionUtils.getPage(content, pageable, query::fetchCount);
+        return PageableExecutionUtils.getPage(content, pageable, total);
     }
 
     public Page<Member> applyPagination(MemberSearchConditionDto conditionDto, Pageable pageable) {
         /**
-         * applyPagination 이 PageableExecutionUtils.getPage(content, pageable, query::fetchCount) 을 대신 해주는 것일 뿐
+         * applyPagination 이 PageableExecutionUtils.getPage(content, pageable, count) 를 대신 해주는 것일 뿐
+         * - count 쿼리는 content 쿼리에서 유도 (team left join 은 where 에서 참조할 때만 남음)
          */
         return applyPagination(pageable, query ->
                 query.selectFrom(member)
                         .leftJoin(member.team, team)
-                        .where(usernameEq(conditionDto.getUsername()),
-                                teamNameEq(conditionDto.getTeamName()),
-                                userAgeGoe(conditionDto.getAgeGoe()),
-                                userAgeLoe(conditionDto.getAgeLoe())
-                        )
+                        .where(MEMBER_TEAM_CONDITION.predicates(conditionDto, usernameMatches(conditionDto)))
         );
     }
 
-
-    private BooleanExpression usernameEq(String username) {
-        return hasText(username) ? member.username.eq(username) : null;
-    }
-
-    private BooleanExpression teamNameEq(String teamName) {
-        return hasText(teamName) ? team.name.eq(teamName) : null;
+    /**
+     * member + team 을 한 query 로 (to-one -> fetch join)
+     */
+    public Page<Member> searchPageWithTeam(MemberSearchConditionDto conditionDto, Pageable pageable) {
+        return applyPagination(pageable, query ->
+                query.selectFrom(member)
+                        .where(MEMBER_CONDITION.predicates(conditionDto, teamNameEq(conditionDto), usernameMatches(conditionDto))),
+                FetchPlan.of(member).fetch(member.team)
+        );
     }
 
-    private BooleanExpression userAgeGoe(Integer age) {
-        return age != null ? member.age.goe(age) : null;
+    // team alias 없이 association 경로로 (count query 에서도 team 조건이 빠지지 않음)
+    private BooleanExpression teamNameEq(MemberSearchConditionDto conditionDto) {
+        return hasText(conditionDto.getTeamName()) ? member.team.name.eq(conditionDto.getTeamName()) : null;
     }
 
-    private BooleanExpression userAgeLoe(Integer age) {
-        return age != null ? member.age.loe(age) : null;
+    // usernamePrefix, usernameContains -> 다른 검색 경로와 같은 조건 (MemberUsernameIndex)
+    private BooleanExpression usernameMatches(MemberSearchConditionDto conditionDto) {
+        return usernameIndex.usernameMatches(conditionDto.getUsernamePrefix(), conditionDto.getUsernameContains());
     }
 }
@@ -0,0 +1,371 @@
+package com.example.querydsl.infrastructure.persistence.database.repository;
+
+import com.example.querydsl.infrastructure.persistence.database.entity.Member;
+import com.example.querydsl.infrastructure.persistence.database.event.EntityChangedEvent;
+import com.example.querydsl.infrastructure.persistence.database.repository.support.InClauses;
+import com.example.querydsl.infrastructure.persistence.database.repository.support.QueryMetrics;
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static com.example.querydsl.infrastructure.persistence.database.entity.QMember.member;
+import static org.springframework.util.StringUtils.hasText;
+
+/** MemberUsernameIndex
+ * - username 부분 검색(usernameContains) 용 in-memory trigram index (querydsl.member.username-index.enabled)
+ * - like '%x%' 는 B-tree index 를 탈 수 없어 member 전체를 scan
+ *   -> username 의 3글자 조각(trigram) 마다 member row 목록을 두고, 검색어의 trigram 목록을 모두 가진 member id 만 후보로 조회
+ *   -> member.id in (후보) and username like '%x%' (후보는 PK 로 찾고, like 는 trigram 이 우연히 모두 들어 있는 경우만 걸러냄)
+ * - usernamePrefix 는 index 없이 username like 'x%' (username index range scan)
+ *
+ * [ authoritative ] querydsl.member.username-index.authoritative
+ * - index 는 이 서버의 commit event + 주기적 rebuild 로만 갱신 -> 다른 서버의 변경, JPQL/SQL 직접 변경은 다음 rebuild 까지 빠져 있음
+ *   -> 후보 목록으로 조건을 좁히면 그런 row 가 결과에서 빠짐
+ * - 그래서 index 가 모든 변경을 본다고 운영자가 보장할 때만(authoritative=true: 서버 1대, Member 변경은 모두 entity 로) 사용
+ *   꺼져 있으면 적재하지 않고 항상 like '%x%' (결과는 같고 scan 만 함)
+ *
+ * [ trigram 으로 처리하지 않는 경우 ] -> like '%x%' 만으로 조회
+ * 1. 검색어가 3글자 미만
+ * 2. 후보가 max-candidates 보다 많음 (흔한 조각 -> IN 이 scan 보다 나을 것이 없음)
+ * 3. index 가 꺼져 있거나(enabled, authoritative) 아직 적재 전
+ * 4. 쓰기 transaction 안 -> commit 전 insert/update 는 index 에 없음
+ *
+ * [ 갱신 ] -> MemberColumnarIndex 와 같음
+ * 1. 기동 완료 시 id 순으로 batch 단위 전체 적재 (적재 중 event 는 모아 두었다가 새 index 에 다시 적용)
+ * 2. Member insert/update/delete commit -> EntityChangedEvent 로 갱신, BULK -> 다시 적재
+ * 3. rebuild-interval 마다 다시 적재 -> update/delete 로 남은 빈 row 정리, event 가 없는 변경(JPQL bulk, DB 직접 변경 등) 반영
+ *    - StatelessSession ingest 는 끝날 때 BULK event -> 다시 적재할 때까지 like 로 조회 (후보 목록에서 빠지지 않음)
+ *
+ * - row 는 추가만 함 (update 는 이전 row 를 지우고 새 row 추가) -> trigram 별 row 목록이 항상 정렬된 상태
+ */
+@Slf4j
+@Component
+public class MemberUsernameIndex {
+
+    private static final int GRAM = 3;
+
+    private final boolean enabled;  // enabled && authoritative
+    private final int batchSize;
+    private final int maxCandidates;
+    private final JPAQueryFactory queryFactory;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Grams grams;                        // null -> 아직 적재 전 (like 로만 조회)
+    private List<EntityChangedEvent> pending;   // null -> rebuild 중이 아님
+    private boolean rebuildRequested;
+
+    public MemberUsernameIndex(@Value("${querydsl.member.username-index.enabled:false}") boolean enabled,
+                               @Value("${querydsl.member.username-index.authoritative:false}") boolean authoritative,
+                               @Value("${querydsl.member.username-index.batch-size:10000}") int batchSize,
+                               @Value("${querydsl.member.username-index.max-candidates:1000}") int maxCandidates,
+                               JPAQueryFactory queryFactory) {
+        if (enabled && !authoritative) {
+            log.warn("Member username index is disabled: it is only used when querydsl.member.username-index.authoritative=true");
+        }
+        this.enabled = enabled && authoritative;
+        this.batchSize = batchSize;
+        this.maxCandidates = Math.min(maxCandidates, InClauses.MAX_SIZE);
+        this.queryFactory = queryFactory;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    @Scheduled(initialDelayString = "${querydsl.member.username-index.rebuild-interval:PT1H}",
+            fixedDelayString = "${querydsl.member.username-index.rebuild-interval:PT1H}")
+    public void scheduledRebuild() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    /**
+     * usernamePrefix, usernameContains 조건 (둘 다 없으면 null)
+     */
+    public BooleanExpression usernameMatches(String prefix, String contains) {
+        BooleanExpression startsWith = hasText(prefix) ? member.username.startsWith(prefix) : null;
+        if (!hasText(contains)) {
+            return startsWith;
+        }
+
+        BooleanExpression like = member.username.contains(contains);
+        Optional<List<Long>> candidates = queryCandidates(contains);
+        if (candidates.isPresent()) {
+            List<Long> ids = candidates.get();
+            like = ids.isEmpty()
+                    ? member.id.isNull()  // 후보 없음 -> 결과 없음 (id 는 null 일 수 없음)
+                    : member.id.in(InClauses.partition(ids).get(0)).and(like);  // IN 크기는 Hibernate 가 2의 거듭제곱으로 채움 -> plan cache 재사용
+        }
+        return startsWith != null ? startsWith.and(like) : like;
+    }
+
+    /**
+     * 검색 조건으로 좁힐 때 쓰는 후보 -> candidates 와 같고, 쓰기 transaction 안이면 empty
+     * (commit 전 insert/update 는 event 가 오기 전이라 index 에 없음, readOnly transaction 은 쓰기가 없음)
+     */
+    public Optional<List<Long>> queryCandidates(String contains) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return Optional.empty();
+        }
+        return candidates(contains);
+    }
+
+    /**
+     * @return username 에 검색어의 trigram 이 모두 들어 있는 member id (id 순)
+     *         trigram 으로 처리할 수 없으면 empty -> like 로만 조회
+     */
+    public Optional<List<Long>> candidates(String contains) {
+        if (!enabled || contains == null || contains.length() < GRAM) {
+            return Optional.empty();
+        }
+
+        lock.readLock().lock();
+        try {
+            if (grams == null) {
+                return Optional.empty();
+            }
+            return grams.candidates(contains, maxCandidates);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            if (pending != null) {
+                rebuildRequested = true;  // 이미 rebuild 중 -> 끝나면 한 번 더
+                return;
+            }
+            pending = new ArrayList<>();
+            rebuildRequested = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        boolean again;
+        do {
+            Grams built = null;
+            try {
+                built = load();
+            } finally {
+                lock.writeLock().lock();
+                try {
+                    again = built != null && rebuildRequested;
+                    if (again) {  // 적재하는 동안 BULK 변경 -> 적재한 값을 믿을 수 없음
+                        rebuildRequested = false;
+                        pending.clear();
+                    } else {
+                        if (built != null) {  // 실패하면 일부만 채워진 index 로 바꾸지 않음
+                            pending.forEach(built::apply);
+                            grams = built;
+                        }
+                        pending = null;
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        } while (again);
+    }
+
+    @EventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (!enabled || !event.isFor(Member.class)) {
+            return;
+        }
+
+        if (event.getChangeType() == EntityChangedEvent.ChangeType.BULK) {
+            lock.writeLock().lock();
+            try {
+                grams = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            CompletableFuture.runAsync(this::rebuild);
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (pending != null) {
+                pending.add(event);
+            }
+            if (grams != null) {
+                grams.apply(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Grams load() {
+        long startedAt = System.nanoTime();
+        Grams built = new Grams();
+        Long lastId = null;
+        List<Tuple> rows;
+        do {
+            rows = queryFactory
+                    .select(member.id, member.username)
+                    .from(member)
+                    .where(lastId != null ? member.id.gt(lastId) : null)
+                    .orderBy(member.id.asc())
+                    .limit(batchSize)
+                    .setHint(QueryMetrics.NAME_HINT, "MemberUsernameIndex.load#fetch")
+                    .fetch();
+            for (Tuple row : rows) {
+                built.upsert(row.get(member.id), row.get(member.username));
+                lastId = row.get(member.id);
+            }
+        } while (rows.size() == batchSize);
+
+        log.info("Member username index built: {} rows, {} trigrams in {} ms",
+                built.liveCount(), built.postings.size(), (System.nanoTime() - startedAt) / 1_000_000);
+        return built;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return grams != null ? grams.liveCount() : 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * trigram -> row 목록 -> MemberUsernameIndex 의 lock 안에서만 접근
+     */
+    private static final class Grams {
+
+        private int rowCount;
+        private long[] ids = new long[1024];
+
+        private final BitSet live = new BitSet();
+        private final Map<Long, Integer> rowById = new HashMap<>();
+        private final Map<Long, Postings> postings = new HashMap<>();
+
+        void apply(EntityChangedEvent event) {
+            if (event.getChangeType() == EntityChangedEvent.ChangeType.DELETED) {
+                delete((Long) event.getId());
+                return;
+            }
+            upsert((Long) event.getId(), ((Member) event.getEntity()).getUsername());
+        }
+
+        void upsert(Long id, String username) {
+            delete(id);
+
+            int row = rowCount++;
+            if (rowCount > ids.length) {
+                ids = Arrays.copyOf(ids, ids.length * 2);
+            }
+            ids[row] = id;
+            live.set(row);
+            rowById.put(id, row);
+
+            if (username != null) {
+                for (long gram : trigrams(username)) {
+                    postings.computeIfAbsent(gram, key -> new Postings()).add(row);
+                }
+            }
+        }
+
+        void delete(Long id) {
+            Integer row = rowById.remove(id);
+            if (row != null) {
+                live.clear(row);
+            }
+        }
+
+        Optional<List<Long>> candidates(String contains, int maxCandidates) {
+            List<Postings> lists = new ArrayList<>();
+            for (long gram : trigrams(contains)) {
+                Postings rows = postings.get(gram);
+                if (rows == null) {
+                    return Optional.of(new ArrayList<>());  // 어떤 username 에도 없는 조각
+                }
+                lists.add(rows);
+            }
+            lists.sort(Comparator.comparingInt(rows -> rows.size));
+
+            // 가장 짧은 목록을 기준으로 나머지 목록에 모두 있는 row 만 (목록은 모두 정렬되어 있음 -> binary search)
+            Postings smallest = lists.get(0);
+            List<Long> results = new ArrayList<>();
+            for (int i = 0; i < smallest.size; i++) {
+                int row = smallest.rows[i];
+                if (!live.get(row) || !containsAll(lists, row)) {
+                    continue;
+                }
+                if (results.size() == maxCandidates) {
+                    return Optional.empty();
+                }
+                results.add(ids[row]);
+            }
+            return Optional.of(results);
+        }
+
+        int liveCount() {
+            return live.cardinality();
+        }
+
+        private static boolean containsAll(List<Postings> lists, int row) {
+            for (int i = 1; i < lists.size(); i++) {
+                Postings rows = lists.get(i);
+                if (Arrays.binarySearch(rows.rows, 0, rows.size, row) < 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * 3글자를 16bit 씩 long 하나로 (중복 제거)
+         */
+        private static Set<Long> trigrams(String value) {
+            Set<Long> grams = new LinkedHashSet<>();
+            for (int i = 0; i + GRAM <= value.length(); i++) {
+                grams.add(((long) value.charAt(i) << 32) | ((long) value.charAt(i + 1) << 16) | value.charAt(i + 2));
+            }
+            return grams;
+        }
+    }
+
+    private static final class Postings {
+        private int[] rows = new int[4];
+        private int size;
+
+        void add(int row) {
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, size * 2);
+            }
+            rows[size++] = row;
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.example.querydsl.infrastructure.persistence.database.repository;
+
+import com.example.querydsl.infrastructure.persistence.database.entity.Team;
+import com.example.querydsl.infrastructure.persistence.database.event.EntityChangedEvent;
+import com.example.querydsl.infrastructure.persistence.database.repository.support.QueryMetrics;
+import com.example.querydsl.ui.dto.response.MemberTeamResponseDto;
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.example.querydsl.infrastructure.persistence.database.entity.QTeam.team;
+
+/** TeamCache
+ * - team 은 수십 개, member 는 수십만 개 -> member 검색마다 team 을 join 하지 않도록 name <-> id 를 메모리에 보관
+ *   1. teamName 조건 -> member.team.id in (..)  (team name 은 unique 가 아니므로 id 목록)
+ *   2. 응답의 teamName -> member.team.id (FK) 로 채움
+ * - team 전체를 한 번에 읽어서 snapshot 으로 교체 (부분 갱신 없음)
+ *
+ * [ 무효화 ]
+ * 1. Team insert/update/delete 가 flush 되면 즉시 무효화, transaction 이 끝날 때(commit, rollback) 한 번 더 무효화
+ * 2. Team 을 변경한 transaction 안에서는 snapshot 을 쓰지 않고 매번 다시 읽음 (commit 되지 않은 team 이 cache 에 남지 않도록)
+ * 3. snapshot 에 없는 name, id 는 그 row 만 조회 (team 전체를 다시 읽지 않음 -> 없는 name 으로 반복 검색해도 작은 query 1번)
+ *    - 조회 결과가 있으면 snapshot 이후 event 없이 바뀐 것 -> 무효화해서 다음 조회 때 전체를 다시 읽음
+ * 4. ChunkedBulkOperations, StatelessSession ingest 로 Team 을 변경하면 EntityChangedEvent(BULK) 로 무효화
+ * - 그 외 bulk update(JPQL) 로 team name 을 바꾸는 경우는 알 수 없음 -> invalidate() 직접 호출
+ */
+@Component
+public class TeamCache implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    private final JPAQueryFactory queryFactory;
+    private final EntityManagerFactory entityManagerFactory;
+
+    // 무효화 이전에 읽기 시작한 snapshot 이 무효화 이후에 저장되는 것을 막기 위한 세대 번호
+    private long generation;
+    private Snapshot snapshot;
+
+    public TeamCache(JPAQueryFactory queryFactory, EntityManagerFactory entityManagerFactory) {
+        this.queryFactory = queryFactory;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    /**
+     * @return 이름이 같은 team 의 id 목록 (없으면 빈 목록)
+     */
+    public List<Long> findIdsByName(String name) {
+        List<Long> ids = snapshot().nameToIds.get(name);
+        if (ids != null) {
+            return ids;
+        }
+
+        ids = queryFactory
+                .select(team.id)
+                .from(team)
+                .where(team.name.eq(name))
+                .setHint(QueryMetrics.NAME_HINT, "TeamCache.findIdsByName#miss")
+                .fetch();
+        if (!ids.isEmpty()) {
+            invalidate();  // snapshot 에 없던 team
+        }
+        return ids;
+    }
+
+    public String findNameById(Long id) {
+        Snapshot current = snapshot();
+        return current.idToName.containsKey(id) ? current.idToName.get(id) : findMissingName(id);
+    }
+
+    /**
+     * teamId 만 조회한 결과(MemberProjections.MEMBER_TEAM_ID)에 teamName 을 채움
+     */
+    public List<MemberTeamResponseDto> fillTeamNames(List<MemberTeamResponseDto> results) {
+        Snapshot current = snapshot();
+        Map<Long, String> missingNames = null;  // snapshot 에 없는 id 는 id 마다 한 번만 조회
+        for (MemberTeamResponseDto result : results) {
+            Long teamId = result.getTeamId();
+            if (teamId == null) {
+                continue;
+            }
+            if (current.idToName.containsKey(teamId)) {
+                result.setTeamName(current.idToName.get(teamId));
+                continue;
+            }
+            if (missingNames == null) {
+                missingNames = new HashMap<>();
+            }
+            if (!missingNames.containsKey(teamId)) {
+                missingNames.put(teamId, findMissingName(teamId));
+            }
+            result.setTeamName(missingNames.get(teamId));
+        }
+        return results;
+    }
+
+    private String findMissingName(Long id) {
+        Tuple row = queryFactory
+                .select(team.id, team.name)
+                .from(team)
+                .where(team.id.eq(id))
+                .setHint(QueryMetrics.NAME_HINT, "TeamCache.findNameById#miss")
+                .fetchFirst();
+        if (row == null) {
+            return null;
+        }
+        invalidate();  // snapshot 에 없던 team
+        return row.get(team.name);
+    }
+
+    public synchronized void invalidate() {
+        generation++;
+        snapshot = null;
+    }
+
+    @EventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (event.getChangeType() == EntityChangedEvent.ChangeType.BULK && event.isFor(Team.class)) {
+            invalidate();
+        }
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        onTeamFlushed(event.getPersister());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        onTeamFlushed(event.getPersister());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        onTeamFlushed(event.getPersister());
+    }
+
+    // Hibernate 5 의 abstract method (오타가 있는 예전 이름) -> 없으면 compile 되지 않음
+    @Override
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return false;
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private void onTeamFlushed(EntityPersister persister) {
+        if (!Team.class.isAssignableFrom(persister.getMappedClass())) {
+            return;
+        }
+
+        invalidate();
+        if (TransactionSynchronizationManager.isSynchronizationActive() && !TransactionSynchronizationManager.hasResource(this)) {
+            TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TeamCache.this);
+                    invalidate();
+                }
+            });
+        }
+    }
+
+    private Snapshot snapshot() {
+        if (TransactionSynchronizationManager.hasResource(this)) {
+            return load();  // 이 transaction 이 team 을 변경함 -> commit 되지 않은 상태를 공유하지 않음
+        }
+
+        long loadGeneration;
+        synchronized (this) {
+            if (snapshot != null) {
+                return snapshot;
+            }
+            loadGeneration = generation;
+        }
+
+        Snapshot loaded = load();
+
+        synchronized (this) {
+            if (loadGeneration == generation && !TransactionSynchronizationManager.hasResource(this)) {
+                snapshot = loaded;
+            }
+        }
+        return loaded;
+    }
+
+    private Snapshot load() {
+        List<Tuple> rows = queryFactory
+                .select(team.id, team.name)
+                .from(team)
+                .setHint(QueryMetrics.NAME_HINT, "TeamCache.load#fetch")
+                .fetch();
+
+        Map<String, List<Long>> nameToIds = new HashMap<>();
+        Map<Long, String> idToName = new HashMap<>();
+        for (Tuple row : rows) {
+            Long id = row.get(team.id);
+            String name = row.get(team.name);
+            idToName.put(id, name);
+            nameToIds.computeIfAbsent(name, key -> new ArrayList<>(1)).add(id);
+        }
+        return new Snapshot(nameToIds, idToName);
+    }
+
+    private static final class Snapshot {
+
+        private final Map<String, List<Long>> nameToIds;
+        private final Map<Long, String> idToName;
+
+        private Snapshot(Map<String, List<Long>> nameToIds, Map<Long, String> idToName) {
+            this.nameToIds = nameToIds;
+            this.idToName = idToName;
+        }
+    }
+}
@@ -0,0 +1,341 @@
+package com.example.querydsl.infrastructure.persistence.database.repository;
+
+import com.example.querydsl.infrastructure.persistence.database.entity.Member;
+import com.example.querydsl.infrastructure.persistence.database.entity.Team;
+import com.example.querydsl.infrastructure.persistence.database.event.EntityChangedEvent;
+import com.example.querydsl.infrastructure.persistence.database.repository.support.InClauses;
+import com.example.querydsl.infrastructure.persistence.database.repository.support.QueryMetrics;
+import com.example.querydsl.ui.dto.response.TeamStatisticsResponseDto;
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static com.example.querydsl.infrastructure.persistence.database.entity.QMember.member;
+
+/** TeamStatisticsStore
+ * - team 별 member 통계 (member 수, age 합/최소/최대, age 분포) 를 메모리에 유지
+ *   -> 대시보드가 groupBy(member.team) 집계 query 로 member 전체를 매번 scan 하지 않도록
+ * - team 마다 age -> member 수 (TreeMap) 만 유지하면 나머지는 모두 유도 가능
+ *   (삭제 시 min/max 를 다시 구할 수 있도록 합계만 두지 않음)
+ *
+ * [ 갱신 ]
+ * 1. 기동 완료 시, reconcile-interval 마다 group by (team, age) 집계로 전체 재계산 (reconcile)
+ *    - 재계산 결과와 다른 team 이 있으면 drift 로 보고 warn log
+ * 2. Member insert / update(changeTeam 포함) / delete commit -> EntityChangedEvent 의 변경 전 값(previousState)을 빼고 새 값을 더함
+ * 3. Member BULK 변경 -> 즉시 reconcile
+ *
+ * [ reconcile 도중 들어온 event ]
+ * - 집계 query 가 event 의 변경을 포함했는지 알 수 없음 -> 변경분(delta)을 그대로 더하면 두 번 반영될 수 있음
+ * - 그래서 event 를 모아 두었다가 member 단위로 다시 적용 (MemberColumnarIndex.rebuild 의 pending 과 같은 방식)
+ *   : 집계와 같은 snapshot(REPEATABLE_READ) 에서 해당 member 의 (team, age) 를 조회해 빼고, 마지막 event 의 값을 더함
+ *   -> 집계가 변경 전/후 어느 쪽을 보았든 결과가 같음 (같은 event 를 여러 번 적용해도 같음)
+ * - 이미 진행 중인 transaction 에 참여하면 isolation 은 바뀌지 않음 (BULK event 로 commit 직후 reconcile 하는 경우 등)
+ *   -> 남은 차이는 다음 reconcile 에서 바로잡힘
+ */
+@Slf4j
+@Component
+public class TeamStatisticsStore {
+
+    private static final int HISTOGRAM_BUCKET_WIDTH = 10;
+
+    private final boolean enabled;
+    private final JPAQueryFactory queryFactory;
+    private final TeamCache teamCache;
+    private final TransactionTemplate snapshotTransaction;
+    private final Object reconcileLock = new Object();  // reconcile 은 한 번에 하나만
+
+    private Map<Long, Statistics> statistics = new HashMap<>();  // key: team id (team 이 없으면 null)
+    private List<EntityChangedEvent> pending;                   // null -> reconcile 중이 아님
+
+    public TeamStatisticsStore(@Value("${querydsl.team-statistics.enabled:false}") boolean enabled,
+                               JPAQueryFactory queryFactory,
+                               TeamCache teamCache,
+                               PlatformTransactionManager transactionManager) {
+        this.enabled = enabled;
+        this.queryFactory = queryFactory;
+        this.teamCache = teamCache;
+
+        // readOnly 로 두지 않음 -> routing 이 켜져 있어도 event 와 같은 primary 에서 집계
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            reconcile();
+        }
+    }
+
+    @Scheduled(initialDelayString = "${querydsl.team-statistics.reconcile-interval:PT10M}",
+            fixedDelayString = "${querydsl.team-statistics.reconcile-interval:PT10M}")
+    public void scheduledReconcile() {
+        if (enabled) {
+            reconcile();
+        }
+    }
+
+    /**
+     * @return 재계산 결과와 달랐던 team 수
+     */
+    public int reconcile() {
+        int drifted;
+        synchronized (reconcileLock) {
+            synchronized (this) {
+                pending = new ArrayList<>();
+            }
+            try {
+                drifted = snapshotTransaction.execute(status -> recalculate());
+            } finally {
+                synchronized (this) {
+                    pending = null;
+                }
+            }
+        }
+        if (drifted > 0) {
+            log.warn("Team statistics drifted for {} team(s), replaced with recalculated values", drifted);
+        }
+        return drifted;
+    }
+
+    /**
+     * 집계 -> 그동안 들어온 event 의 member 를 같은 snapshot 에서 조회 -> lock 안에서 다시 적용하고 교체
+     * - 조회하는 동안 새로 들어온 member 가 있으면 그 member 만 다시 조회
+     */
+    private int recalculate() {
+        Map<Long, Statistics> recalculated = aggregate();
+        Map<Long, Placement> seen = new HashMap<>();  // 집계 snapshot 에서의 (team, age), 없던 member 는 null
+
+        while (true) {
+            Set<Long> unseen = new HashSet<>();
+            synchronized (this) {
+                pending.forEach(event -> {
+                    if (!seen.containsKey((Long) event.getId())) {
+                        unseen.add((Long) event.getId());
+                    }
+                });
+                if (unseen.isEmpty()) {
+                    replay(recalculated, seen, pending);
+
+                    int drifted = 0;
+                    for (Long teamId : union(statistics, recalculated)) {
+                        if (!Objects.equals(statistics.get(teamId), recalculated.get(teamId))) {
+                            drifted++;
+                        }
+                    }
+                    statistics = recalculated;
+                    pending = null;
+                    return drifted;
+                }
+            }
+            unseen.forEach(id -> seen.put(id, null));
+            seen.putAll(placements(unseen));
+        }
+    }
+
+    /**
+     * member 마다 집계에 포함된 값을 빼고 마지막 event 의 값을 더함 (삭제면 더하지 않음)
+     */
+    private static void replay(Map<Long, Statistics> target, Map<Long, Placement> seen, List<EntityChangedEvent> events) {
+        Map<Long, EntityChangedEvent> latest = new LinkedHashMap<>();
+        events.forEach(event -> latest.put((Long) event.getId(), event));
+
+        latest.forEach((memberId, event) -> {
+            Placement before = seen.get(memberId);
+            if (before != null) {
+                add(target, before.teamId, before.age, -1);
+            }
+            if (event.getChangeType() != EntityChangedEvent.ChangeType.DELETED) {
+                Member current = (Member) event.getEntity();
+                add(target, teamId(current.getTeam()), current.getAge(), 1);
+            }
+        });
+    }
+
+    /**
+     * O(team 수 x team 별 서로 다른 age 수), 꺼져 있으면 매번 집계 query
+     */
+    public List<TeamStatisticsResponseDto> getStatistics() {
+        List<TeamStatisticsResponseDto> results = new ArrayList<>();
+        if (enabled) {
+            synchronized (this) {
+                statistics.forEach((teamId, stats) -> results.add(stats.toResponse(teamId)));
+            }
+        } else {
+            aggregate().forEach((teamId, stats) -> results.add(stats.toResponse(teamId)));
+        }
+        results.forEach(result -> result.setTeamName(result.getTeamId() != null ? teamCache.findNameById(result.getTeamId()) : null));
+        return results;
+    }
+
+    @EventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        if (!enabled || !event.isFor(Member.class)) {
+            return;
+        }
+
+        if (event.getChangeType() == EntityChangedEvent.ChangeType.BULK) {
+            reconcile();
+            return;
+        }
+
+        // 모아 두기와 적용을 같은 lock 안에서 -> reconcile 이 교체한 map 에 delta 가 한 번 더 더해지지 않음
+        synchronized (this) {
+            if (pending != null) {
+                pending.add(event);  // 교체될 map 에도 적용하고, 새 map 에는 reconcile 이 다시 적용
+            }
+            applyChange(event);
+        }
+    }
+
+    private void applyChange(EntityChangedEvent event) {
+        switch (event.getChangeType()) {
+            case INSERTED: {
+                Member inserted = (Member) event.getEntity();
+                apply(teamId(inserted.getTeam()), inserted.getAge(), 1);
+                break;
+            }
+            case UPDATED: {
+                Member updated = (Member) event.getEntity();
+                Team previousTeam = (Team) event.getPreviousValue("team");
+                Integer previousAge = (Integer) event.getPreviousValue("age");
+                if (previousAge != null) {
+                    apply(teamId(previousTeam), previousAge, -1);
+                }
+                apply(teamId(updated.getTeam()), updated.getAge(), 1);
+                break;
+            }
+            case DELETED: {
+                Integer previousAge = (Integer) event.getPreviousValue("age");
+                if (previousAge != null) {
+                    apply(teamId((Team) event.getPreviousValue("team")), previousAge, -1);
+                }
+                break;
+            }
+            default:
+                break;
+        }
+    }
+
+    private Map<Long, Statistics> aggregate() {
+        List<Tuple> rows = queryFactory
+                .select(member.team.id, member.age, member.count())
+                .from(member)
+                .groupBy(member.team.id, member.age)
+                .setHint(QueryMetrics.NAME_HINT, "TeamStatisticsStore.aggregate#fetch")
+                .fetch();
+
+        Map<Long, Statistics> aggregated = new HashMap<>();
+        for (Tuple row : rows) {
+            aggregated.computeIfAbsent(row.get(member.team.id), key -> new Statistics())
+                    .add(row.get(member.age), row.get(member.count()));
+        }
+        return aggregated;
+    }
+
+    private Map<Long, Placement> placements(Set<Long> memberIds) {
+        Map<Long, Placement> placements = new HashMap<>();
+        for (List<Long> chunk : InClauses.partition(memberIds)) {
+            List<Tuple> rows = queryFactory
+                    .select(member.id, member.team.id, member.age)
+                    .from(member)
+                    .where(member.id.in(chunk))
+                    .setHint(QueryMetrics.NAME_HINT, "TeamStatisticsStore.placements#fetch")
+                    .fetch();
+            for (Tuple row : rows) {
+                placements.put(row.get(member.id), new Placement(row.get(member.team.id), row.get(member.age)));
+            }
+        }
+        return placements;
+    }
+
+    private synchronized void apply(Long teamId, int age, long delta) {
+        add(statistics, teamId, age, delta);
+    }
+
+    private static void add(Map<Long, Statistics> target, Long teamId, int age, long delta) {
+        Statistics stats = target.computeIfAbsent(teamId, key -> new Statistics());
+        stats.add(age, delta);
+        if (stats.count == 0) {
+            target.remove(teamId);
+        }
+    }
+
+    private static Long teamId(Team team) {
+        return team != null ? team.getId() : null;  // proxy 의 id 는 초기화 없이 조회
+    }
+
+    private static List<Long> union(Map<Long, Statistics> left, Map<Long, Statistics> right) {
+        List<Long> keys = new ArrayList<>(left.keySet());
+        right.keySet().stream().filter(key -> !left.containsKey(key)).forEach(keys::add);
+        return keys;
+    }
+
+    private static final class Placement {
+        private final Long teamId;
+        private final int age;
+
+        private Placement(Long teamId, int age) {
+            this.teamId = teamId;
+            this.age = age;
+        }
+    }
+
+    private static final class Statistics {
+
+        private final TreeMap<Integer, Long> ageCounts = new TreeMap<>();
+        private long count;
+        private long ageSum;
+
+        void add(int age, long delta) {
+            long ageCount = ageCounts.getOrDefault(age, 0L) + delta;
+            if (ageCount > 0) {
+                ageCounts.put(age, ageCount);
+            } else {
+                ageCounts.remove(age);  // 음수가 되는 drift 는 reconcile 에서 바로잡음
+            }
+            count += delta;
+            ageSum += age * delta;
+        }
+
+        TeamStatisticsResponseDto toResponse(Long teamId) {
+            Map<String, Long> histogram = new LinkedHashMap<>();
+            ageCounts.forEach((age, ageCount) -> {
+                int from = Math.floorDiv(age, HISTOGRAM_BUCKET_WIDTH) * HISTOGRAM_BUCKET_WIDTH;
+                histogram.merge(from + "-" + (from + HISTOGRAM_BUCKET_WIDTH - 1), ageCount, Long::sum);
+            });
+            return new TeamStatisticsResponseDto(teamId, null, count, ageSum, (double) ageSum / count,
+                    ageCounts.isEmpty() ? null : ageCounts.firstKey(),
+                    ageCounts.isEmpty() ? null : ageCounts.lastKey(),
+                    histogram);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Statistics && ageCounts.equals(((Statistics) o).ageCounts);
+        }
+
+        @Override
+        public int hashCode() {
+            return ageCounts.hashCode();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.querydsl.infrastructure.persistence.database.repository;
+
+import com.example.querydsl.infrastructure.persistence.database.entity.Team;
+import com.example.querydsl.infrastructure.persistence.database.repository.support.FetchPlan;
+import com.example.querydsl.infrastructure.persistence.database.repository.support.Querydsl4RepositorySupport;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Repository;
+
+import static com.example.querydsl.infrastructure.persistence.database.entity.QTeam.team;
+import static org.springframework.util.StringUtils.hasText;
+
+/** TeamSupportTestRepository
+ * - domainClass 가 Team -> Pageable 의 Sort 가 team 속성 기준 path 로 만들어짐 (sort=name,desc)
+ */
+@Repository  // Querydsl4RepositorySupport 의 @Repository 는 상속되지 않음
+public class TeamSupportTestRepository extends Querydsl4RepositorySupport {
+
+    public TeamSupportTestRepository() {
+        super(Team.class);
+    }
+
+    /**
+     * team 페이지 + members (collection -> 페이지의 team id 로 한 번 더 조회)
+     * - team.members 를 fetch join 하면 row 가 member 수만큼 늘어 pagination 이 메모리에서 일어남
+     */
+    public Page<Team> searchTeamPageWithMembers(String teamName, Pageable pageable) {
+        return applyPagination(pageable, query ->
+                query.selectFrom(team)
+                        .where(hasText(teamName) ? team.name.eq(teamName) : null),
+                FetchPlan.of(team).fetch(team.members)
+        );
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.querydsl.infrastructure.persistence.database.repository.support;
+
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/** BatchLoader
+ * - DataLoader 방식의 micro batching: 여러 thread 가 짧은 시간 동안 요청한 key 를 모아서 batch 함수 한 번으로 조회
+ * - 첫 요청 후 window 가 지나거나 maxBatchSize 만큼 모이면 실행
+ * - 같은 key 는 대기 중(pending)이거나 실행 중(in-flight)인 future 를 함께 사용 -> 중복 조회 없음
+ *
+ * [ 주의 ]
+ * - 같은 key 를 요청한 caller 들은 같은 value instance 를 받음 -> 수정하지 말 것
+ * - batch 함수는 executor thread 에서 실행 -> 호출한 쪽 transaction, 영속성 컨텍스트와 무관
+ * - batch 함수가 Error 를 던져도 batch 의 future 는 모두 실패로 완료 -> 기다리는 caller 가 남지 않음
+ * - 요청 thread 에서는 get(key, timeout) 으로 기다림 (executor 가 밀려도 timeout 이후에는 반환)
+ */
+public class BatchLoader<K, V> {
+
+    private final Function<Collection<K>, Map<K, V>> batchFunction;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final ScheduledExecutorService executor;
+
+    private Map<K, CompletableFuture<Optional<V>>> pending = new LinkedHashMap<>();
+    private final Map<K, CompletableFuture<Optional<V>>> inFlight = new HashMap<>();
+
+    public BatchLoader(Function<Collection<K>, Map<K, V>> batchFunction, Duration window, int maxBatchSize,
+                       ScheduledExecutorService executor) {
+        this.batchFunction = batchFunction;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        this.executor = executor;
+    }
+
+    /**
+     * @return 없는 key 면 Optional.empty 로 완료
+     */
+    public CompletableFuture<Optional<V>> load(K key) {
+        Map<K, CompletableFuture<Optional<V>>> full = null;
+        CompletableFuture<Optional<V>> future;
+
+        synchronized (this) {
+            future = inFlight.get(key);
+            if (future == null) {
+                future = pending.get(key);
+            }
+            if (future != null) {
+                return future;
+            }
+
+            future = new CompletableFuture<>();
+            pending.put(key, future);
+            if (pending.size() == 1) {
+                Map<K, CompletableFuture<Optional<V>>> batch = pending;
+                executor.schedule(() -> dispatch(batch), windowNanos, TimeUnit.NANOSECONDS);
+            }
+            if (pending.size() >= maxBatchSize) {
+                full = takePending();
+            }
+        }
+
+        if (full != null) {
+            Map<K, CompletableFuture<Optional<V>>> batch = full;
+            executor.execute(() -> run(batch));
+        }
+        return future;
+    }
+
+    /**
+     * load(key) 를 timeout 까지 기다림
+     * - timeout 이 지나도 future 는 취소하지 않음 (같은 key 를 기다리는 다른 caller 와 공유)
+     * @throws QueryTimeoutException timeout 안에 batch 가 끝나지 않음
+     */
+    public Optional<V> get(K key, Duration timeout) {
+        try {
+            return load(key).get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new QueryTimeoutException("Batch load of " + key + " did not complete within " + timeout.toMillis() + " ms", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for batch load of " + key, e);
+        }
+    }
+
+    /**
+     * window 가 지났을 때 batch 가 아직 pending 이면 (maxBatchSize 로 먼저 실행되지 않았으면) 실행
+     */
+    private void dispatch(Map<K, CompletableFuture<Optional<V>>> batch) {
+        synchronized (this) {
+            if (pending != batch) {
+                return;
+            }
+            takePending();
+        }
+        run(batch);
+    }
+
+    // this lock 안에서 호출
+    private Map<K, CompletableFuture<Optional<V>>> takePending() {
+        Map<K, CompletableFuture<Optional<V>>> batch = pending;
+        pending = new LinkedHashMap<>();
+        inFlight.putAll(batch);
+        return batch;
+    }
+
+    private void run(Map<K, CompletableFuture<Optional<V>>> batch) {
+        Throwable failure = null;
+        try {
+            Map<K, V> values = batchFunction.apply(new ArrayList<>(batch.keySet()));
+            batch.forEach((key, future) -> future.complete(Optional.ofNullable(values.get(key))));
+        } catch (Throwable e) {
+            failure = e;
+            throw e;
+        } finally {
+            synchronized (this) {
+                batch.forEach(inFlight::remove);
+            }
+            // 완료되지 않은 future 를 모두 실패로 (Error 포함) -> 이미 완료된 future 는 그대로
+            Throwable cause = failure != null ? failure : new IllegalStateException("Batch load did not complete");
+            batch.values().forEach(future -> future.completeExceptionally(cause));
+        }
+    }
+}
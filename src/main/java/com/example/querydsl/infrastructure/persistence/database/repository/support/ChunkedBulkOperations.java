@@ -0,0 +1,148 @@
+package com.example.querydsl.infrastructure.persistence.database.repository.support;
+
+import com.example.querydsl.infrastructure.persistence.database.entity.BaseEntity;
+import com.example.querydsl.infrastructure.persistence.database.event.EntityChangedEvent;
+import com.example.querydsl.ui.dto.response.BulkOperationResponseDto;
+import com.querydsl.core.types.EntityPath;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.DateTimePath;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.NumberPath;
+import com.querydsl.jpa.impl.JPAUpdateClause;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/** ChunkedBulkOperations
+ * - Querydsl bulk update/delete 를 id 범위 chunk 로 나눠서 실행
+ *   -> 한 statement 가 수백만 row 의 lock, undo log 를 오래 잡고 있지 않음
+ * - chunk 마다 transaction 하나 (호출한 쪽에 transaction 이 있으면 거기에 참여 -> chunk 단위 commit 은 되지 않음)
+ *
+ * [ chunk 범위 ]
+ * - 조건에 맞는 row 의 id 순으로 chunk-size 번째 id 를 다음 chunk 의 시작으로 사용 (id 가 듬성듬성해도 chunk 크기가 일정)
+ * - 범위는 chunk 실행 직전에 계산 -> set 으로 조건 column 을 바꾸는 update 도 이미 처리한 범위를 다시 보지 않음
+ *
+ * [ 영속성 컨텍스트 ]
+ * - chunk 실행 전 flush (bulk query 가 아직 flush 되지 않은 변경을 덮어쓰지 않도록), 실행 후 clear (DB 와 달라진 entity 제거)
+ * - BaseEntity 를 상속한 entity 는 update 시 modifiedDate 도 함께 갱신 (bulk query 는 auditing listener 를 거치지 않음)
+ * - 2차 cache 는 Hibernate 가 bulk query 대상 entity region 을 비움
+ * - 모든 chunk 가 끝나면 EntityChangedEvent(BULK) 발행 -> entity 를 복제해 둔 cache 들이 무효화
+ *   (중간 chunk 가 실패해도 앞에서 commit 된 chunk 가 있으면 발행)
+ */
+@Slf4j
+@Component
+public class ChunkedBulkOperations {
+
+    private final EntityManager em;
+    private final JPAQueryFactory queryFactory;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+
+    public ChunkedBulkOperations(EntityManager em,
+                                 JPAQueryFactory queryFactory,
+                                 PlatformTransactionManager transactionManager,
+                                 ApplicationEventPublisher eventPublisher,
+                                 @Value("${querydsl.bulk.chunk-size:1000}") int chunkSize) {
+        this.em = em;
+        this.queryFactory = queryFactory;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * ex) update(member, member.id, member.age.lt(25), update -> update.set(member.username, "비회원"))
+     */
+    public BulkOperationResponseDto update(EntityPath<?> entity, NumberPath<Long> id, Predicate where,
+                                           Consumer<JPAUpdateClause> assignments) {
+        DateTimePath<LocalDateTime> modifiedDate = BaseEntity.class.isAssignableFrom(entity.getType())
+                ? Expressions.dateTimePath(LocalDateTime.class, entity, "modifiedDate")
+                : null;
+
+        return execute(entity, id, where, range -> {
+            JPAUpdateClause update = queryFactory.update(entity);
+            assignments.accept(update);
+            if (modifiedDate != null) {
+                update.set(modifiedDate, LocalDateTime.now());
+            }
+            return update.where(where, range).execute();
+        });
+    }
+
+    public BulkOperationResponseDto delete(EntityPath<?> entity, NumberPath<Long> id, Predicate where) {
+        return execute(entity, id, where, range -> queryFactory.delete(entity).where(where, range).execute());
+    }
+
+    private BulkOperationResponseDto execute(EntityPath<?> entity, NumberPath<Long> id, Predicate where,
+                                             Function<BooleanExpression, Long> statement) {
+        long startedAt = System.nanoTime();
+        List<BulkOperationResponseDto.Chunk> chunks = new ArrayList<>();
+        long rows = 0;
+
+        try {
+            Long lower = queryFactory.select(id.min()).from(entity).where(where).fetchOne();
+            while (lower != null) {
+                Long fromId = lower;
+                BulkOperationResponseDto.Chunk chunk = transactionTemplate.execute(status -> {
+                    long chunkStartedAt = System.nanoTime();
+                    em.flush();
+
+                    Long upper = queryFactory.select(id)
+                            .from(entity)
+                            .where(where, id.goe(fromId))
+                            .orderBy(id.asc())
+                            .offset(chunkSize)
+                            .fetchFirst();
+                    BooleanExpression range = upper != null ? id.goe(fromId).and(id.lt(upper)) : id.goe(fromId);
+                    long affected = statement.apply(range);
+
+                    em.clear();
+                    return new BulkOperationResponseDto.Chunk(fromId, upper, affected, (System.nanoTime() - chunkStartedAt) / 1_000_000);
+                });
+
+                chunks.add(chunk);
+                rows += chunk.getRows();
+                log.info("Bulk {} chunk [{}, {}): {} rows in {} ms",
+                        entity.getType().getSimpleName(), chunk.getFromId(), chunk.getToId(), chunk.getRows(), chunk.getElapsedMillis());
+                lower = chunk.getToId();
+            }
+        } finally {
+            if (rows > 0) {
+                publishBulkChanged(entity.getType());  // 중간 chunk 가 실패해도 이미 commit 된 chunk 가 있음
+            }
+        }
+        return new BulkOperationResponseDto(rows, (System.nanoTime() - startedAt) / 1_000_000, chunks);
+    }
+
+    /**
+     * 바깥 transaction 에 참여했다면 commit 된 뒤에 발행
+     */
+    private void publishBulkChanged(Class<?> entityType) {
+        EntityChangedEvent event = EntityChangedEvent.bulk(entityType);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eventPublisher.publishEvent(event);
+                }
+            });
+        } else {
+            eventPublisher.publishEvent(event);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.querydsl.infrastructure.persistence.database.repository.support;
+
+import com.querydsl.core.DefaultQueryMetadata;
+import com.querydsl.core.JoinExpression;
+import com.querydsl.core.JoinType;
+import com.querydsl.core.QueryMetadata;
+import com.querydsl.core.types.CollectionExpression;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.FactoryExpression;
+import com.querydsl.core.types.Operation;
+import com.querydsl.core.types.Ops;
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.SubQueryExpression;
+import com.querydsl.core.types.TemplateExpression;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.jpa.impl.JPAQuery;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.LongSupplier;
+
+/** CountQueries
+ * - content query 로부터 "select count(...)" query 를 유도
+ * - 기존 fetch().size() 는 조건에 맞는 모든 entity 를 메모리에 올린 뒤 개수만 셌음
+ *
+ * [ 유도 규칙 ]
+ * 1. projection, order by, offset/limit 제거
+ * 2. fetch join -> 일반 join 으로 (count 에 fetch join 이 있으면 Hibernate 가 에러)
+ * 3. where / having / group by / 다른 join 에서 참조하지 않는 left join 제거
+ *    - inner join 은 row 를 걸러내므로 유지
+ *    - collection left join 은 row 수를 늘리므로 유지
+ * 4. distinct -> count(distinct ...)
+ * 5. group by, 여러 column 의 distinct -> count 로 표현할 수 없으므로 projection 만 남겨서 결과 개수를 셈
+ * - content query 가 InstrumentedJPAQuery 면 count query 도 계측 (이름: "content 이름의 # 앞부분#count")
+ */
+public final class CountQueries {
+
+    private CountQueries() {
+    }
+
+    /**
+     * count query 실행을 지연 -> PageableExecutionUtils 가 total 이 필요할 때만 실행
+     * - content query 에 pagination 을 적용하기 전에 호출해야 함
+     */
+    public static LongSupplier count(JPAQuery<?> contentQuery, EntityManager entityManager) {
+        QueryMetadata source = contentQuery.getMetadata();
+
+        if (!isDerivable(source)) {
+            JPAQuery<?> rowQuery = InstrumentedJPAQuery.derive(contentQuery, entityManager, copyForCount(source), "count");
+            rowQuery.getMetadata().setProjection(source.getProjection());
+            rowQuery.getMetadata().setDistinct(source.isDistinct());
+            return () -> rowQuery.fetch().size();
+        }
+
+        JPAQuery<Long> countQuery = derive(contentQuery, entityManager);
+        return () -> {
+            Long count = countQuery.fetchOne();
+            return count != null ? count : 0L;
+        };
+    }
+
+    public static JPAQuery<Long> derive(JPAQuery<?> contentQuery, EntityManager entityManager) {
+        QueryMetadata source = contentQuery.getMetadata();
+        if (!isDerivable(source)) {
+            throw new IllegalArgumentException("Count query can not be derived from a group by or multi-column distinct query");
+        }
+
+        Ops.AggOps countOp = source.isDistinct() ? Ops.AggOps.COUNT_DISTINCT_AGG : Ops.AggOps.COUNT_AGG;
+        Expression<?> countTarget = source.isDistinct() && source.getProjection() != null
+                ? distinctTarget(source.getProjection())
+                : alias(source.getJoins().get(0));
+
+        return InstrumentedJPAQuery.derive(contentQuery, entityManager, copyForCount(source), "count")
+                .select(Expressions.numberOperation(Long.class, countOp, countTarget));
+    }
+
+    private static boolean isDerivable(QueryMetadata source) {
+        if (source.getJoins().isEmpty()) {
+            throw new IllegalArgumentException("Count query needs a from clause");
+        }
+        if (!source.getGroupBy().isEmpty()) {
+            return false;
+        }
+        Expression<?> projection = source.getProjection();
+        return !source.isDistinct()
+                || !(projection instanceof FactoryExpression)
+                || ((FactoryExpression<?>) projection).getArgs().size() == 1;
+    }
+
+    private static QueryMetadata copyForCount(QueryMetadata source) {
+        List<JoinExpression> joins = source.getJoins();
+
+        Set<Expression<?>> referenced = new HashSet<>();
+        collectRoots(source.getWhere(), referenced);
+        collectRoots(source.getHaving(), referenced);
+        source.getGroupBy().forEach(groupBy -> collectRoots(groupBy, referenced));
+
+        // 뒤에서부터 보면서 남길 join 이 참조하는 alias 도 참조된 것으로 처리 (join chain)
+        boolean[] keep = new boolean[joins.size()];
+        for (int i = joins.size() - 1; i >= 0; i--) {
+            JoinExpression join = joins.get(i);
+            if (i == 0 || !isDroppable(join, referenced)) {
+                keep[i] = true;
+                collectRoots(join.getTarget(), referenced);
+                collectRoots(join.getCondition(), referenced);
+            }
+        }
+
+        QueryMetadata metadata = new DefaultQueryMetadata();
+        for (int i = 0; i < joins.size(); i++) {
+            if (keep[i]) {
+                JoinExpression join = joins.get(i);
+                metadata.addJoin(join.getType(), join.getTarget());  // join flag(fetch) 는 복사하지 않음
+                if (join.getCondition() != null) {
+                    metadata.addJoinCondition(join.getCondition());
+                }
+            }
+        }
+        if (source.getWhere() != null) {
+            metadata.addWhere(source.getWhere());
+        }
+        source.getGroupBy().forEach(metadata::addGroupBy);
+        if (source.getHaving() != null) {
+            metadata.addHaving(source.getHaving());
+        }
+        return metadata;
+    }
+
+    private static boolean isDroppable(JoinExpression join, Set<Expression<?>> referenced) {
+        if (join.getType() != JoinType.LEFTJOIN || !isAliased(join.getTarget())) {
+            return false;
+        }
+        Operation<?> alias = (Operation<?>) join.getTarget();
+        return !(alias.getArg(0) instanceof CollectionExpression)
+                && !referenced.contains(alias.getArg(1));
+    }
+
+    private static boolean isAliased(Expression<?> target) {
+        return target instanceof Operation && ((Operation<?>) target).getOperator() == Ops.ALIAS;
+    }
+
+    private static Expression<?> alias(JoinExpression join) {
+        Expression<?> target = join.getTarget();
+        return isAliased(target) ? ((Operation<?>) target).getArg(1) : target;
+    }
+
+    /**
+     * select distinct a -> count(distinct a)  (alias 는 count 안에서 쓸 수 없으므로 벗겨냄)
+     */
+    private static Expression<?> distinctTarget(Expression<?> projection) {
+        Expression<?> target = projection instanceof FactoryExpression
+                ? ((FactoryExpression<?>) projection).getArgs().get(0)
+                : projection;
+        return isAliased(target) ? ((Operation<?>) target).getArg(0) : target;
+    }
+
+    private static void collectRoots(Expression<?> expr, Set<Expression<?>> roots) {
+        if (expr == null) {
+            return;
+        }
+
+        if (expr instanceof Path) {
+            roots.add(((Path<?>) expr).getRoot());
+        } else if (expr instanceof Operation) {
+            ((Operation<?>) expr).getArgs().forEach(arg -> collectRoots(arg, roots));
+        } else if (expr instanceof FactoryExpression) {
+            ((FactoryExpression<?>) expr).getArgs().forEach(arg -> collectRoots(arg, roots));
+        } else if (expr instanceof TemplateExpression) {
+            for (Object arg : ((TemplateExpression<?>) expr).getArgs()) {
+                if (arg instanceof Expression) {
+                    collectRoots((Expression<?>) arg, roots);
+                }
+            }
+        } else if (expr instanceof SubQueryExpression) {
+            // correlated sub query 가 바깥 alias 를 참조할 수 있음
+            QueryMetadata metadata = ((SubQueryExpression<?>) expr).getMetadata();
+            List<Expression<?>> parts = new ArrayList<>(metadata.getGroupBy());
+            parts.add(metadata.getProjection());
+            parts.add(metadata.getWhere());
+            parts.add(metadata.getHaving());
+            metadata.getJoins().forEach(join -> {
+                parts.add(join.getTarget());
+                parts.add(join.getCondition());
+            });
+            parts.forEach(part -> collectRoots(part, roots));
+        }
+    }
+}
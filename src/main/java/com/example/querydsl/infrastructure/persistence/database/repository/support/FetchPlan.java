@@ -0,0 +1,114 @@
+package com.example.querydsl.infrastructure.persistence.database.repository.support;
+
+import com.querydsl.core.DefaultQueryMetadata;
+import com.querydsl.core.types.CollectionExpression;
+import com.querydsl.core.types.EntityPath;
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.dsl.EntityPathBase;
+import com.querydsl.jpa.impl.JPAQuery;
+
+import javax.persistence.EntityGraph;
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/** FetchPlan
+ * - 조회할 때 함께 읽을 연관관계를 선언 -> N+1 (lazy loading 으로 row 마다 query) 방지
+ *
+ * [ 전략 ]
+ * 1. fetch(to-one)      : left join fetch -> row 수가 늘지 않으므로 pagination 과 함께 써도 됨
+ * 2. fetch(collection)  : 본 query 에서는 join 하지 않고, 결과 entity 들을 "where root in (..) + left join fetch collection" 으로 한 번 더 조회
+ *    - collection 을 본 query 에서 fetch join 하면 row 가 (부모 x 자식) 으로 늘어남
+ *      -> pagination 이 메모리에서 일어나고(HHH000104), collection 이 두 개면 cartesian product (MultipleBagFetchException)
+ *    - collection 하나당 query 하나 (부모 1000개 단위 InClauses, IN 크기는 Hibernate padding 으로 고정)
+ * 3. graph(path..)      : JPA entity graph (javax.persistence.fetchgraph) 로 지정 -> Hibernate 가 join 으로 처리하므로 collection 에는 2. 를 권장
+ *
+ * [ 제약 ]
+ * - collection 은 root 의 직접 속성만 (team.members O, member.team.members X)
+ * - 본 query 에서 이미 join 한 to-one 을 fetch 하면 한 번 더 join 됨 -> 그 경우는 join(..).fetchJoin() 을 직접 사용
+ */
+public final class FetchPlan<T> {
+
+    private final EntityPathBase<T> root;
+    private final List<EntityPath<?>> toOnes = new ArrayList<>();
+    private final List<CollectionExpression<?, ?>> collections = new ArrayList<>();
+    private final List<Path<?>> graphAttributes = new ArrayList<>();
+
+    private FetchPlan(EntityPathBase<T> root) {
+        this.root = root;
+    }
+
+    public static <T> FetchPlan<T> of(EntityPathBase<T> root) {
+        return new FetchPlan<>(root);
+    }
+
+    /**
+     * to-one 은 fetch join, collection 은 secondary IN query
+     */
+    public FetchPlan<T> fetch(Path<?> association) {
+        if (association instanceof CollectionExpression) {
+            if (!root.equals(association.getMetadata().getParent())) {
+                throw new IllegalArgumentException("Collection " + association + " is not a direct attribute of " + root);
+            }
+            collections.add((CollectionExpression<?, ?>) association);
+        } else if (association instanceof EntityPath) {
+            toOnes.add((EntityPath<?>) association);
+        } else {
+            throw new IllegalArgumentException("Not an association: " + association);
+        }
+        return this;
+    }
+
+    public FetchPlan<T> graph(Path<?>... attributes) {
+        for (Path<?> attribute : attributes) {
+            if (!root.equals(attribute.getMetadata().getParent())) {
+                throw new IllegalArgumentException("Entity graph attribute " + attribute + " is not a direct attribute of " + root);
+            }
+            Collections.addAll(graphAttributes, attribute);
+        }
+        return this;
+    }
+
+    /**
+     * 본 query 에 fetch join, entity graph 적용 (pagination, count query 유도 이후에 호출해도 됨)
+     */
+    public JPAQuery<T> apply(JPAQuery<T> query, EntityManager entityManager) {
+        for (EntityPath<?> toOne : toOnes) {
+            query.leftJoin(toOne).fetchJoin();
+        }
+        if (!graphAttributes.isEmpty()) {
+            EntityGraph<T> graph = entityManager.createEntityGraph(root.getType());
+            graphAttributes.forEach(attribute -> graph.addAttributeNodes(attribute.getMetadata().getName()));
+            query.setHint("javax.persistence.fetchgraph", graph);
+        }
+        return query;
+    }
+
+    /**
+     * 본 query 결과의 collection 을 root 1000개 단위 IN query 로 초기화
+     * - 같은 영속성 컨텍스트이므로 결과 entity 의 collection 이 채워짐
+     * - IN query 는 본 query(source) 와 같은 방식으로 계측 (이름: "본 query 이름의 # 앞부분#collection 이름")
+     */
+    public List<T> loadCollections(JPAQuery<T> source, List<T> results, EntityManager entityManager) {
+        if (results.isEmpty()) {
+            return results;
+        }
+        for (CollectionExpression<?, ?> collection : collections) {
+            for (List<T> chunk : InClauses.partition(results)) {
+                InstrumentedJPAQuery.<T>derive(source, entityManager, new DefaultQueryMetadata(), collection.getMetadata().getName())
+                        .select(root)
+                        .distinct()
+                        .from(root)
+                        .leftJoin(collection).fetchJoin()
+                        .where(root.in(chunk))
+                        .fetch();
+            }
+        }
+        return results;
+    }
+
+    public List<T> fetch(JPAQuery<T> query, EntityManager entityManager) {
+        return loadCollections(query, apply(query, entityManager).fetch(), entityManager);
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.querydsl.infrastructure.persistence.database.repository.support;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/** InClauses
+ * - "where id in (..)" 에 넘길 값 목록을 중복 제거 후 MAX_SIZE 단위로 나눔
+ * - IN 의 parameter 개수가 다르면 SQL 도 달라짐
+ *   -> 개수마다 query plan cache, JDBC PreparedStatement cache entry 가 따로 생김 (1..1000 이면 1000개)
+ *
+ * [ 개수 맞추기 ]
+ * 1. JPA (Hibernate)  : hibernate.query.in_clause_parameter_padding=true -> Hibernate 가 2의 거듭제곱 개수로 채움
+ *                       (partition 은 나누기만 함, dialect 의 IN 최대 개수를 넘게 채우지는 않음)
+ * 2. querydsl-sql     : Hibernate 를 거치지 않고 값 개수만큼 ? 를 직접 만듦 -> padded 로 BUCKETS 중 가장 가까운 크기까지 마지막 값으로 채움
+ *                       (SQL 모양이 BUCKETS 개수(6개)로 고정, 채운 값은 중복이므로 결과는 같음)
+ */
+public final class InClauses {
+
+    static final int[] BUCKETS = {1, 4, 16, 64, 256, 1000};
+    public static final int MAX_SIZE = BUCKETS[BUCKETS.length - 1];  // Oracle IN 최대 개수
+
+    private InClauses() {
+    }
+
+    /**
+     * JPA query 용 -> padding 은 Hibernate (in_clause_parameter_padding)
+     */
+    public static <T> List<List<T>> partition(Collection<? extends T> values) {
+        List<T> distinct = new ArrayList<>(new LinkedHashSet<>(values));
+        List<List<T>> chunks = new ArrayList<>((distinct.size() + MAX_SIZE - 1) / MAX_SIZE);
+        for (int from = 0; from < distinct.size(); from += MAX_SIZE) {
+            chunks.add(distinct.subList(from, Math.min(from + MAX_SIZE, distinct.size())));
+        }
+        return chunks;
+    }
+
+    /**
+     * querydsl-sql 용 -> 중복 제거 후 BUCKETS 크기로 채움 (MAX_SIZE 이하, 비어 있으면 안 됨)
+     */
+    public static <T> List<T> padded(Collection<? extends T> values) {
+        List<T> distinct = new ArrayList<>(new LinkedHashSet<>(values));
+        if (distinct.isEmpty()) {
+            throw new IllegalArgumentException("IN list must not be empty");
+        }
+        return pad(distinct);
+    }
+
+    static <T> List<T> pad(List<T> chunk) {
+        int size = bucket(chunk.size());
+        List<T> padded = new ArrayList<>(size);
+        padded.addAll(chunk);
+        T last = chunk.get(chunk.size() - 1);
+        while (padded.size() < size) {
+            padded.add(last);
+        }
+        return padded;
+    }
+
+    static int bucket(int size) {
+        for (int bucket : BUCKETS) {
+            if (size <= bucket) {
+                return bucket;
+            }
+        }
+        throw new IllegalArgumentException("IN list larger than " + MAX_SIZE + ": " + size);
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.querydsl.infrastructure.persistence.database.repository.support;
+
+import com.querydsl.core.QueryMetadata;
+import com.querydsl.core.QueryResults;
+import com.querydsl.jpa.impl.JPAQuery;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+
+/** InstrumentedJPAQuery
+ * - fetch 계열 method 의 실행 시간, 결과 row 수, 실패를 QueryMetrics 에 기록
+ * - select() 는 같은 instance 를 반환하므로 queryFactory.select(..).from(..) 체인 전체가 계측됨
+ * - fetchFirst() 는 내부적으로 fetchOne() 을 호출하므로 따로 계측하지 않음
+ */
+public class InstrumentedJPAQuery<T> extends JPAQuery<T> {
+
+    private final QueryMetrics metrics;
+    private String name;
+
+    public InstrumentedJPAQuery(EntityManager entityManager, QueryMetrics metrics) {
+        super(entityManager);
+        this.metrics = metrics;
+    }
+
+    private InstrumentedJPAQuery(EntityManager entityManager, QueryMetadata metadata, QueryMetrics metrics) {
+        super(entityManager, metadata);
+        this.metrics = metrics;
+    }
+
+    /**
+     * source 로부터 유도한 query (CountQueries 의 count query, FetchPlan 의 collection IN query)
+     * - source 가 계측 query 면 같은 QueryMetrics 로 계측, 이름은 "source 이름의 # 앞부분#suffix"
+     *   (ex. MemberSupportTestRepository.searchPage#content -> MemberSupportTestRepository.searchPage#count)
+     */
+    public static <X> JPAQuery<X> derive(JPAQuery<?> source, EntityManager entityManager, QueryMetadata metadata, String suffix) {
+        if (!(source instanceof InstrumentedJPAQuery)) {
+            return new JPAQuery<>(entityManager, metadata);
+        }
+        InstrumentedJPAQuery<?> instrumented = (InstrumentedJPAQuery<?>) source;
+        InstrumentedJPAQuery<X> derived = new InstrumentedJPAQuery<>(entityManager, metadata, instrumented.metrics);
+        if (instrumented.name != null) {
+            int at = instrumented.name.indexOf('#');
+            derived.name = (at >= 0 ? instrumented.name.substring(0, at) : instrumented.name) + "#" + suffix;
+        }
+        return derived;
+    }
+
+    @Override
+    public JPAQuery<T> setHint(String name, Object value) {
+        if (QueryMetrics.NAME_HINT.equals(name)) {
+            this.name = String.valueOf(value);  // JPA query 로는 넘기지 않음
+            return this;
+        }
+        return super.setHint(name, value);
+    }
+
+    @Override
+    public List<T> fetch() {
+        return measure("fetch", super::fetch, List::size);
+    }
+
+    @Override
+    public T fetchOne() {
+        return measure("fetchOne", super::fetchOne, result -> result != null ? 1 : 0);
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public QueryResults<T> fetchResults() {
+        return measure("fetchResults", super::fetchResults, results -> results.getResults().size());
+    }
+
+    @Override
+    public Stream<T> stream() {
+        String fingerprint = fingerprint("stream");
+        long startedAt = System.nanoTime();
+        AtomicLong rows = new AtomicLong();
+        try {
+            return super.stream()
+                    .peek(row -> rows.incrementAndGet())
+                    .onClose(() -> metrics.record(fingerprint, System.nanoTime() - startedAt, rows.get()));
+        } catch (RuntimeException e) {
+            metrics.recordError(fingerprint, System.nanoTime() - startedAt, e);
+            throw e;
+        }
+    }
+
+    private <R> R measure(String operation, Supplier<R> query, ToLongFunction<R> rowCounter) {
+        return metrics.measure(fingerprint(operation), query, rowCounter);
+    }
+
+    private String fingerprint(String operation) {
+        return name != null ? name : metrics.fingerprint(operation);
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.querydsl.infrastructure.persistence.database.repository.support;
+
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+
+import javax.persistence.EntityManager;
+
+/** InstrumentedJPAQueryFactory
+ * - select(), selectFrom(), from() .. 으로 만드는 모든 query 를 InstrumentedJPAQuery 로 생성
+ * - update(), delete(), insert() clause 는 계측하지 않음
+ */
+public class InstrumentedJPAQueryFactory extends JPAQueryFactory {
+
+    private final EntityManager entityManager;
+    private final QueryMetrics metrics;
+
+    public InstrumentedJPAQueryFactory(EntityManager entityManager, QueryMetrics metrics) {
+        super(entityManager);
+        this.entityManager = entityManager;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public JPAQuery<?> query() {
+        return new InstrumentedJPAQuery<Void>(entityManager, metrics);
+    }
+}
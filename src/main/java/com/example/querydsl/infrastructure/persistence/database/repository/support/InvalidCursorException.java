@@ -0,0 +1,16 @@
+package com.example.querydsl.infrastructure.persistence.database.repository.support;
+
+/**
+ * client 가 보낸 cursor, 정렬이 keyset pagination 에 쓸 수 없음 -> controller 에서 400 으로 응답
+ * - IllegalArgumentException 을 상속하지 않음 -> repository proxy 의 예외 변환(InvalidDataAccessApiUsageException)을 거치지 않고 그대로 전달됨
+ */
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+
+    public InvalidCursorException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.querydsl.infrastructure.persistence.database.repository.support;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/** KeysetCursor
+ * - keyset(seek) pagination 의 continuation token
+ * - 마지막 row 의 (sort key, id) 를 Base64(URL-safe) 로 인코딩 -> client 입장에서는 opaque 한 문자열
+ * - offset 을 건너뛰는 대신 "(key, id) 가 마지막 row 보다 뒤" 인 row 부터 조회하므로 깊은 페이지도 첫 페이지와 비용이 같음
+ *
+ * [ 포맷 ]
+ * - property | direction | id | key  (key 는 '|' 를 포함할 수 있으므로 마지막에 둔다)
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class KeysetCursor {
+
+    private static final String DELIMITER = "|";
+
+    private final String property;
+    private final Sort.Direction direction;
+    private final long id;
+    private final String key;
+
+    public static KeysetCursor of(String property, Sort.Direction direction, long id, Object key) {
+        return new KeysetCursor(property, direction, id, String.valueOf(key));
+    }
+
+    public static KeysetCursor decode(String token) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\" + DELIMITER, 4);
+            if (parts.length == 4) {
+                return new KeysetCursor(parts[0], Sort.Direction.fromString(parts[1]), Long.parseLong(parts[2]), parts[3]);
+            }
+        } catch (IllegalArgumentException e) {  // Base64, Direction, NumberFormatException
+            throw new InvalidCursorException("Malformed cursor: " + token, e);
+        }
+        throw new InvalidCursorException("Malformed cursor: " + token);
+    }
+
+    public String encode() {
+        String raw = String.join(DELIMITER, property, direction.name(), Long.toString(id), key);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 이전 요청과 다른 정렬로 cursor 를 이어 쓰면 결과가 뒤섞이므로 막는다
+     */
+    public void validate(String property, Sort.Direction direction) {
+        if (!this.property.equals(property) || this.direction != direction) {
+            throw new InvalidCursorException(
+                    "Cursor was issued for sort " + this.property + "," + this.direction
+                            + " but request is sorted by " + property + "," + direction);
+        }
+    }
+}
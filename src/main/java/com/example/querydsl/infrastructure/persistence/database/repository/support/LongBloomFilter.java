@@ -0,0 +1,87 @@
+package com.example.querydsl.infrastructure.persistence.database.repository.support;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/** LongBloomFilter
+ * - long 값(id) 전용 Bloom filter
+ * - mightContain == false 이면 확실히 없음, true 이면 falsePositiveRate 확률로 없을 수도 있음
+ * - put 은 여러 thread 에서 동시에 호출해도 됨 (bit 는 CAS 로 set, 지우는 연산은 없음)
+ *
+ * [ 크기 ]
+ * - bit 수 m = -n ln(p) / (ln 2)^2, hash 수 k = m / n * ln 2  (n: 예상 원소 수, p: false positive 비율)
+ * - hash 는 id 를 섞은 64bit 값 두 개로 k 개를 만듦 (h1 + i * h2, Kirsch-Mitzenmacher)
+ */
+public final class LongBloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+
+    private LongBloomFilter(long bitCount, int hashCount) {
+        long wordCount = (bitCount + 63) / 64;
+        if (wordCount > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Bloom filter too large: " + bitCount + " bits");
+        }
+        this.words = new AtomicLongArray((int) wordCount);
+        this.bitCount = wordCount * 64;
+        this.hashCount = hashCount;
+    }
+
+    public static LongBloomFilter create(long expectedInsertions, double falsePositiveRate) {
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("falsePositiveRate must be between 0 and 1: " + falsePositiveRate);
+        }
+        long n = Math.max(expectedInsertions, 1);
+        long bits = Math.max(64, (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2))));
+        int hashes = Math.max(1, (int) Math.round((double) bits / n * Math.log(2)));
+        return new LongBloomFilter(bits, hashes);
+    }
+
+    public void put(long value) {
+        long h1 = mix(value);
+        long h2 = mix(h1) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            int index = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long word;
+            do {
+                word = words.get(index);
+                if ((word & mask) != 0) {
+                    break;
+                }
+            } while (!words.compareAndSet(index, word, word | mask));
+        }
+    }
+
+    public boolean mightContain(long value) {
+        long h1 = mix(value);
+        long h2 = mix(h1) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long bitSize() {
+        return bitCount;
+    }
+
+    public int hashCount() {
+        return hashCount;
+    }
+
+    // MurmurHash3 fmix64 -> 연속된 id 도 bit 위치가 고르게 퍼지도록
+    private static long mix(long value) {
+        long h = value;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
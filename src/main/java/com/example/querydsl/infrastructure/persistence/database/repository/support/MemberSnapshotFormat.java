@@ -0,0 +1,70 @@
+package com.example.querydsl.infrastructure.persistence.database.repository.support;
+
+import java.nio.ByteOrder;
+
+/** MemberSnapshotFormat
+ * - member snapshot 파일(MemberSnapshotWriter -> MemberSnapshotReader) 의 layout
+ * - 모든 값은 little endian, 고정 길이 -> row 의 값 위치를 계산만으로 찾음 (parse 없이 mmap 한 그대로 읽음)
+ *
+ * [ header ] HEADER_BYTES
+ *   0  int   MAGIC
+ *   4  int   VERSION
+ *   8  long  row 수
+ *   16 int   block 수
+ *   24 long  teams section 위치
+ *   32 long  생성 시각 (epoch millis)
+ *
+ * [ block ] x block 수 (DB 에서 읽은 page 1개 = block 1개, id 오름차순)
+ *   0  long  block 크기 (다음 block 위치 = 현재 위치 + block 크기)
+ *   8  int   row 수 (n)
+ *   12 int   username dictionary 크기 (d)
+ *   16 long[n] ids, long[n] teamIds (NO_TEAM), int[n] ages, int[n] username code (NULL_CODE)
+ *      int[d + 1] dictionary offset, byte[] dictionary (UTF-8)
+ *   - dictionary 는 block 단위 -> writer 가 파일 전체의 username 을 메모리에 들고 있지 않음
+ *   - block 크기는 8 의 배수
+ *
+ * [ teams ]
+ *   int team 수, (long id, int length, byte[length] name(UTF-8)) x team 수 (name 이 null 이면 length -1)
+ */
+public final class MemberSnapshotFormat {
+
+    public static final long NO_TEAM = Long.MIN_VALUE;
+    public static final int NULL_CODE = -1;
+
+    static final int MAGIC = 0x4D534E50;  // "MSNP"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 64;
+    static final int BLOCK_HEADER_BYTES = 16;
+    static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    private MemberSnapshotFormat() {
+    }
+
+    static long blockBytes(int rows, int dictionarySize, long dictionaryBytes) {
+        long bytes = BLOCK_HEADER_BYTES
+                + (long) rows * (Long.BYTES + Long.BYTES + Integer.BYTES + Integer.BYTES)
+                + (long) (dictionarySize + 1) * Integer.BYTES
+                + dictionaryBytes;
+        return (bytes + 7) & ~7L;
+    }
+
+    static int teamIdsAt(int rows) {
+        return BLOCK_HEADER_BYTES + rows * Long.BYTES;
+    }
+
+    static int agesAt(int rows) {
+        return teamIdsAt(rows) + rows * Long.BYTES;
+    }
+
+    static int codesAt(int rows) {
+        return agesAt(rows) + rows * Integer.BYTES;
+    }
+
+    static int dictionaryOffsetsAt(int rows) {
+        return codesAt(rows) + rows * Integer.BYTES;
+    }
+
+    static int dictionaryAt(int rows, int dictionarySize) {
+        return dictionaryOffsetsAt(rows) + (dictionarySize + 1) * Integer.BYTES;
+    }
+}
@@ -0,0 +1,216 @@
+package com.example.querydsl.infrastructure.persistence.database.repository.support;
+
+import com.example.querydsl.ui.dto.response.MemberTeamResponseDto;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static com.example.querydsl.infrastructure.persistence.database.repository.support.MemberSnapshotFormat.BLOCK_HEADER_BYTES;
+import static com.example.querydsl.infrastructure.persistence.database.repository.support.MemberSnapshotFormat.BYTE_ORDER;
+import static com.example.querydsl.infrastructure.persistence.database.repository.support.MemberSnapshotFormat.HEADER_BYTES;
+import static com.example.querydsl.infrastructure.persistence.database.repository.support.MemberSnapshotFormat.MAGIC;
+import static com.example.querydsl.infrastructure.persistence.database.repository.support.MemberSnapshotFormat.NO_TEAM;
+import static com.example.querydsl.infrastructure.persistence.database.repository.support.MemberSnapshotFormat.NULL_CODE;
+import static com.example.querydsl.infrastructure.persistence.database.repository.support.MemberSnapshotFormat.VERSION;
+import static com.example.querydsl.infrastructure.persistence.database.repository.support.MemberSnapshotFormat.agesAt;
+import static com.example.querydsl.infrastructure.persistence.database.repository.support.MemberSnapshotFormat.codesAt;
+import static com.example.querydsl.infrastructure.persistence.database.repository.support.MemberSnapshotFormat.dictionaryAt;
+import static com.example.querydsl.infrastructure.persistence.database.repository.support.MemberSnapshotFormat.dictionaryOffsetsAt;
+import static com.example.querydsl.infrastructure.persistence.database.repository.support.MemberSnapshotFormat.teamIdsAt;
+
+/** MemberSnapshotReader
+ * - MemberSnapshotWriter 가 만든 파일을 block 단위로 FileChannel.map(READ_ONLY)
+ *   -> heap 으로 읽어 들이지 않고 page cache 를 그대로 scan (파일 크기만큼 heap 이 필요 없음)
+ * - Block 의 id(row), age(row) 등은 위치 계산 + absolute get 만 함 -> 객체 생성 없음
+ *   username(row), forEach 는 String/DTO 를 만듦 (필요한 column 만 읽는 scan 은 Block 을 직접 사용)
+ *
+ * [ 주의 ]
+ * - mapping 은 close() 후에도 GC 전까지 남음 -> 같은 파일을 덮어쓰는 것은 rename 이라 안전, Windows 에서는 삭제 불가
+ * - 여러 thread 에서 같은 Block 을 읽어도 됨 (absolute get 만 사용)
+ */
+public final class MemberSnapshotReader implements Closeable {
+
+    private final FileChannel channel;
+    private final long rowCount;
+    private final long createdAt;
+    private final List<Block> blocks;
+    private final Map<Long, String> teamNames;
+
+    private MemberSnapshotReader(FileChannel channel) throws IOException {
+        this.channel = channel;
+
+        MappedByteBuffer header = map(0, HEADER_BYTES);
+        if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+            throw new IOException("not a member snapshot (version " + VERSION + ")");
+        }
+        this.rowCount = header.getLong(8);
+        int blockCount = header.getInt(16);
+        long teamsOffset = header.getLong(24);
+        this.createdAt = header.getLong(32);
+
+        List<Block> blocks = new ArrayList<>(blockCount);
+        ByteBuffer blockBytes = ByteBuffer.allocate(Long.BYTES).order(BYTE_ORDER);
+        long position = HEADER_BYTES;
+        for (int i = 0; i < blockCount; i++) {
+            blockBytes.clear();
+            channel.read(blockBytes, position);
+            long size = blockBytes.getLong(0);
+            blocks.add(new Block(map(position, size)));
+            position += size;
+        }
+        this.blocks = Collections.unmodifiableList(blocks);
+
+        MappedByteBuffer teams = map(teamsOffset, channel.size() - teamsOffset);
+        int teamCount = teams.getInt();
+        Map<Long, String> teamNames = new LinkedHashMap<>();
+        for (int i = 0; i < teamCount; i++) {
+            long teamId = teams.getLong();
+            int length = teams.getInt();
+            String name = null;
+            if (length >= 0) {
+                byte[] bytes = new byte[length];
+                teams.get(bytes);
+                name = new String(bytes, StandardCharsets.UTF_8);
+            }
+            teamNames.put(teamId, name);
+        }
+        this.teamNames = Collections.unmodifiableMap(teamNames);
+    }
+
+    public static MemberSnapshotReader open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            return new MemberSnapshotReader(channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public long rowCount() {
+        return rowCount;
+    }
+
+    public long createdAt() {
+        return createdAt;
+    }
+
+    public List<Block> blocks() {
+        return blocks;
+    }
+
+    public Map<Long, String> teamNames() {
+        return teamNames;
+    }
+
+    public String teamName(long teamId) {
+        return teamNames.get(teamId);
+    }
+
+    /**
+     * 전체 row 를 id 순서로 DTO 로 만들어 전달 (teamName 포함)
+     */
+    public void forEach(Consumer<MemberTeamResponseDto> consumer) {
+        for (Block block : blocks) {
+            for (int row = 0; row < block.rowCount(); row++) {
+                long teamId = block.teamId(row);
+                consumer.accept(new MemberTeamResponseDto(
+                        block.id(row),
+                        block.username(row),
+                        block.age(row),
+                        teamId != NO_TEAM ? teamId : null,
+                        teamId != NO_TEAM ? teamNames.get(teamId) : null));
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private MappedByteBuffer map(long at, long size) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, at, size);
+        buffer.order(BYTE_ORDER);
+        return buffer;
+    }
+
+    /**
+     * block 1개 (mmap 한 영역) -> row 는 0 ~ rowCount() - 1
+     */
+    public static final class Block {
+
+        private final ByteBuffer buffer;
+        private final int rows;
+        private final int dictionarySize;
+        private final int teamIdsAt;
+        private final int agesAt;
+        private final int codesAt;
+        private final int dictionaryOffsetsAt;
+        private final int dictionaryAt;
+
+        private Block(ByteBuffer buffer) {
+            this.buffer = buffer;
+            this.rows = buffer.getInt(8);
+            this.dictionarySize = buffer.getInt(12);
+            this.teamIdsAt = teamIdsAt(rows);
+            this.agesAt = agesAt(rows);
+            this.codesAt = codesAt(rows);
+            this.dictionaryOffsetsAt = dictionaryOffsetsAt(rows);
+            this.dictionaryAt = dictionaryAt(rows, dictionarySize);
+        }
+
+        public int rowCount() {
+            return rows;
+        }
+
+        public long id(int row) {
+            return buffer.getLong(BLOCK_HEADER_BYTES + row * Long.BYTES);
+        }
+
+        /**
+         * @return team 이 없으면 MemberSnapshotFormat.NO_TEAM
+         */
+        public long teamId(int row) {
+            return buffer.getLong(teamIdsAt + row * Long.BYTES);
+        }
+
+        public int age(int row) {
+            return buffer.getInt(agesAt + row * Integer.BYTES);
+        }
+
+        /**
+         * block 안에서만 유효한 code (username 이 같으면 code 도 같음), null -> MemberSnapshotFormat.NULL_CODE
+         */
+        public int usernameCode(int row) {
+            return buffer.getInt(codesAt + row * Integer.BYTES);
+        }
+
+        public int dictionarySize() {
+            return dictionarySize;
+        }
+
+        public String dictionaryValue(int code) {
+            int from = buffer.getInt(dictionaryOffsetsAt + code * Integer.BYTES);
+            int to = buffer.getInt(dictionaryOffsetsAt + (code + 1) * Integer.BYTES);
+            return StandardCharsets.UTF_8.decode(buffer.duplicate().position(dictionaryAt + from).limit(dictionaryAt + to)).toString();
+        }
+
+        public String username(int row) {
+            int code = usernameCode(row);
+            return code != NULL_CODE ? dictionaryValue(code) : null;
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.example.querydsl.infrastructure.persistence.database.repository.support;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.example.querydsl.infrastructure.persistence.database.repository.support.MemberSnapshotFormat.BYTE_ORDER;
+import static com.example.querydsl.infrastructure.persistence.database.repository.support.MemberSnapshotFormat.HEADER_BYTES;
+import static com.example.querydsl.infrastructure.persistence.database.repository.support.MemberSnapshotFormat.MAGIC;
+import static com.example.querydsl.infrastructure.persistence.database.repository.support.MemberSnapshotFormat.NULL_CODE;
+import static com.example.querydsl.infrastructure.persistence.database.repository.support.MemberSnapshotFormat.VERSION;
+import static com.example.querydsl.infrastructure.persistence.database.repository.support.MemberSnapshotFormat.agesAt;
+import static com.example.querydsl.infrastructure.persistence.database.repository.support.MemberSnapshotFormat.blockBytes;
+import static com.example.querydsl.infrastructure.persistence.database.repository.support.MemberSnapshotFormat.codesAt;
+import static com.example.querydsl.infrastructure.persistence.database.repository.support.MemberSnapshotFormat.dictionaryOffsetsAt;
+import static com.example.querydsl.infrastructure.persistence.database.repository.support.MemberSnapshotFormat.teamIdsAt;
+
+/** MemberSnapshotWriter
+ * - member snapshot 파일 작성 (layout 은 MemberSnapshotFormat)
+ * - block 마다 크기를 먼저 계산해서 그 영역만 FileChannel.map(READ_WRITE) -> column 배열을 bulk put (JVM heap -> page cache 복사 1번)
+ * - 같은 directory 의 임시 파일("{파일}-{random}.tmp") 에 쓰고 finish() 에서 header 를 채운 뒤 rename -> 읽는 쪽은 완성된 파일만 봄
+ *   finish() 없이 close() 하면 임시 파일 삭제
+ * - writer 마다 임시 파일이 다름 -> 같은 target 으로 동시에 export 해도 서로의 파일을 덮어쓰지 않음 (마지막에 rename 한 쪽이 남음)
+ */
+public final class MemberSnapshotWriter implements Closeable {
+
+    private final Path target;
+    private final Path temp;
+    private final FileChannel channel;
+
+    private long position = HEADER_BYTES;
+    private long rowCount;
+    private int blockCount;
+    private boolean finished;
+
+    private MemberSnapshotWriter(Path target) throws IOException {
+        this.target = target;
+        this.temp = Files.createTempFile(target.toAbsolutePath().getParent(), target.getFileName() + "-", ".tmp");  // rename 이 atomic 하도록 같은 directory
+        try {
+            this.channel = FileChannel.open(temp, StandardOpenOption.READ, StandardOpenOption.WRITE);  // READ_WRITE map 은 READ 도 필요
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+
+    public static MemberSnapshotWriter create(Path target) throws IOException {
+        return new MemberSnapshotWriter(target);
+    }
+
+    /**
+     * @param teamIds  team 이 없으면 NO_TEAM
+     * @param usernames block 안에서 dictionary encoding (null -> NULL_CODE)
+     */
+    public void writeBlock(int rows, long[] ids, long[] teamIds, int[] ages, String[] usernames) throws IOException {
+        if (rows == 0) {
+            return;
+        }
+
+        Map<String, Integer> codes = new HashMap<>();
+        List<byte[]> dictionary = new ArrayList<>();
+        int[] usernameCodes = new int[rows];
+        long dictionaryBytes = 0;
+        for (int row = 0; row < rows; row++) {
+            String username = usernames[row];
+            if (username == null) {
+                usernameCodes[row] = NULL_CODE;
+                continue;
+            }
+            Integer code = codes.get(username);
+            if (code == null) {
+                byte[] bytes = username.getBytes(StandardCharsets.UTF_8);
+                code = dictionary.size();
+                codes.put(username, code);
+                dictionary.add(bytes);
+                dictionaryBytes += bytes.length;
+            }
+            usernameCodes[row] = code;
+        }
+
+        long blockBytes = blockBytes(rows, dictionary.size(), dictionaryBytes);
+        if (blockBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("snapshot block too large: " + rows + " rows, " + blockBytes + " bytes");
+        }
+
+        MappedByteBuffer buffer = map(position, blockBytes);
+        buffer.putLong(blockBytes).putInt(rows).putInt(dictionary.size());
+        buffer.asLongBuffer().put(ids, 0, rows);
+        buffer.position(teamIdsAt(rows));
+        buffer.asLongBuffer().put(teamIds, 0, rows);
+        buffer.position(agesAt(rows));
+        buffer.asIntBuffer().put(ages, 0, rows);
+        buffer.position(codesAt(rows));
+        buffer.asIntBuffer().put(usernameCodes, 0, rows);
+        buffer.position(dictionaryOffsetsAt(rows));
+
+        int offset = 0;
+        buffer.putInt(offset);
+        for (byte[] bytes : dictionary) {
+            offset += bytes.length;
+            buffer.putInt(offset);
+        }
+        for (byte[] bytes : dictionary) {
+            buffer.put(bytes);
+        }
+
+        position += blockBytes;
+        rowCount += rows;
+        blockCount++;
+    }
+
+    /**
+     * team section, header 를 쓰고 디스크에 반영한 뒤 target 으로 rename
+     * @return 파일 크기
+     */
+    public long finish(Map<Long, String> teamNames) throws IOException {
+        List<byte[]> names = new ArrayList<>(teamNames.size());
+        long teamsBytes = Integer.BYTES;
+        for (String name : teamNames.values()) {
+            byte[] bytes = name != null ? name.getBytes(StandardCharsets.UTF_8) : null;
+            names.add(bytes);
+            teamsBytes += Long.BYTES + Integer.BYTES + (bytes != null ? bytes.length : 0);
+        }
+
+        long teamsOffset = position;
+        MappedByteBuffer teams = map(teamsOffset, teamsBytes);
+        teams.putInt(teamNames.size());
+        int index = 0;
+        for (Long teamId : teamNames.keySet()) {
+            byte[] bytes = names.get(index++);
+            teams.putLong(teamId);
+            if (bytes != null) {
+                teams.putInt(bytes.length).put(bytes);
+            } else {
+                teams.putInt(-1);
+            }
+        }
+
+        MappedByteBuffer header = map(0, HEADER_BYTES);
+        header.putInt(MAGIC)
+                .putInt(VERSION)
+                .putLong(rowCount)
+                .putInt(blockCount)
+                .putInt(0)
+                .putLong(teamsOffset)
+                .putLong(System.currentTimeMillis());
+
+        teams.force();
+        header.force();
+        channel.force(true);  // block 영역 포함 (shared mapping 은 page cache 에 있음)
+        channel.close();
+
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        finished = true;
+        return teamsOffset + teamsBytes;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    public int getBlockCount() {
+        return blockCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!finished) {
+            channel.close();
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private MappedByteBuffer map(long at, long size) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, at, size);  // 파일 끝을 넘으면 파일이 늘어남
+        buffer.order(BYTE_ORDER);
+        return buffer;
+    }
+}
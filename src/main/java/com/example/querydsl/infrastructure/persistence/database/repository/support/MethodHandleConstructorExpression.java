@@ -0,0 +1,110 @@
+package com.example.querydsl.infrastructure.persistence.database.repository.support;
+
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.ExpressionException;
+import com.querydsl.core.types.FactoryExpressionBase;
+import com.querydsl.core.types.Visitor;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.util.Arrays;
+import java.util.List;
+
+/** MethodHandleConstructorExpression
+ * - Projections.constructor 와 같은 역할이지만 생성자를 MethodHandle 로 한 번만 resolve
+ * - row 마다 reflection(Constructor.newInstance) 대신 (Object[]) -> Object 로 고정된 MethodHandle 호출
+ * - primitive parameter 에 null 이 오면 기본값(0, false ..)으로 대체 (Projections.constructor 와 동일)
+ */
+class MethodHandleConstructorExpression<T> extends FactoryExpressionBase<T> {
+
+    private static final MethodHandle DEFAULT_IF_NULL;
+
+    static {
+        try {
+            DEFAULT_IF_NULL = MethodHandles.lookup().findStatic(MethodHandleConstructorExpression.class, "defaultIfNull",
+                    MethodType.methodType(Object.class, Object.class, Object.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final List<Expression<?>> args;
+    private final transient MethodHandle constructor;
+
+    MethodHandleConstructorExpression(Class<? extends T> type, List<Expression<?>> args) {
+        super(type);
+        this.args = args;
+        this.constructor = resolve(type, args);
+    }
+
+    @Override
+    public List<Expression<?>> getArgs() {
+        return args;
+    }
+
+    @Override
+    public T newInstance(Object... values) {
+        try {
+            return getType().cast((Object) constructor.invokeExact(values));
+        } catch (Throwable e) {
+            throw new ExpressionException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public <R, C> R accept(Visitor<R, C> v, C context) {
+        return v.visit(this, context);
+    }
+
+    private static MethodHandle resolve(Class<?> type, List<Expression<?>> args) {
+        Constructor<?> constructor = findConstructor(type, args);
+        Class<?>[] parameterTypes = constructor.getParameterTypes();
+
+        try {
+            constructor.setAccessible(true);
+            MethodHandle handle = MethodHandles.lookup()
+                    .unreflectConstructor(constructor)
+                    .asType(MethodType.genericMethodType(parameterTypes.length));
+
+            for (int i = 0; i < parameterTypes.length; i++) {
+                if (parameterTypes[i].isPrimitive()) {
+                    Object defaultValue = Array.get(Array.newInstance(parameterTypes[i], 1), 0);
+                    handle = MethodHandles.filterArguments(handle, i, MethodHandles.insertArguments(DEFAULT_IF_NULL, 1, defaultValue));
+                }
+            }
+            return handle.asSpreader(Object[].class, parameterTypes.length);
+        } catch (IllegalAccessException e) {
+            throw new ExpressionException("Constructor of " + type.getName() + " is not accessible", e);
+        }
+    }
+
+    private static Constructor<?> findConstructor(Class<?> type, List<Expression<?>> args) {
+        for (Constructor<?> constructor : type.getDeclaredConstructors()) {
+            Class<?>[] parameterTypes = constructor.getParameterTypes();
+            if (parameterTypes.length != args.size()) {
+                continue;
+            }
+
+            boolean matches = true;
+            for (int i = 0; i < parameterTypes.length && matches; i++) {
+                matches = wrap(parameterTypes[i]).isAssignableFrom(wrap(args.get(i).getType()));
+            }
+            if (matches) {
+                return constructor;
+            }
+        }
+        throw new ExpressionException("No constructor found for " + type.getName() + " with parameters "
+                + Arrays.toString(args.stream().map(Expression::getType).toArray()));
+    }
+
+    private static Class<?> wrap(Class<?> type) {
+        return type.isPrimitive() ? MethodType.methodType(type).wrap().returnType() : type;
+    }
+
+    private static Object defaultIfNull(Object value, Object defaultValue) {
+        return value != null ? value : defaultValue;
+    }
+}
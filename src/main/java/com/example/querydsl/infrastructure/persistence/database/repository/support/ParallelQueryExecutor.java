@@ -0,0 +1,83 @@
+package com.example.querydsl.infrastructure.persistence.database.repository.support;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/** ParallelQueryExecutor
+ * - count query 처럼 독립적인 query 를 별도 thread + 별도 transaction(= 별도 connection) 에서 실행
+ * - content, count query 를 동시에 실행하면 페이지 응답 시간이 (content + count) -> max(content, count)
+ *
+ * [ 주의 ]
+ * - 기본은 비활성화 (querydsl.parallel-query.enabled) -> 꺼져 있으면 thread pool 을 만들지 않음
+ * - 요청 하나가 connection 을 2개까지 사용 -> connection pool 크기를 pool-size 만큼 여유 있게 잡아야 함
+ * - 호출한 쪽 transaction 에서 commit 되지 않은 변경은 보이지 않음
+ * - pool, queue 가 가득 차면 병렬 실행을 포기하고 호출한 쪽에서 순차 실행하도록 empty 반환
+ */
+@Component
+public class ParallelQueryExecutor implements DisposableBean {
+
+    private final ThreadPoolTaskExecutor executor;  // 비활성화면 null
+    private final TransactionTemplate transactionTemplate;
+
+    public ParallelQueryExecutor(PlatformTransactionManager transactionManager,
+                                 @Value("${querydsl.parallel-query.enabled:false}") boolean enabled,
+                                 @Value("${querydsl.parallel-query.pool-size:4}") int poolSize,
+                                 @Value("${querydsl.parallel-query.queue-capacity:64}") int queueCapacity) {
+        if (enabled) {
+            this.executor = new ThreadPoolTaskExecutor();
+            executor.setCorePoolSize(poolSize);
+            executor.setMaxPoolSize(poolSize);
+            executor.setQueueCapacity(queueCapacity);
+            executor.setThreadNamePrefix("parallel-query-");
+            executor.initialize();
+        } else {
+            this.executor = null;
+        }
+
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public <T> Optional<CompletableFuture<T>> trySubmit(Supplier<T> query) {
+        if (executor == null) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(CompletableFuture.supplyAsync(
+                    () -> transactionTemplate.execute(status -> query.get()), executor));
+        } catch (RejectedExecutionException e) {
+            return Optional.empty();
+        }
+    }
+
+    public static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+}
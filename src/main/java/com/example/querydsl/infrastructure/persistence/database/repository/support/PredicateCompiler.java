@@ -0,0 +1,201 @@
+package com.example.querydsl.infrastructure.persistence.database.repository.support;
+
+import com.example.querydsl.common.search.Eq;
+import com.example.querydsl.common.search.Goe;
+import com.example.querydsl.common.search.Loe;
+import com.querydsl.core.types.ConstantImpl;
+import com.querydsl.core.types.EntityPath;
+import com.querydsl.core.types.Ops;
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.Expressions;
+import org.springframework.util.StringUtils;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/** PredicateCompiler
+ * - 검색 조건 DTO 의 @Eq, @Goe, @Loe field 를 Querydsl 조건으로 변환 (repository 마다 usernameEq, userAgeGoe .. 를 복사하지 않음)
+ * - DTO class + root 조합마다 한 번만 분석해서 cache (field, path, 연산자) -> 호출마다 reflection 으로 찾지 않음
+ *
+ * [ canonical order ]
+ * - 조건은 항상 (path, 연산자 EQ -> GOE -> LOE) 순서 -> 어느 repository 에서 만들어도 같은 조건 조합이면 같은 JPQL/SQL
+ *   (조건 순서가 다르면 SQL 문자열이 달라져서 statement cache, query plan cache 를 따로 씀)
+ *
+ * [ path ]
+ * - "{root}.{property}.." -> of(..) 에 넘긴 root 중 root 이름이 같은 Q-type 의 field 를 따라감 (ex. "team.name" -> QTeam.team.name)
+ *   -> 직접 작성한 조건과 같은 Path 객체
+ * - root 이름은 Q-class 의 static instance field 이름 (QMember.member -> "member")
+ *   alias 로 찾지 않음 -> member 는 JPQL 예약어라서 생성된 QMember.member 의 alias 는 "member1"
+ * - 넘긴 root 로 찾을 수 없는 조건은 of(..) 에서 바로 예외 (조건이 조용히 빠지지 않음)
+ *   -> team 을 join 하지 않는 query 는 skippedRoots 로 명시하고 teamName 을 따로 처리 (ex. TeamCache 로 team id)
+ */
+public final class PredicateCompiler<T> {
+
+    private static final Map<String, PredicateCompiler<?>> CACHE = new ConcurrentHashMap<>();
+
+    private final Condition[] conditions;
+
+    private PredicateCompiler(Condition[] conditions) {
+        this.conditions = conditions;
+    }
+
+    public static <T> PredicateCompiler<T> of(Class<T> conditionType, EntityPath<?>... roots) {
+        return of(conditionType, Set.of(), roots);
+    }
+
+    /**
+     * @param skippedRoots 이 query 에 없는 root 이름 -> 해당 root 의 조건은 호출한 쪽에서 따로 처리
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> PredicateCompiler<T> of(Class<T> conditionType, Set<String> skippedRoots, EntityPath<?>... roots) {
+        String key = conditionType.getName() + Arrays.stream(roots)
+                .map(root -> root.getClass().getName() + " " + root.getMetadata().getName())
+                .collect(Collectors.joining(",", "[", "]"))
+                + new TreeSet<>(skippedRoots);
+        return (PredicateCompiler<T>) CACHE.computeIfAbsent(key, k -> compile(conditionType, skippedRoots, roots));
+    }
+
+    /**
+     * @param extra 조건 뒤에 붙일 조건 (null 가능, where(..) 처럼 무시됨)
+     * @return where(..) 에 넘길 조건 (값이 없는 조건은 빠짐)
+     */
+    public Predicate[] predicates(T condition, Predicate... extra) {
+        Predicate[] predicates = new Predicate[conditions.length + extra.length];
+        int size = 0;
+        for (Condition c : conditions) {
+            Object value = c.read(condition);
+            if (value != null && !(value instanceof String && ((String) value).isBlank())) {
+                predicates[size++] = Expressions.booleanOperation(c.operator, c.path, ConstantImpl.create(value));
+            }
+        }
+        for (Predicate predicate : extra) {
+            if (predicate != null) {
+                predicates[size++] = predicate;
+            }
+        }
+        return size == predicates.length ? predicates : Arrays.copyOf(predicates, size);
+    }
+
+    private static <T> PredicateCompiler<T> compile(Class<T> conditionType, Set<String> skippedRoots, EntityPath<?>[] roots) {
+        Map<String, EntityPath<?>> rootsByName = new HashMap<>();
+        for (EntityPath<?> root : roots) {
+            if (rootsByName.put(rootName(root), root) != null) {
+                throw new IllegalArgumentException("Duplicate condition root: " + rootName(root));
+            }
+        }
+
+        List<Condition> conditions = new ArrayList<>();
+        for (Class<?> type = conditionType; type != Object.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                add(conditions, field, field.getAnnotation(Eq.class), rootsByName, skippedRoots);
+                add(conditions, field, field.getAnnotation(Goe.class), rootsByName, skippedRoots);
+                add(conditions, field, field.getAnnotation(Loe.class), rootsByName, skippedRoots);
+            }
+        }
+        conditions.sort(Comparator.comparing((Condition c) -> c.path.toString())
+                .thenComparingInt(c -> c.order));
+        return new PredicateCompiler<>(conditions.toArray(new Condition[0]));
+    }
+
+    /**
+     * Q-class 의 static instance field 이름 (QMember.member, SMember.member -> "member")
+     * - new QMember("m") 처럼 alias 를 바꾼 root 도 같은 이름
+     * - static instance 가 없는 class 면 entity 이름 (Member -> "member")
+     */
+    static String rootName(EntityPath<?> root) {
+        for (Field field : root.getClass().getFields()) {
+            if (Modifier.isStatic(field.getModifiers()) && field.getType() == root.getClass()) {
+                return field.getName();
+            }
+        }
+        return StringUtils.uncapitalize(root.getType().getSimpleName());
+    }
+
+    private static void add(List<Condition> conditions, Field field, Annotation annotation,
+                            Map<String, EntityPath<?>> rootsByName, Set<String> skippedRoots) {
+        if (annotation == null) {
+            return;
+        }
+
+        String expression;
+        Ops operator;
+        int order;
+        if (annotation instanceof Eq) {
+            expression = ((Eq) annotation).value();
+            operator = Ops.EQ;
+            order = 0;
+        } else if (annotation instanceof Goe) {
+            expression = ((Goe) annotation).value();
+            operator = Ops.GOE;
+            order = 1;
+        } else {
+            expression = ((Loe) annotation).value();
+            operator = Ops.LOE;
+            order = 2;
+        }
+
+        String[] segments = expression.split("\\.");
+        if (segments.length < 2) {
+            throw new IllegalArgumentException("Condition path must start with a root: " + field + " -> " + expression);
+        }
+        if (skippedRoots.contains(segments[0])) {
+            return;  // 이 query 에 없는 root -> 호출한 쪽에서 처리
+        }
+        Object path = rootsByName.get(segments[0]);
+        if (path == null) {
+            throw new IllegalArgumentException("Unknown condition root '" + segments[0] + "' (roots: " + rootsByName.keySet()
+                    + ", skipped: " + skippedRoots + "): " + field + " -> " + expression);
+        }
+        for (int i = 1; i < segments.length; i++) {
+            path = property(path, segments[i], field, expression);
+        }
+        if (!(path instanceof Path)) {
+            throw new IllegalArgumentException("Condition path is not a Querydsl path: " + field + " -> " + expression);
+        }
+
+        field.setAccessible(true);
+        conditions.add(new Condition(field, (Path<?>) path, operator, order));
+    }
+
+    private static Object property(Object parent, String name, Field field, String expression) {
+        try {
+            return parent.getClass().getField(name).get(parent);
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            throw new IllegalArgumentException("Unknown condition path: " + field + " -> " + expression, e);
+        }
+    }
+
+    private static final class Condition {
+        private final Field field;
+        private final Path<?> path;
+        private final Ops operator;
+        private final int order;
+
+        private Condition(Field field, Path<?> path, Ops operator, int order) {
+            this.field = field;
+            this.path = path;
+            this.operator = operator;
+            this.order = order;
+        }
+
+        Object read(Object condition) {
+            try {
+                return field.get(condition);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
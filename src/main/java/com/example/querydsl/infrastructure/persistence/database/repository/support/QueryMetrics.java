@@ -0,0 +1,101 @@
+package com.example.querydsl.infrastructure.persistence.database.repository.support;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/** QueryMetrics
+ * - query fingerprint 별 metric 을 Micrometer 로 기록
+ *   1. querydsl.query         : 실행 시간 (timer, outcome=success|error)
+ *   2. querydsl.query.rows    : 결과 row 수 (histogram)
+ *   3. querydsl.query.errors  : 실패 횟수
+ * - fingerprint: NAME_HINT 로 지정한 이름 (ex. MemberCustomRepositoryImpl.searchPageComplex#count)
+ *      .setHint(QueryMetrics.NAME_HINT, "MemberCustomRepositoryImpl.searchPageComplex#count")
+ *   -> 자주 실행되는 query 는 모두 이름을 지정 (stack 을 보지 않음)
+ * - 이름이 없는 query
+ *   1. 기본값: "unnamed#fetch 종류" 하나로 모음 -> 이 값이 크면 이름이 빠진 query 가 있다는 뜻
+ *   2. querydsl.query-metrics.call-site=true: "호출한 class.method#fetch 종류" (StackWalker, query 마다 stack 을 봄 -> 개발용)
+ * - Querydsl 밖의 query (JPQL 문자열, em.find) 는 measure(..) 로 같은 metric 에 기록
+ */
+public class QueryMetrics {
+
+    public static final String NAME_HINT = "querydsl.metrics.name";
+
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    private final MeterRegistry meterRegistry;
+    private final boolean callSite;
+
+    public QueryMetrics(MeterRegistry meterRegistry, boolean callSite) {
+        this.meterRegistry = meterRegistry;
+        this.callSite = callSite;
+    }
+
+    /**
+     * query 실행 시간, row 수(rowCounter), 실패를 fingerprint 로 기록
+     */
+    public <R> R measure(String fingerprint, Supplier<R> query, ToLongFunction<R> rowCounter) {
+        long startedAt = System.nanoTime();
+        try {
+            R result = query.get();
+            record(fingerprint, System.nanoTime() - startedAt, rowCounter.applyAsLong(result));
+            return result;
+        } catch (RuntimeException e) {
+            recordError(fingerprint, System.nanoTime() - startedAt, e);
+            throw e;
+        }
+    }
+
+    public void record(String fingerprint, long elapsedNanos, long rows) {
+        timer(fingerprint, "success").record(elapsedNanos, TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("querydsl.query.rows")
+                .tag("query", fingerprint)
+                .baseUnit("rows")
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(rows);
+    }
+
+    public void recordError(String fingerprint, long elapsedNanos, Throwable error) {
+        timer(fingerprint, "error").record(elapsedNanos, TimeUnit.NANOSECONDS);
+        Counter.builder("querydsl.query.errors")
+                .tag("query", fingerprint)
+                .tag("exception", error.getClass().getSimpleName())
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * NAME_HINT 가 없는 query 의 fingerprint
+     * - call-site 가 켜져 있으면 Querydsl, instrumentation class 를 제외한 첫 번째 호출 위치
+     */
+    public String fingerprint(String operation) {
+        if (!callSite) {
+            return "unnamed#" + operation;
+        }
+        return STACK_WALKER.walk(frames -> frames
+                .filter(frame -> !frame.getClassName().startsWith("com.querydsl.")
+                        && !frame.getClassName().startsWith(InstrumentedJPAQuery.class.getName())
+                        && !frame.getClassName().equals(QueryMetrics.class.getName()))
+                .findFirst()
+                .map(frame -> simpleName(frame.getClassName()) + "." + frame.getMethodName() + "#" + operation)
+                .orElse("unknown#" + operation));
+    }
+
+    private Timer timer(String fingerprint, String outcome) {
+        return Timer.builder("querydsl.query")
+                .tag("query", fingerprint)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static String simpleName(String className) {
+        return className.substring(className.lastIndexOf('.') + 1);
+    }
+}
@@ -3,6 +3,7 @@ package com.example.querydsl.infrastructure.persistence.database.repository.supp
 import com.querydsl.core.types.EntityPath;
 import com.querydsl.core.types.Expression;
 import com.querydsl.core.types.dsl.PathBuilder;
+import com.querydsl.jpa.JPQLQuery;
 import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -20,6 +21,7 @@ import javax.annotation.PostConstruct;
 import javax.persistence.EntityManager;
 import java.util.List;
 import java.util.function.Function;
+import java.util.function.LongSupplier;
 
 import static org.springframework.data.support.PageableExecutionUtils.getPage;
 
@@ -32,6 +34,7 @@ import static org.springframework.data.support.PageableExecutionUtils.getPage;
  * 3. 스프링 데이터 Sort 지원
  * 4. select(), selectFrom() 으로 시작 가능
  * 5. EntityManager, QueryFactory 제공
+ * 6. FetchPlan 으로 함께 읽을 연관관계 지정 (N+1 방지)
  */
 @Repository
 public abstract class Querydsl4RepositorySupport {
@@ -56,7 +59,13 @@ public abstract class Querydsl4RepositorySupport {
         this.entityManager = entityManager;
         this.querydsl = new Querydsl(entityManager, new
                 PathBuilder<>(path.getType(), path.getMetadata()));
-        this.queryFactory = new JPAQueryFactory(entityManager);
+    }
+
+    // bean 으로 등록된 JPAQueryFactory (InstrumentedJPAQueryFactory) -> 하위 repository 의 query 도 QueryMetrics 로 계측
+    @Autowired
+    public void setQueryFactory(JPAQueryFactory queryFactory) {
+        Assert.notNull(queryFactory, "QueryFactory must not be null!");
+        this.queryFactory = queryFactory;
     }
 
     @PostConstruct
@@ -86,19 +95,32 @@ public abstract class Querydsl4RepositorySupport {
         return getQueryFactory().selectFrom(from);
     }
 
+    protected <T> List<T> fetch(JPAQuery<T> query, FetchPlan<T> plan) {
+        return plan.fetch(query, getEntityManager());
+    }
+
 
     //밑에 2개가 핵심
-    //content 쿼리만 불러오는거
+    //content 쿼리만 불러오는거 -> count 쿼리는 content 쿼리에서 유도 (CountQueries)
     protected <T> Page<T> applyPagination(Pageable pageable, Function<JPAQueryFactory, JPAQuery> contentQuery) {
         JPAQuery jpaQuery = contentQuery.apply(getQueryFactory());
+        LongSupplier total = CountQueries.count(jpaQuery, getEntityManager());  // pagination 적용 전에 유도
         List<T> content = getQuerydsl().applyPagination(pageable, jpaQuery).fetch();
-        return getPage(content, pageable, () -> jpaQuery.fetch().size());
+        return getPage(content, pageable, total);
     }
-    //content 쿼리랑 count 쿼리 둘 다 불러오는거
+    //content 쿼리랑 count 쿼리 둘 다 불러오는거 -> count 쿼리도 select count(...) 로 변환해서 실행
     protected <T> Page<T> applyPagination(Pageable pageable, Function<JPAQueryFactory, JPAQuery> contentQuery, Function<JPAQueryFactory, JPAQuery> countQuery) {
         JPAQuery jpaContentQuery = contentQuery.apply(getQueryFactory());
         List<T> content = getQuerydsl().applyPagination(pageable, jpaContentQuery).fetch();
         JPAQuery countResult = countQuery.apply(getQueryFactory());
-        return getPage(content, pageable, () -> countResult.fetch().size());
+        return getPage(content, pageable, CountQueries.count(countResult, getEntityManager()));
+    }
+    //FetchPlan 적용 -> count 쿼리는 fetch join 추가 전에 유도, collection 은 현재 페이지 entity 만 IN 으로 추가 조회
+    protected <T> Page<T> applyPagination(Pageable pageable, Function<JPAQueryFactory, JPAQuery<T>> contentQuery, FetchPlan<T> plan) {
+        JPAQuery<T> jpaQuery = contentQuery.apply(getQueryFactory());
+        LongSupplier total = CountQueries.count(jpaQuery, getEntityManager());
+        JPQLQuery<T> pagedQuery = getQuerydsl().applyPagination(pageable, plan.apply(jpaQuery, getEntityManager()));
+        List<T> content = plan.loadCollections(jpaQuery, pagedQuery.fetch(), getEntityManager());
+        return getPage(content, pageable, total);
     }
 }
@@ -0,0 +1,61 @@
+package com.example.querydsl.infrastructure.persistence.database.sql;
+
+import com.querydsl.core.types.PathMetadata;
+import com.querydsl.core.types.dsl.DateTimePath;
+import com.querydsl.core.types.dsl.NumberPath;
+import com.querydsl.core.types.dsl.StringPath;
+import com.querydsl.sql.ColumnMetadata;
+import com.querydsl.sql.ForeignKey;
+import com.querydsl.sql.PrimaryKey;
+import com.querydsl.sql.RelationalPathBase;
+
+import java.sql.Types;
+import java.time.LocalDateTime;
+
+import static com.querydsl.core.types.PathMetadataFactory.forVariable;
+
+/** SMember
+ * - member table 의 querydsl-sql metadata (Member entity 의 Hibernate DDL 과 같은 column)
+ * - field 이름은 QMember 와 맞춤 (id, username, age, teamId) -> PredicateCompiler 의 "member.username" 등을 그대로 사용
+ * - querydsl-sql codegen 은 DB schema 가 있어야 하므로 직접 작성 -> Member 의 column 이 바뀌면 같이 수정
+ * - table, column 이름은 대문자 (H2 는 따옴표 없는 이름을 대문자로 저장 -> 예약어라서 따옴표로 감싸져도 같은 이름)
+ */
+public class SMember extends RelationalPathBase<SMember> {
+
+    public static final SMember member = new SMember("member");
+
+    public final NumberPath<Long> id = createNumber("id", Long.class);
+
+    public final StringPath username = createString("username");
+
+    public final NumberPath<Integer> age = createNumber("age", Integer.class);
+
+    public final NumberPath<Long> teamId = createNumber("teamId", Long.class);
+
+    public final DateTimePath<LocalDateTime> createdDate = createDateTime("createdDate", LocalDateTime.class);
+
+    public final DateTimePath<LocalDateTime> modifiedDate = createDateTime("modifiedDate", LocalDateTime.class);
+
+    public final PrimaryKey<SMember> primary = createPrimaryKey(id);
+
+    public final ForeignKey<STeam> teamFk = createForeignKey(teamId, "TEAM_ID");
+
+    public SMember(String variable) {
+        super(SMember.class, forVariable(variable), null, "MEMBER");
+        addMetadata();
+    }
+
+    public SMember(PathMetadata metadata) {
+        super(SMember.class, metadata, null, "MEMBER");
+        addMetadata();
+    }
+
+    private void addMetadata() {
+        addMetadata(id, ColumnMetadata.named("MEMBER_ID").withIndex(1).ofType(Types.BIGINT).notNull());
+        addMetadata(username, ColumnMetadata.named("USERNAME").withIndex(2).ofType(Types.VARCHAR).withSize(255));
+        addMetadata(age, ColumnMetadata.named("AGE").withIndex(3).ofType(Types.INTEGER).notNull());
+        addMetadata(teamId, ColumnMetadata.named("TEAM_ID").withIndex(4).ofType(Types.BIGINT));
+        addMetadata(createdDate, ColumnMetadata.named("CREATED_DATE").withIndex(5).ofType(Types.TIMESTAMP));
+        addMetadata(modifiedDate, ColumnMetadata.named("MODIFIED_DATE").withIndex(6).ofType(Types.TIMESTAMP));
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.querydsl.infrastructure.persistence.database.sql;
+
+import com.querydsl.core.types.PathMetadata;
+import com.querydsl.core.types.dsl.DateTimePath;
+import com.querydsl.core.types.dsl.NumberPath;
+import com.querydsl.core.types.dsl.StringPath;
+import com.querydsl.sql.ColumnMetadata;
+import com.querydsl.sql.PrimaryKey;
+import com.querydsl.sql.RelationalPathBase;
+
+import java.sql.Types;
+import java.time.LocalDateTime;
+
+import static com.querydsl.core.types.PathMetadataFactory.forVariable;
+
+/** STeam
+ * - team table 의 querydsl-sql metadata (field 이름은 QTeam 과 맞춤) -> SMember 참고
+ */
+public class STeam extends RelationalPathBase<STeam> {
+
+    public static final STeam team = new STeam("team");
+
+    public final NumberPath<Long> id = createNumber("id", Long.class);
+
+    public final StringPath name = createString("name");
+
+    public final DateTimePath<LocalDateTime> createdDate = createDateTime("createdDate", LocalDateTime.class);
+
+    public final DateTimePath<LocalDateTime> modifiedDate = createDateTime("modifiedDate", LocalDateTime.class);
+
+    public final PrimaryKey<STeam> primary = createPrimaryKey(id);
+
+    public STeam(String variable) {
+        super(STeam.class, forVariable(variable), null, "TEAM");
+        addMetadata();
+    }
+
+    public STeam(PathMetadata metadata) {
+        super(STeam.class, metadata, null, "TEAM");
+        addMetadata();
+    }
+
+    private void addMetadata() {
+        addMetadata(id, ColumnMetadata.named("TEAM_ID").withIndex(1).ofType(Types.BIGINT).notNull());
+        addMetadata(name, ColumnMetadata.named("NAME").withIndex(2).ofType(Types.VARCHAR).withSize(255));
+        addMetadata(createdDate, ColumnMetadata.named("CREATED_DATE").withIndex(3).ofType(Types.TIMESTAMP));
+        addMetadata(modifiedDate, ColumnMetadata.named("MODIFIED_DATE").withIndex(4).ofType(Types.TIMESTAMP));
+    }
+}
@@ -1,16 +1,50 @@
 package com.example.querydsl.ui.controller;
 
+import com.example.querydsl.infrastructure.persistence.database.repository.MemberBatchLoader;
+import com.example.querydsl.infrastructure.persistence.database.repository.MemberBulkIngestRepository;
+import com.example.querydsl.infrastructure.persistence.database.repository.MemberCountCache;
+import com.example.querydsl.infrastructure.persistence.database.repository.MemberDataVersion;
 import com.example.querydsl.infrastructure.persistence.database.repository.MemberQuerydslRepository;
 import com.example.querydsl.infrastructure.persistence.database.repository.MemberRepository;
+import com.example.querydsl.infrastructure.persistence.database.repository.MemberSearchQueryShapes;
+import com.example.querydsl.infrastructure.persistence.database.repository.MemberSnapshotExporter;
+import com.example.querydsl.infrastructure.persistence.database.repository.support.InvalidCursorException;
+import com.example.querydsl.ui.dto.request.MemberIngestDto;
 import com.example.querydsl.ui.dto.request.MemberSearchConditionDto;
+import com.example.querydsl.ui.dto.response.BulkIngestResponseDto;
+import com.example.querydsl.ui.dto.response.CacheStatsResponseDto;
+import com.example.querydsl.ui.dto.response.CursorResponseDto;
 import com.example.querydsl.ui.dto.response.MemberTeamResponseDto;
+import com.example.querydsl.ui.dto.response.SnapshotExportResponseDto;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequiredArgsConstructor
@@ -18,19 +52,131 @@ public class MemberController {
 
     private final MemberQuerydslRepository memberQuerydslRepository;
     private final MemberRepository memberRepository;
+    private final MemberCountCache memberCountCache;
+    private final MemberBulkIngestRepository memberBulkIngestRepository;
+    private final MemberSearchQueryShapes memberSearchQueryShapes;
+    private final MemberBatchLoader memberBatchLoader;
+    private final MemberDataVersion memberDataVersion;
+    private final MemberSnapshotExporter memberSnapshotExporter;
+    private final ObjectMapper objectMapper;
 
+    /**
+     * conditional GET -> If-None-Match 가 같으면 검색 query 없이 304 (MemberDataVersion)
+     */
     @GetMapping("/v1/members")
-    public List<MemberTeamResponseDto> searchMembersV1(MemberSearchConditionDto conditionDto) {
+    public List<MemberTeamResponseDto> searchMembersV1(MemberSearchConditionDto conditionDto, WebRequest webRequest) {
+        MemberDataVersion.Snapshot snapshot = memberDataVersion.snapshot();  // query 실행 전에 읽음
+        if (webRequest.checkNotModified(snapshot.etag("v1", conditionDto.normalize()))) {
+            return null;
+        }
         return memberQuerydslRepository.searchByMemberSearchCondition(conditionDto);
     }
 
+    /**
+     * 동시에 들어온 단건 조회를 모아서 한 번의 IN query 로 처리 (MemberBatchLoader)
+     * - querydsl.member.batch-loader.timeout 까지만 기다림
+     */
+    @GetMapping("/v1/members/{id}")
+    public ResponseEntity<MemberTeamResponseDto> findMemberV1(@PathVariable Long id) {
+        return ResponseEntity.of(memberBatchLoader.get(id));
+    }
+
+    @GetMapping("/v1/members/query-shapes")
+    public Map<String, Long> queryShapeHitCounts() {
+        return memberSearchQueryShapes.getHitCounts();
+    }
+
+    /**
+     * 검색 결과 전체 export -> ?format=ndjson|csv
+     * - List 로 모으지 않고 DB cursor 에서 읽는 대로 response 에 씀 (결과 건수와 상관없이 메모리 일정)
+     */
+    @GetMapping("/v1/members/export")
+    public void exportMembersV1(MemberSearchConditionDto conditionDto,
+                                @RequestParam(defaultValue = "ndjson") String format,
+                                HttpServletResponse response) throws IOException {
+        MemberExportFormat exportFormat = MemberExportFormat.from(format);
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+        exportFormat.writeHeader(writer);
+        memberQuerydslRepository.streamByMemberSearchCondition(conditionDto, dto -> {
+            try {
+                exportFormat.writeRow(writer, objectMapper, dto);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);  // client 가 연결을 끊은 경우 등 -> cursor 도 같이 닫힘
+            }
+        });
+        writer.flush();
+    }
+
+    /**
+     * 대량 적재 -> body: NDJSON (한 줄에 {"username":..,"age":..,"teamName":..})
+     * - body 를 한 줄씩 읽으면서 batch insert (전체를 List 로 읽지 않음)
+     */
+    @PostMapping(value = "/v1/members/bulk", consumes = "application/x-ndjson")
+    public BulkIngestResponseDto ingestMembersV1(@RequestParam(defaultValue = "false") boolean stateless,
+                                                 HttpServletRequest request) throws IOException {
+        try (MappingIterator<MemberIngestDto> rows = objectMapper.readerFor(MemberIngestDto.class)
+                .readValues(request.getInputStream())) {
+            return memberBulkIngestRepository.ingest(rows, stateless);
+        }
+    }
+
+    /**
+     * member 전체를 고정 길이 column 파일로 export (MemberSnapshotExporter) -> 같은 서버의 job 은 파일을 MemberSnapshotReader 로 mmap
+     */
+    @PostMapping("/v1/members/snapshot")
+    public SnapshotExportResponseDto exportSnapshotV1() {
+        return memberSnapshotExporter.export();
+    }
+
+    /**
+     * 마지막 snapshot 파일 download (Range 요청 지원) -> 아직 없으면 404
+     */
+    @GetMapping("/v1/members/snapshot")
+    public ResponseEntity<Resource> downloadSnapshotV1() {
+        FileSystemResource snapshot = new FileSystemResource(memberSnapshotExporter.latest());
+        if (!snapshot.exists()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + snapshot.getFilename() + "\"")
+                .body(snapshot);
+    }
+
     @GetMapping("/v2/members")
     public Page<MemberTeamResponseDto> searchMembersV2(MemberSearchConditionDto conditionDto, Pageable pageable) {
         return memberRepository.searchPageSimple(conditionDto, pageable);
     }
 
     @GetMapping("/v3/members")
-    public Page<MemberTeamResponseDto> searchMembersV3(MemberSearchConditionDto conditionDto, Pageable pageable) {
+    public Page<MemberTeamResponseDto> searchMembersV3(MemberSearchConditionDto conditionDto, Pageable pageable, WebRequest webRequest) {
+        MemberDataVersion.Snapshot snapshot = memberDataVersion.snapshot();
+        if (webRequest.checkNotModified(snapshot.etag("v3", conditionDto.normalize(), pageable))) {
+            return null;
+        }
         return memberRepository.searchPageComplex(conditionDto, pageable);
     }
+
+    @GetMapping("/v3/members/count-cache")
+    public CacheStatsResponseDto countCacheStats() {
+        return new CacheStatsResponseDto(memberCountCache.getHitCount(), memberCountCache.getMissCount(), memberCountCache.size());
+    }
+
+    /**
+     * keyset pagination -> ?size=20&sort=age,desc&cursor={이전 응답의 nextCursor}
+     * - 잘못된 cursor, 지원하지 않는 정렬, 이전 요청과 다른 정렬 -> 400
+     */
+    @GetMapping("/v4/members")
+    public CursorResponseDto<MemberTeamResponseDto> searchMembersV4(MemberSearchConditionDto conditionDto,
+                                                                    @RequestParam(required = false) String cursor,
+                                                                    Pageable pageable) {
+        try {
+            return memberRepository.searchSliceByCursor(conditionDto, cursor, pageable);
+        } catch (InvalidCursorException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
 }
@@ -0,0 +1,80 @@
+package com.example.querydsl.ui.controller;
+
+import com.example.querydsl.ui.dto.response.MemberTeamResponseDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/** MemberExportFormat
+ * - export 결과를 한 row 씩 response 에 바로 씀 (전체 결과를 모아서 serialize 하지 않음)
+ * - NDJSON: row 마다 JSON object 한 줄
+ * - CSV: header + row (RFC 4180 quoting)
+ */
+public enum MemberExportFormat {
+
+    NDJSON("application/x-ndjson") {
+        @Override
+        void writeHeader(Writer writer) {
+        }
+
+        @Override
+        void writeRow(Writer writer, ObjectMapper objectMapper, MemberTeamResponseDto dto) throws IOException {
+            writer.write(objectMapper.writeValueAsString(dto));  // writeValue(writer, ..) 는 writer 를 닫아버림
+            writer.write('\n');
+        }
+    },
+
+    CSV("text/csv") {
+        @Override
+        void writeHeader(Writer writer) throws IOException {
+            writer.write("memberId,username,age,teamId,teamName\n");
+        }
+
+        @Override
+        void writeRow(Writer writer, ObjectMapper objectMapper, MemberTeamResponseDto dto) throws IOException {
+            writer.write(String.valueOf(dto.getMemberId()));
+            writer.write(',');
+            writer.write(quote(dto.getUsername()));
+            writer.write(',');
+            writer.write(Integer.toString(dto.getAge()));
+            writer.write(',');
+            writer.write(dto.getTeamId() != null ? dto.getTeamId().toString() : "");
+            writer.write(',');
+            writer.write(quote(dto.getTeamName()));
+            writer.write('\n');
+        }
+    };
+
+    private final String contentType;
+
+    MemberExportFormat(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    abstract void writeHeader(Writer writer) throws IOException;
+
+    abstract void writeRow(Writer writer, ObjectMapper objectMapper, MemberTeamResponseDto dto) throws IOException;
+
+    public static MemberExportFormat from(String format) {
+        try {
+            return valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported export format: " + format, e);
+        }
+    }
+
+    private static String quote(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
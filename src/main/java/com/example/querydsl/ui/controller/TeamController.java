@@ -0,0 +1,24 @@
+package com.example.querydsl.ui.controller;
+
+import com.example.querydsl.infrastructure.persistence.database.repository.TeamStatisticsStore;
+import com.example.querydsl.ui.dto.response.TeamStatisticsResponseDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+public class TeamController {
+
+    private final TeamStatisticsStore teamStatisticsStore;
+
+    /**
+     * team 별 member 수, age 합/평균/최소/최대, age 분포 -> member 를 scan 하지 않고 메모리에서 응답
+     */
+    @GetMapping("/v1/teams/statistics")
+    public List<TeamStatisticsResponseDto> teamStatistics() {
+        return teamStatisticsStore.getStatistics();
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.querydsl.ui.dto.request;
+
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** MemberIngestDto
+ * - bulk ingest 한 줄 (team 은 이름으로 지정, 없으면 생성)
+ */
+@Data
+@NoArgsConstructor
+public class MemberIngestDto {
+    private String username;
+    private int age;
+    private String teamName;
+
+    @Builder
+    public MemberIngestDto(String username, int age, String teamName) {
+        this.username = username;
+        this.age = age;
+        this.teamName = teamName;
+    }
+}
@@ -1,24 +1,60 @@
 package com.example.querydsl.ui.dto.request;
 
+import com.example.querydsl.common.search.Eq;
+import com.example.querydsl.common.search.Goe;
+import com.example.querydsl.common.search.Loe;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import static org.springframework.util.StringUtils.hasText;
+
 @Data
 @NoArgsConstructor
 //@AllArgsConstructor
 public class MemberSearchConditionDto {
+    @Eq("member.username")
     private String username;
+    @Eq("team.name")
     private String teamName;
+    @Goe("member.age")
     private Integer ageGoe;
+    @Loe("member.age")
     private Integer ageLoe;
+    private String usernamePrefix;    // username like 'x%'  -> username index (B-tree) range scan
+    private String usernameContains;  // username like '%x%' -> MemberUsernameIndex (trigram) 로 후보 id 를 구해서 조회
 
-    @Builder
     public MemberSearchConditionDto(String username, String teamName, Integer ageGoe, Integer ageLoe) {
+        this(username, teamName, ageGoe, ageLoe, null, null);
+    }
+
+    @Builder
+    public MemberSearchConditionDto(String username, String teamName, Integer ageGoe, Integer ageLoe,
+                                    String usernamePrefix, String usernameContains) {
         this.username = username;
         this.teamName = teamName;
         this.ageGoe = ageGoe;
         this.ageLoe = ageLoe;
+        this.usernamePrefix = usernamePrefix;
+        this.usernameContains = usernameContains;
+    }
+
+    /**
+     * 같은 검색 결과를 내는 조건을 같은 값으로 정규화 (count cache key 등)
+     * - 빈 문자열, 공백 문자열 -> null (repository 의 usernameEq 등에서 hasText 로 무시되는 값)
+     */
+    public MemberSearchConditionDto normalize() {
+        return new MemberSearchConditionDto(
+                hasText(username) ? username : null,
+                hasText(teamName) ? teamName : null,
+                ageGoe,
+                ageLoe,
+                hasText(usernamePrefix) ? usernamePrefix : null,
+                hasText(usernameContains) ? usernameContains : null);
+    }
+
+    public boolean hasPartialUsername() {
+        return hasText(usernamePrefix) || hasText(usernameContains);
     }
 }
@@ -0,0 +1,22 @@
+package com.example.querydsl.ui.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkIngestResponseDto {
+
+    private long rows;
+    private long teamsCreated;
+    private long elapsedMillis;
+    private long rowsPerSecond;
+
+    public static BulkIngestResponseDto of(long rows, long teamsCreated, long elapsedNanos) {
+        long elapsedMillis = elapsedNanos / 1_000_000;
+        long rowsPerSecond = elapsedNanos > 0 ? rows * 1_000_000_000L / elapsedNanos : rows;
+        return new BulkIngestResponseDto(rows, teamsCreated, elapsedMillis, rowsPerSecond);
+    }
+}
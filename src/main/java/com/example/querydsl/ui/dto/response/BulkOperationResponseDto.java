@@ -0,0 +1,31 @@
+package com.example.querydsl.ui.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/** BulkOperationResponseDto
+ * - ChunkedBulkOperations 결과 (전체 + chunk 별 진행 상황)
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkOperationResponseDto {
+
+    private long rows;
+    private long elapsedMillis;
+    private List<Chunk> chunks;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Chunk {
+
+        private long fromId;    // inclusive
+        private Long toId;      // exclusive, 마지막 chunk 면 null
+        private long rows;
+        private long elapsedMillis;
+    }
+}
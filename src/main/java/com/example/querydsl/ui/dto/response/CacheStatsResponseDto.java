@@ -0,0 +1,15 @@
+package com.example.querydsl.ui.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CacheStatsResponseDto {
+
+    private long hitCount;
+    private long missCount;
+    private int size;
+}
@@ -0,0 +1,23 @@
+package com.example.querydsl.ui.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/** CursorResponseDto
+ * - keyset pagination 응답
+ * - 다음 페이지는 nextCursor 를 그대로 cursor parameter 로 넘겨서 조회 (마지막 페이지면 null)
+ * - total count 는 제공하지 않음 -> count query 없이 동작하는 것이 keyset 방식의 장점
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorResponseDto<T> {
+
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+}
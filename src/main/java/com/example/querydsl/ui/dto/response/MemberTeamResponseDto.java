@@ -14,4 +14,9 @@ public class MemberTeamResponseDto {
     private int age;
     private Long teamId;
     private String teamName;
+
+    // teamName 은 TeamCache 로 채움 (MemberProjections.MEMBER_TEAM_ID)
+    public MemberTeamResponseDto(Long memberId, String username, int age, Long teamId) {
+        this(memberId, username, age, teamId, null);
+    }
 }
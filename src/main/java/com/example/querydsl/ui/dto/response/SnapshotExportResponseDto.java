@@ -0,0 +1,27 @@
+package com.example.querydsl.ui.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** SnapshotExportResponseDto
+ * - MemberSnapshotExporter 결과 (파일 경로는 서버 기준)
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SnapshotExportResponseDto {
+
+    private String file;
+    private long rows;
+    private int blocks;
+    private long bytes;
+    private long elapsedMillis;
+    private long rowsPerSecond;
+
+    public static SnapshotExportResponseDto of(String file, long rows, int blocks, long bytes, long elapsedNanos) {
+        long elapsedMillis = elapsedNanos / 1_000_000;
+        long rowsPerSecond = elapsedNanos > 0 ? rows * 1_000_000_000L / elapsedNanos : rows;
+        return new SnapshotExportResponseDto(file, rows, blocks, bytes, elapsedMillis, rowsPerSecond);
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.querydsl.ui.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TeamStatisticsResponseDto {
+
+    private Long teamId;            // team 이 없는 member 는 null
+    private String teamName;
+    private long memberCount;
+    private long ageSum;
+    private double ageAvg;
+    private Integer ageMin;
+    private Integer ageMax;
+    private Map<String, Long> ageHistogram;  // "20-29" -> member 수
+}
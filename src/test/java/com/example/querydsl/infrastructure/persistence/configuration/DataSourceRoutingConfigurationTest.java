@@ -0,0 +1,68 @@
+package com.example.querydsl.infrastructure.persistence.configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.env.MockEnvironment;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * primary, replica pool 에 spring.datasource.hikari.* 가 적용되고 metric 등록, 종료 시 close 되는지 확인
+ */
+class DataSourceRoutingConfigurationTest {
+
+    DataSourceRoutingConfiguration configuration = new DataSourceRoutingConfiguration();
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    public void after() {
+        configuration.destroy();
+    }
+
+    @Test
+    public void hikariPropertiesMetricsAndClose() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("spring.datasource.hikari.maximum-pool-size", "7")
+                .withProperty("spring.datasource.hikari.connection-timeout", "2000")
+                .withProperty("querydsl.datasource.routing.replicas[0].url", "jdbc:h2:mem:routing-config-replica;DB_CLOSE_DELAY=-1")
+                .withProperty("querydsl.datasource.routing.replicas[0].username", "sa")
+                .withProperty("querydsl.datasource.routing.replicas[0].hikari.maximum-pool-size", "3");
+        DataSourceProperties primaryProperties = new DataSourceProperties();
+        primaryProperties.setUrl("jdbc:h2:mem:routing-config-primary;DB_CLOSE_DELAY=-1");
+        primaryProperties.setUsername("sa");
+
+        ReplicaRoutingDataSource routing = configuration.replicaRoutingDataSource(primaryProperties, environment,
+                new StaticListableBeanFactory(Map.of("meterRegistry", meterRegistry)).getBeanProvider(MeterRegistry.class),
+                ReplicaRoutingDataSource.Selection.ROUND_ROBIN, 1);
+        routing.afterPropertiesSet();
+
+        Map<Object, DataSource> pools = routing.getResolvedDataSources();
+        HikariDataSource primary = (HikariDataSource) pools.get(ReplicaRoutingDataSource.PRIMARY);
+        HikariDataSource replica = (HikariDataSource) pools.get("replica-0");
+
+        assertThat(primary.getPoolName()).isEqualTo("querydsl-primary");
+        assertThat(primary.getMaximumPoolSize()).isEqualTo(7);
+        assertThat(replica.getPoolName()).isEqualTo("querydsl-replica-0");
+        assertThat(replica.getMaximumPoolSize()).isEqualTo(3);           // replica 별 설정
+        assertThat(replica.getConnectionTimeout()).isEqualTo(2000);      // spring.datasource.hikari.* 공통 설정
+
+        // pool 이 시작되면 hikaricp.* metric 등록
+        new JdbcTemplate(primary).queryForObject("select 1", Integer.class);
+        routing.checkHealth();
+        assertThat(meterRegistry.get("hikaricp.connections.max").tag("pool", "querydsl-primary").gauge().value()).isEqualTo(7);
+        assertThat(meterRegistry.get("hikaricp.connections.max").tag("pool", "querydsl-replica-0").gauge().value()).isEqualTo(3);
+
+        configuration.destroy();
+        assertThat(primary.isClosed()).isTrue();
+        assertThat(replica.isClosed()).isTrue();
+    }
+}
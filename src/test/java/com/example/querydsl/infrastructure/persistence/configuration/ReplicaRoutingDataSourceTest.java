@@ -0,0 +1,100 @@
+package com.example.querydsl.infrastructure.persistence.configuration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * primary, replica 를 각각 별도 H2 in-memory database 로 두고 어느 쪽에서 조회되는지 node table 로 확인
+ */
+class ReplicaRoutingDataSourceTest {
+
+    DataSource primary;
+    DataSource replica1;
+    DataSource replica2;
+
+    @BeforeEach
+    public void before() {
+        primary = node("primary");
+        replica1 = node("replica1");
+        replica2 = node("replica2");
+    }
+
+    @Test
+    public void readOnlyTransactionGoesToReplica() {
+        ReplicaRoutingDataSource routing = routing(List.of(replica1), ReplicaRoutingDataSource.Selection.ROUND_ROBIN);
+
+        assertThat(currentNode(routing, true)).isEqualTo("replica1");
+        assertThat(currentNode(routing, false)).isEqualTo("primary");
+        assertThat(new JdbcTemplate(DataSourceRoutingConfiguration.lazy(routing))
+                .queryForObject("select name from node", String.class)).isEqualTo("primary");  // transaction 없음
+    }
+
+    @Test
+    public void roundRobinAcrossReplicas() {
+        ReplicaRoutingDataSource routing = routing(List.of(replica1, replica2), ReplicaRoutingDataSource.Selection.ROUND_ROBIN);
+
+        assertThat(List.of(currentNode(routing, true), currentNode(routing, true), currentNode(routing, true)))
+                .containsExactly("replica1", "replica2", "replica1");
+    }
+
+    @Test
+    public void leastBusyPicksAHealthyReplica() {
+        ReplicaRoutingDataSource routing = routing(List.of(replica1, replica2), ReplicaRoutingDataSource.Selection.LEAST_BUSY);
+
+        assertThat(currentNode(routing, true)).isIn("replica1", "replica2");
+    }
+
+    @Test
+    public void fallbackToPrimaryWhenReplicaIsDown() {
+        DataSource down = new DriverManagerDataSource("jdbc:h2:tcp://localhost:1/~/routing-down", "sa", "");
+        ReplicaRoutingDataSource routing = routing(List.of(down), ReplicaRoutingDataSource.Selection.ROUND_ROBIN);
+
+        assertThat(currentNode(routing, true)).isEqualTo("primary");  // 획득 실패 -> 제외 후 primary
+        assertThat(routing.getHealthyReplicas()).isEmpty();
+
+        routing.checkHealth();
+        assertThat(routing.getHealthyReplicas()).isEmpty();
+        assertThat(currentNode(routing, true)).isEqualTo("primary");
+    }
+
+    @Test
+    public void healthCheckRestoresReplica() {
+        ReplicaRoutingDataSource routing = routing(List.of(replica1), ReplicaRoutingDataSource.Selection.ROUND_ROBIN);
+        routing.checkHealth();
+
+        assertThat(routing.getHealthyReplicas()).containsExactly("replica-0");
+        assertThat(currentNode(routing, true)).isEqualTo("replica1");
+    }
+
+    private ReplicaRoutingDataSource routing(List<DataSource> replicas, ReplicaRoutingDataSource.Selection selection) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replicas, selection, 1);
+        routing.afterPropertiesSet();
+        return routing;
+    }
+
+    private String currentNode(ReplicaRoutingDataSource routing, boolean readOnly) {
+        DataSource dataSource = DataSourceRoutingConfiguration.lazy(routing);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status ->
+                new JdbcTemplate(dataSource).queryForObject("select name from node", String.class));
+    }
+
+    private static DataSource node(String name) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table if not exists node (name varchar(20))");
+        jdbcTemplate.update("delete from node");
+        jdbcTemplate.update("insert into node values (?)", name);
+        return dataSource;
+    }
+}
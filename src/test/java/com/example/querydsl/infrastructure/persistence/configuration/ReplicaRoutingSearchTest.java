@@ -0,0 +1,96 @@
+package com.example.querydsl.infrastructure.persistence.configuration;
+
+import com.example.querydsl.infrastructure.persistence.database.repository.MemberQueryRepository;
+import com.example.querydsl.infrastructure.persistence.database.repository.MemberQuerydslRepository;
+import com.example.querydsl.infrastructure.persistence.database.repository.MemberRepository;
+import com.example.querydsl.ui.dto.request.MemberSearchConditionDto;
+import com.example.querydsl.ui.dto.response.MemberTeamResponseDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * routing 을 켠 context 에서 검색이 replica 로 가는지 확인
+ * - primary, replica 는 별도 H2 in-memory database -> replica 에만 넣은 row 가 조회되면 replica 에서 조회한 것
+ * - schema 는 Hibernate 가 primary 에 만든 것을 SCRIPT 로 복사 (replication 대신)
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReplicaRoutingSearchTest.PRIMARY_URL,
+        "querydsl.datasource.routing.enabled=true",
+        "querydsl.datasource.routing.replicas[0].url=" + ReplicaRoutingSearchTest.REPLICA_URL,
+        "querydsl.datasource.routing.replicas[0].username=sa"})
+class ReplicaRoutingSearchTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:routing-search-primary;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-search-replica;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    MemberQuerydslRepository memberQuerydslRepository;
+
+    @Autowired
+    MemberQueryRepository memberQueryRepository;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    JdbcTemplate primary = new JdbcTemplate(new DriverManagerDataSource(PRIMARY_URL, "sa", ""));
+    JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    @BeforeEach
+    public void before() {
+        List<String> schema = primary.queryForList("script nodata", String.class);
+        for (String statement : schema) {
+            if (!statement.startsWith("--") && !statement.startsWith("CREATE USER")) {
+                replica.execute(statement);
+            }
+        }
+        replica.update("insert into member (member_id, username, age) values (1, 'replica-member', 30)");
+    }
+
+    @AfterEach
+    public void after() {
+        replica.execute("drop all objects");
+    }
+
+    @Test
+    public void readOnlySearchesGoToReplica() {
+        MemberSearchConditionDto condition = MemberSearchConditionDto.builder().ageGoe(30).build();
+        PageRequest pageable = PageRequest.of(0, 10);
+
+        assertThat(usernames(memberQuerydslRepository.searchByMemberSearchCondition(condition))).containsExactly("replica-member");
+        assertThat(usernames(memberQueryRepository.searchMembers(condition))).containsExactly("replica-member");
+        assertThat(usernames(memberRepository.searchMembers(condition))).containsExactly("replica-member");
+        assertThat(usernames(memberRepository.searchPageSimple(condition, pageable).getContent())).containsExactly("replica-member");
+        assertThat(usernames(memberRepository.searchPageComplex(condition, pageable).getContent())).containsExactly("replica-member");
+        assertThat(usernames(memberRepository.searchSliceByCursor(condition, null, pageable).getContent())).containsExactly("replica-member");
+    }
+
+    @Test
+    public void searchInsideReadWriteTransactionStaysOnPrimary() {
+        MemberSearchConditionDto condition = MemberSearchConditionDto.builder().ageGoe(30).build();
+
+        List<MemberTeamResponseDto> results = new TransactionTemplate(transactionManager)
+                .execute(status -> memberRepository.searchPageComplex(condition, PageRequest.of(0, 10)).getContent());
+
+        assertThat(results).isEmpty();  // 바깥 transaction 에 참여 -> primary (read-your-writes)
+    }
+
+    private static List<String> usernames(List<MemberTeamResponseDto> results) {
+        return results.stream().map(MemberTeamResponseDto::getUsername).collect(Collectors.toList());
+    }
+}
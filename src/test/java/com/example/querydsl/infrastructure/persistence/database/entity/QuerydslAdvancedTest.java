@@ -1,10 +1,12 @@
 package com.example.querydsl.infrastructure.persistence.database.entity;
 
+import com.example.querydsl.infrastructure.persistence.database.repository.support.DtoProjections;
 import com.example.querydsl.ui.dto.response.MemberResponseDto;
 import com.example.querydsl.ui.dto.response.QMemberResponseDto;
 import com.example.querydsl.ui.dto.response.UserResponseDto;
 import com.querydsl.core.Tuple;
 import com.querydsl.core.types.ExpressionUtils;
+import com.querydsl.core.types.FactoryExpression;
 import com.querydsl.core.types.Projections;
 import com.querydsl.core.types.dsl.Expressions;
 import com.querydsl.jpa.JPAExpressions;
@@ -113,6 +115,22 @@ public class QuerydslAdvancedTest {
         results.forEach(System.out::println);
     }
 
+    @Test
+    public void findDtoByCachedConstructor() {
+        // 같은 DTO type, 같은 column 이면 같은 FactoryExpression (생성자는 MethodHandle 로 한 번만 resolve)
+        FactoryExpression<MemberResponseDto> projection = DtoProjections.constructor(MemberResponseDto.class, member.username, member.age);
+        assertThat(DtoProjections.constructor(MemberResponseDto.class, member.username, member.age)).isSameAs(projection);
+
+        List<MemberResponseDto> results = queryFactory
+                .select(projection)
+                .from(member)
+                .orderBy(member.age.asc())
+                .fetch();
+
+        assertThat(results).extracting("username").containsExactly("member1", "member2", "member3", "member4");
+        assertThat(results).extracting("age").containsExactly(21, 22, 23, 24);
+    }
+
     @Test
     public void findUserDtoByQuerydsl_field_as() {
         List<UserResponseDto> results = queryFactory
@@ -1,5 +1,7 @@
 package com.example.querydsl.infrastructure.persistence.database.entity;
 
+import com.example.querydsl.infrastructure.persistence.database.repository.support.ChunkedBulkOperations;
+import com.example.querydsl.ui.dto.response.BulkOperationResponseDto;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import org.assertj.core.api.Assertions;
 import org.hibernate.query.criteria.LiteralHandlingMode;
@@ -7,11 +9,14 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.test.annotation.Commit;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import javax.persistence.EntityManager;
 import javax.transaction.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static com.example.querydsl.infrastructure.persistence.database.entity.QMember.member;
@@ -94,5 +99,43 @@ public class QuerydslBatchTest {
         assertThat(count).isEqualTo(4);
     }
 
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    ApplicationEventPublisher eventPublisher;
+
+    /** Chunked Bulk 연산
+     * - id 범위로 나눠서 chunk 마다 실행, 실행 전 flush / 실행 후 clear 는 ChunkedBulkOperations 가 처리
+     */
+    @Test
+    public void chunkedBulkUpdate() {
+        ChunkedBulkOperations bulkOperations = new ChunkedBulkOperations(em, queryFactory, transactionManager, eventPublisher, 3);
+        LocalDateTime startedAt = LocalDateTime.now();
+
+        BulkOperationResponseDto result = bulkOperations.update(member, member.id, member.age.lt(25),
+                update -> update.set(member.username, "비회원"));
+
+        assertThat(result.getRows()).isEqualTo(4);
+        assertThat(result.getChunks()).extracting("rows").containsExactly(3L, 1L);
 
+        List<Member> results = queryFactory
+                .selectFrom(member)
+                .where(member.age.lt(25))
+                .fetch();
+
+        assertThat(results).extracting("username").containsOnly("비회원");
+        assertThat(results).allSatisfy(m -> assertThat(m.getModifiedDate()).isAfterOrEqualTo(startedAt));
+    }
+
+    @Test
+    public void chunkedBulkDelete() {
+        ChunkedBulkOperations bulkOperations = new ChunkedBulkOperations(em, queryFactory, transactionManager, eventPublisher, 3);
+
+        BulkOperationResponseDto result = bulkOperations.delete(member, member.id, member.age.goe(25));
+
+        assertThat(result.getRows()).isEqualTo(4);
+        assertThat(result.getChunks()).hasSize(2);
+        assertThat(queryFactory.selectFrom(member).fetch()).extracting("age").containsExactlyInAnyOrder(21, 22, 23, 24);
+    }
 }
@@ -0,0 +1,163 @@
+package com.example.querydsl.infrastructure.persistence.database.repository;
+
+import com.example.querydsl.infrastructure.persistence.database.entity.Member;
+import com.example.querydsl.infrastructure.persistence.database.entity.Team;
+import com.example.querydsl.infrastructure.persistence.database.event.EntityChangedEvent;
+import com.example.querydsl.infrastructure.persistence.database.event.EntityChangedEvent.ChangeType;
+import com.example.querydsl.ui.dto.request.MemberIngestDto;
+import com.example.querydsl.ui.dto.response.BulkIngestResponseDto;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.example.querydsl.infrastructure.persistence.database.entity.QMember.member;
+import static com.example.querydsl.infrastructure.persistence.database.entity.QTeam.team;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * ingest 는 chunk 마다 commit -> @Transactional 없음 (별도 in-memory DB)
+ * - chunk-size 2 -> 3건이면 chunk 2개
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:bulk-ingest;DB_CLOSE_DELAY=-1",
+        "querydsl.member.ingest.chunk-size=2"})
+@RecordApplicationEvents
+class MemberBulkIngestRepositoryTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    JPAQueryFactory queryFactory;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    MemberBulkIngestRepository ingestRepository;
+
+    @Autowired
+    MemberDataVersion dataVersion;
+
+    @Autowired
+    ApplicationEvents events;
+
+    @BeforeEach
+    public void before() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                em.persist(Team.builder().name("teamA").build()));  // 이미 있는 team -> 새로 만들지 않음
+        events.clear();
+    }
+
+    @AfterEach
+    public void after() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            em.createQuery("delete from Member").executeUpdate();
+            em.createQuery("delete from Team").executeUpdate();
+        });
+    }
+
+    @Test
+    public void batchedIngest() {
+        BulkIngestResponseDto result = ingestRepository.ingest(rows(), false);
+
+        assertThat(result.getRows()).isEqualTo(3);
+        assertThat(result.getTeamsCreated()).isEqualTo(1);
+        assertIngested();
+
+        // 영속성 컨텍스트를 거침 -> auditing, row 별 event
+        assertThat(members()).allSatisfy(m -> assertThat(m.getCreatedDate()).isNotNull());
+        assertThat(changes(Member.class, ChangeType.INSERTED)).isEqualTo(3);
+        assertThat(changes(Member.class, ChangeType.BULK)).isZero();
+    }
+
+    @Test
+    public void statelessIngest() {
+        BulkIngestResponseDto result = ingestRepository.ingest(rows(), true);
+
+        assertThat(result.getRows()).isEqualTo(3);
+        assertThat(result.getTeamsCreated()).isEqualTo(1);
+        assertIngested();
+
+        // StatelessSession -> auditing 없음, row 별 event 대신 끝날 때 BULK
+        assertThat(members()).allSatisfy(m -> assertThat(m.getCreatedDate()).isNull());
+        assertThat(changes(Member.class, ChangeType.INSERTED)).isZero();
+        assertThat(changes(Member.class, ChangeType.BULK)).isEqualTo(1);
+        assertThat(changes(Team.class, ChangeType.BULK)).isEqualTo(1);  // 새 team 이 있음
+    }
+
+    @Test
+    public void statelessIngestPublishesCommittedChunksOnFailure() {
+        Iterator<MemberIngestDto> failing = Stream.of("member0", "member1", "member2", null)
+                .map(username -> {
+                    if (username == null) {
+                        throw new IllegalStateException("bad row");  // 두 번째 chunk 중간에 실패
+                    }
+                    return MemberIngestDto.builder().username(username).age(20).build();
+                })
+                .iterator();
+
+        assertThatThrownBy(() -> ingestRepository.ingest(failing, true)).isInstanceOf(IllegalStateException.class);
+
+        assertThat(members()).extracting("username").containsExactlyInAnyOrder("member0", "member1");  // 첫 chunk 만 commit
+        assertThat(changes(Member.class, ChangeType.BULK)).isEqualTo(1);
+        assertThat(changes(Team.class, ChangeType.BULK)).isZero();
+    }
+
+    @Test
+    public void statelessIngestBumpsDataVersion() {
+        MemberDataVersion.Snapshot before = dataVersion.snapshot();
+
+        ingestRepository.ingest(rows(), true);
+
+        // row 별 event 없음 -> 끝날 때 Member, Team BULK 하나씩
+        MemberDataVersion.Snapshot after = dataVersion.snapshot();
+        assertThat(after.getVersion()).isEqualTo(before.getVersion() + 2);
+        assertThat(after.etag("v1")).isNotEqualTo(before.etag("v1"));
+    }
+
+    private Stream<MemberIngestDto> rows() {
+        return Stream.of(
+                MemberIngestDto.builder().username("ingested1").age(20).teamName("teamA").build(),
+                MemberIngestDto.builder().username("ingested2").age(21).teamName("teamB").build(),
+                MemberIngestDto.builder().username("ingested3").age(22).build());
+    }
+
+    private void assertIngested() {
+        assertThat(queryFactory
+                .select(member.username, member.age, team.name)
+                .from(member)
+                .leftJoin(member.team, team)
+                .fetch())
+                .extracting(row -> tuple(row.get(member.username), row.get(member.age), row.get(team.name)))
+                .containsExactlyInAnyOrder(
+                        tuple("ingested1", 20, "teamA"),
+                        tuple("ingested2", 21, "teamB"),
+                        tuple("ingested3", 22, null));
+        assertThat(queryFactory.selectFrom(team).fetch()).extracting("name").containsExactlyInAnyOrder("teamA", "teamB");
+    }
+
+    private List<Member> members() {
+        return queryFactory.selectFrom(member).fetch();
+    }
+
+    private long changes(Class<?> entityType, ChangeType changeType) {
+        return events.stream(EntityChangedEvent.class)
+                .filter(event -> event.getChangeType() == changeType && event.isFor(entityType))
+                .count();
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.querydsl.infrastructure.persistence.database.repository;
+
+import com.example.querydsl.infrastructure.persistence.database.entity.Member;
+import com.example.querydsl.infrastructure.persistence.database.entity.Team;
+import com.example.querydsl.infrastructure.persistence.database.event.EntityChangedEvent;
+import com.example.querydsl.infrastructure.persistence.database.event.EntityChangedEvent.ChangeType;
+import com.example.querydsl.ui.dto.request.MemberSearchConditionDto;
+import com.example.querydsl.ui.dto.response.MemberTeamResponseDto;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.persistence.EntityManager;
+import javax.transaction.Transactional;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+@Transactional
+class MemberColumnarIndexTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    JPAQueryFactory queryFactory;
+
+    @Autowired
+    TeamCache teamCache;
+
+    @Autowired
+    MemberSearchQueryShapes queryShapes;
+
+    MemberColumnarIndex columnarIndex;
+
+    Team teamA;
+    Team teamB;
+
+    @BeforeEach
+    public void before() {
+        teamA = Team.builder().name("teamA").build();
+        teamB = Team.builder().name("teamB").build();
+        em.persist(teamA);
+        em.persist(teamB);
+
+        for (int i = 0; i < 10; i++) {
+            em.persist(Member.builder().username("member" + i).age(20 + i).team(i % 2 == 0 ? teamA : teamB).build());
+        }
+        em.persist(Member.builder().username("member10").age(30).build());
+        em.flush();
+        em.clear();
+
+        columnarIndex = new MemberColumnarIndex(true, 3, queryFactory, teamCache);  // batch 경계 확인용으로 작은 batch
+        columnarIndex.rebuild();
+    }
+
+    @Test
+    public void sameResultsAsQuerydsl() {
+        List<MemberSearchConditionDto> conditions = List.of(
+                MemberSearchConditionDto.builder().build(),
+                MemberSearchConditionDto.builder().teamName("teamA").ageGoe(22).ageLoe(27).build(),
+                MemberSearchConditionDto.builder().teamName("teamB").username("member3").build(),
+                MemberSearchConditionDto.builder().username("member10").build(),
+                MemberSearchConditionDto.builder().teamName("teamC").build(),
+                MemberSearchConditionDto.builder().username("nobody").build(),
+                MemberSearchConditionDto.builder().usernamePrefix("member1").build(),
+                MemberSearchConditionDto.builder().usernameContains("ber1").teamName("teamB").build()
+        );
+
+        assertThat(columnarIndex.size()).isEqualTo(11);
+        for (MemberSearchConditionDto condition : conditions) {
+            List<MemberTeamResponseDto> fromIndex = columnarIndex.search(condition).orElseThrow();
+            assertThat(fromIndex).containsExactlyInAnyOrderElementsOf(queryShapes.search(condition));
+        }
+    }
+
+    @Test
+    public void applyChangeEvents() {
+        Member member0 = em.createQuery("select m from Member m where m.username = 'member0'", Member.class).getSingleResult();
+        member0.setAge(99);
+        member0.setTeam(teamB);
+        columnarIndex.onEntityChanged(new EntityChangedEvent(Member.class, member0.getId(), ChangeType.UPDATED, member0, Collections.emptyMap()));
+
+        Member member1 = em.createQuery("select m from Member m where m.username = 'member1'", Member.class).getSingleResult();
+        columnarIndex.onEntityChanged(new EntityChangedEvent(Member.class, member1.getId(), ChangeType.DELETED, member1, Collections.emptyMap()));
+
+        List<MemberTeamResponseDto> results = columnarIndex.search(
+                MemberSearchConditionDto.builder().teamName("teamB").ageGoe(21).build()).orElseThrow();
+
+        assertThat(results)
+                .extracting("username", "age", "teamName")
+                .containsExactlyInAnyOrder(
+                        tuple("member0", 99, "teamB"),
+                        tuple("member3", 23, "teamB"),
+                        tuple("member5", 25, "teamB"),
+                        tuple("member7", 27, "teamB"),
+                        tuple("member9", 29, "teamB"));
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.querydsl.infrastructure.persistence.database.repository;
+
+import com.example.querydsl.infrastructure.persistence.database.entity.Member;
+import com.example.querydsl.infrastructure.persistence.database.entity.Team;
+import com.example.querydsl.infrastructure.persistence.database.event.EntityChangedEvent;
+import com.example.querydsl.infrastructure.persistence.database.event.EntityChangedEvent.ChangeType;
+import com.example.querydsl.ui.dto.request.MemberSearchConditionDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MemberCountCacheTest {
+
+    AtomicLong countQueries = new AtomicLong();
+
+    @Test
+    public void hitAndMissCounts() {
+        MemberCountCache cache = new MemberCountCache(true, Duration.ofMinutes(1), 10);
+
+        assertThat(cache.get(condition("teamA"), this::countQuery)).isEqualTo(1);
+        assertThat(cache.get(condition("teamA"), this::countQuery)).isEqualTo(1);  // cache
+        assertThat(cache.get(MemberSearchConditionDto.builder().username(" ").teamName("teamA").build(), this::countQuery)).isEqualTo(1);  // 정규화하면 같은 조건
+        assertThat(cache.get(condition("teamB"), this::countQuery)).isEqualTo(2);
+
+        assertThat(countQueries.get()).isEqualTo(2);
+        assertThat(cache.getHitCount()).isEqualTo(2);
+        assertThat(cache.getMissCount()).isEqualTo(2);
+        assertThat(cache.getIfPresent(condition("teamB"))).hasValue(2);
+        assertThat(cache.getIfPresent(condition("teamC"))).isEmpty();
+        assertThat(cache.getHitCount()).isEqualTo(3);  // getIfPresent 는 hit 일 때만 셈
+        assertThat(cache.getMissCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void bindMetrics() {
+        MemberCountCache cache = new MemberCountCache(true, Duration.ofMinutes(1), 10);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+
+        cache.get(condition("teamA"), this::countQuery);
+        cache.get(condition("teamA"), this::countQuery);
+
+        assertThat(registry.get("querydsl.count-cache.requests").tag("result", "hit").functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("querydsl.count-cache.requests").tag("result", "miss").functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("querydsl.count-cache.size").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    public void ttlExpiry() {
+        MemberCountCache cache = new MemberCountCache(true, Duration.ZERO, 10);  // 저장하자마자 만료
+
+        cache.get(condition("teamA"), this::countQuery);
+        cache.get(condition("teamA"), this::countQuery);
+
+        assertThat(countQueries.get()).isEqualTo(2);
+        assertThat(cache.getHitCount()).isZero();
+        assertThat(cache.getIfPresent(condition("teamA"))).isEmpty();
+    }
+
+    @Test
+    public void leastRecentlyUsedIsEvicted() {
+        MemberCountCache cache = new MemberCountCache(true, Duration.ofMinutes(1), 2);
+
+        cache.get(condition("teamA"), this::countQuery);
+        cache.get(condition("teamB"), this::countQuery);
+        cache.get(condition("teamA"), this::countQuery);  // teamA 사용 -> teamB 가 가장 오래 사용하지 않은 조건
+        cache.get(condition("teamC"), this::countQuery);
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.getIfPresent(condition("teamA"))).isPresent();
+        assertThat(cache.getIfPresent(condition("teamB"))).isEmpty();
+        assertThat(cache.getIfPresent(condition("teamC"))).isPresent();
+    }
+
+    @Test
+    public void memberAndTeamChangesInvalidate() {
+        MemberCountCache cache = new MemberCountCache(true, Duration.ofMinutes(1), 10);
+
+        cache.get(condition("teamA"), this::countQuery);
+        cache.onEntityChanged(new EntityChangedEvent(String.class, 1L, ChangeType.UPDATED, "", Collections.emptyMap()));
+        assertThat(cache.size()).isEqualTo(1);  // 관계없는 entity
+
+        cache.onEntityChanged(new EntityChangedEvent(Member.class, 1L, ChangeType.INSERTED, null, Collections.emptyMap()));
+        assertThat(cache.size()).isZero();
+
+        cache.get(condition("teamA"), this::countQuery);
+        cache.onEntityChanged(EntityChangedEvent.bulk(Team.class));
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    public void resultLoadedBeforeInvalidationIsNotStored() {
+        MemberCountCache cache = new MemberCountCache(true, Duration.ofMinutes(1), 10);
+
+        // count query 실행 중에 변경이 commit 됨 -> 이전 결과를 저장하지 않음
+        long count = cache.get(condition("teamA"), () -> {
+            cache.invalidateAll();
+            return countQuery();
+        });
+
+        assertThat(count).isEqualTo(1);
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    public void disabledAlwaysQueries() {
+        MemberCountCache cache = new MemberCountCache(false, Duration.ofMinutes(1), 10);
+
+        cache.get(condition("teamA"), this::countQuery);
+        cache.get(condition("teamA"), this::countQuery);
+
+        assertThat(countQueries.get()).isEqualTo(2);
+        assertThat(cache.getIfPresent(condition("teamA"))).isEmpty();
+        assertThat(cache.size()).isZero();
+    }
+
+    private long countQuery() {
+        return countQueries.incrementAndGet();
+    }
+
+    private static MemberSearchConditionDto condition(String teamName) {
+        return MemberSearchConditionDto.builder().teamName(teamName).build();
+    }
+}
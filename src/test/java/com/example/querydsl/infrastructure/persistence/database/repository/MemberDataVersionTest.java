@@ -0,0 +1,59 @@
+package com.example.querydsl.infrastructure.persistence.database.repository;
+
+import com.example.querydsl.infrastructure.persistence.database.entity.Member;
+import com.example.querydsl.infrastructure.persistence.database.event.EntityChangedEvent;
+import com.example.querydsl.infrastructure.persistence.database.event.EntityChangedEvent.ChangeType;
+import com.example.querydsl.ui.dto.request.MemberSearchConditionDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Duration;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MemberDataVersionTest {
+
+    MemberDataVersion dataVersion = new MemberDataVersion(Duration.ofMinutes(1));
+
+    @Test
+    public void sameConditionSameEtag() {
+        MemberSearchConditionDto condition = MemberSearchConditionDto.builder().teamName("teamA").ageGoe(20).build();
+        MemberSearchConditionDto blankUsername = MemberSearchConditionDto.builder().username(" ").teamName("teamA").ageGoe(20).build();
+
+        MemberDataVersion.Snapshot snapshot = dataVersion.snapshot();
+
+        assertThat(snapshot.etag("v3", condition.normalize(), PageRequest.of(0, 20)))
+                .isEqualTo(dataVersion.snapshot().etag("v3", blankUsername.normalize(), PageRequest.of(0, 20)))
+                .isNotEqualTo(snapshot.etag("v3", condition.normalize(), PageRequest.of(1, 20)))
+                .startsWith("\"").endsWith("\"");
+    }
+
+    @Test
+    public void changeEventInvalidatesEtag() {
+        MemberSearchConditionDto condition = MemberSearchConditionDto.builder().teamName("teamA").build();
+        MemberDataVersion.Snapshot before = dataVersion.snapshot();
+
+        dataVersion.onEntityChanged(new EntityChangedEvent(String.class, 1L, ChangeType.UPDATED, "", Collections.emptyMap()));
+        assertThat(dataVersion.snapshot().etag("v1", condition)).isEqualTo(before.etag("v1", condition));  // 관계없는 entity
+
+        dataVersion.onEntityChanged(EntityChangedEvent.bulk(Member.class));
+        MemberDataVersion.Snapshot after = dataVersion.snapshot();
+
+        assertThat(after.getVersion()).isEqualTo(before.getVersion() + 1);
+        assertThat(after.etag("v1", condition)).isNotEqualTo(before.etag("v1", condition));
+    }
+
+    @Test
+    public void etagExpiresAfterTtlWithoutEvents() throws InterruptedException {
+        MemberDataVersion shortLived = new MemberDataVersion(Duration.ofMillis(1));
+        MemberSearchConditionDto condition = MemberSearchConditionDto.builder().teamName("teamA").build();
+        MemberDataVersion.Snapshot before = shortLived.snapshot();
+
+        Thread.sleep(5);  // 다른 서버에서 변경되어도 event 는 오지 않음
+        MemberDataVersion.Snapshot after = shortLived.snapshot();
+
+        assertThat(after.getVersion()).isEqualTo(before.getVersion());
+        assertThat(after.etag("v1", condition)).isNotEqualTo(before.etag("v1", condition));
+    }
+}
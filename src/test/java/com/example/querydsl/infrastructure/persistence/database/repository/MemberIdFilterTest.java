@@ -0,0 +1,89 @@
+package com.example.querydsl.infrastructure.persistence.database.repository;
+
+import com.example.querydsl.infrastructure.persistence.database.entity.Member;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * MemberIdFilter 를 켠 existsAll (Bloom filter 경로)
+ * - filter 는 commit, rebuild 시점에 따라 달라짐 -> @Transactional 없음 (별도 in-memory DB)
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:member-id-filter;DB_CLOSE_DELAY=-1",
+        "querydsl.member.id-filter.enabled=true"})
+class MemberIdFilterTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    MemberQuerydslRepository memberQuerydslRepository;
+
+    @Autowired
+    MemberIdFilter memberIdFilter;
+
+    @AfterEach
+    public void after() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                em.createQuery("delete from Member").executeUpdate());
+    }
+
+    @Test
+    public void existsAllWithFilter() {
+        Member member1 = Member.builder().username("member1").age(21).build();
+        Member member2 = Member.builder().username("member2").age(22).build();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            memberQuerydslRepository.save(member1);
+            memberQuerydslRepository.save(member2);
+        });
+
+        // insert 시 filter 에 추가됨
+        assertThat(memberIdFilter.mightExist(member1.getId())).isTrue();
+        assertThat(memberIdFilter.mightExist(member2.getId())).isTrue();
+        assertThat(memberQuerydslRepository.existsAll(List.of(member1.getId(), -1L, member2.getId(), Long.MAX_VALUE)))
+                .containsExactlyInAnyOrder(member1.getId(), member2.getId());
+
+        memberIdFilter.rebuild();
+        assertThat(memberQuerydslRepository.existsAll(List.of(member1.getId(), -1L, member2.getId(), Long.MAX_VALUE)))
+                .containsExactlyInAnyOrder(member1.getId(), member2.getId());
+    }
+
+    @Test
+    public void unflushedInsertIsFound() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Member member = Member.builder().username("member1").age(21).build();
+            memberQuerydslRepository.save(member);  // flush 전 -> filter 에 아직 없음
+
+            assertThat(memberQuerydslRepository.existsAll(List.of(member.getId()))).containsExactly(member.getId());
+        });
+    }
+
+    @Test
+    public void pendingIdsSurviveRebuild() {
+        // flush 됐지만 commit 되지 않은 id -> rebuild 의 scan 에는 보이지 않아도 새 filter 에 있어야 함
+        List<Long> pendingIds = LongStream.rangeClosed(1_000_001, 1_000_100).boxed().collect(Collectors.toList());
+        pendingIds.forEach(memberIdFilter::put);
+
+        memberIdFilter.rebuild();
+        assertThat(pendingIds).allMatch(memberIdFilter::mightExist);
+
+        // transaction 이 끝난 id 는 다음 rebuild 에서 빠짐 (false positive 만큼만 남음)
+        memberIdFilter.completed(pendingIds);
+        memberIdFilter.rebuild();
+        assertThat(pendingIds.stream().filter(memberIdFilter::mightExist).count()).isLessThan(10);
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.querydsl.infrastructure.persistence.database.repository;
+
+import com.example.querydsl.infrastructure.persistence.database.entity.Member;
+import com.example.querydsl.infrastructure.persistence.database.entity.Team;
+import com.example.querydsl.ui.dto.request.MemberSearchConditionDto;
+import com.example.querydsl.ui.dto.response.MemberTeamResponseDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.persistence.EntityManager;
+import javax.transaction.Transactional;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+@Transactional
+class MemberNativeSearchRepositoryTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    MemberNativeSearchRepository nativeSearchRepository;
+
+    @Autowired
+    MemberSearchQueryShapes queryShapes;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void before() {
+        Team teamA = Team.builder().name("teamA").build();
+        Team teamB = Team.builder().name("teamB").build();
+        em.persist(teamA);
+        em.persist(teamB);
+
+        for (int i = 0; i < 10; i++) {
+            em.persist(Member.builder().username("member" + i).age(20 + i).team(i % 2 == 0 ? teamA : teamB).build());
+        }
+        em.persist(Member.builder().username("member10").age(30).build());
+        em.flush();  // native 경로는 flush 하지 않음
+        em.clear();
+    }
+
+    @Test
+    public void searchOverJdbc() {
+        List<MemberTeamResponseDto> results = nativeSearchRepository.search(
+                MemberSearchConditionDto.builder().teamName("teamA").ageGoe(22).ageLoe(26).build());
+
+        assertThat(results)
+                .extracting("username", "age", "teamName")
+                .containsExactlyInAnyOrder(
+                        tuple("member2", 22, "teamA"),
+                        tuple("member4", 24, "teamA"),
+                        tuple("member6", 26, "teamA"));
+    }
+
+    @Test
+    public void searchIsRecordedInQueryMetrics() {
+        long before = queries("MemberNativeSearchRepository.search#fetch");
+
+        nativeSearchRepository.search(MemberSearchConditionDto.builder().teamName("teamB").build());
+
+        assertThat(queries("MemberNativeSearchRepository.search#fetch")).isEqualTo(before + 1);
+    }
+
+    @Test
+    public void sameResultsAsJpaPath() {
+        List<MemberSearchConditionDto> conditions = List.of(
+                MemberSearchConditionDto.builder().build(),
+                MemberSearchConditionDto.builder().teamName("teamB").username("member3").build(),
+                MemberSearchConditionDto.builder().username("member10").build(),
+                MemberSearchConditionDto.builder().teamName("teamC").build(),
+                MemberSearchConditionDto.builder().usernamePrefix("member1").ageLoe(25).build(),
+                MemberSearchConditionDto.builder().usernameContains("ber1").build()
+        );
+
+        for (MemberSearchConditionDto condition : conditions) {
+            assertThat(nativeSearchRepository.search(condition))
+                    .as(condition.toString())
+                    .containsExactlyInAnyOrderElementsOf(queryShapes.search(condition));
+        }
+    }
+
+    private long queries(String name) {
+        Timer timer = meterRegistry.find("querydsl.query").tag("query", name).tag("outcome", "success").timer();
+        return timer != null ? timer.count() : 0;
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.querydsl.infrastructure.persistence.database.repository;
+
+import com.example.querydsl.infrastructure.persistence.database.entity.Member;
+import com.example.querydsl.ui.dto.request.MemberSearchConditionDto;
+import com.example.querydsl.ui.dto.response.MemberTeamResponseDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * searchPageComplex 의 병렬 count (ParallelQueryExecutor)
+ * - count query 는 다른 transaction 에서 실행되므로 데이터를 commit 해야 함 -> @Transactional 없음 (별도 in-memory DB)
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:parallel-count;DB_CLOSE_DELAY=-1",
+        "querydsl.parallel-query.enabled=true",
+        "querydsl.member.count-cache.enabled=true"})
+class MemberPageParallelCountTest {
+
+    static final String COUNT_QUERY = "MemberCustomRepositoryImpl.searchPageComplex#count";
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    MemberCountCache countCache;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    MemberSearchConditionDto conditionDto = MemberSearchConditionDto.builder().build();
+
+    @BeforeEach
+    public void before() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            for (int i = 0; i < 10; i++) {
+                em.persist(Member.builder().username("member" + i).age(20 + i).build());
+            }
+        });
+        countCache.invalidateAll();
+    }
+
+    @AfterEach
+    public void after() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                em.createQuery("delete from Member").executeUpdate());
+    }
+
+    @Test
+    public void firstPageWithoutFullContentSkipsCount() {
+        long countQueries = countQueries();
+
+        Page<MemberTeamResponseDto> page = memberRepository.searchPageComplex(conditionDto, PageRequest.of(0, 20));
+
+        assertThat(page.getContent()).hasSize(10);
+        assertThat(page.getTotalElements()).isEqualTo(10);
+        assertThat(countQueries()).isEqualTo(countQueries);  // content 만으로 total 을 알 수 있음
+    }
+
+    @Test
+    public void offsetPageCountsOnAnotherConnection() {
+        long countQueries = countQueries();
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> {
+            em.persist(Member.builder().username("uncommitted").age(30).build());
+            em.flush();
+
+            Page<MemberTeamResponseDto> page = memberRepository.searchPageComplex(conditionDto, PageRequest.of(1, 3));
+
+            // content 는 이 transaction 의 insert 를 보지만 병렬 count 는 다른 connection -> commit 된 10건만 셈
+            assertThat(page.getContent()).hasSize(3);
+            assertThat(page.getTotalElements()).isEqualTo(10);
+            status.setRollbackOnly();
+        });
+        assertThat(countQueries()).isEqualTo(countQueries + 1);
+    }
+
+    @Test
+    public void cachedCountIsNotSubmitted() {
+        memberRepository.searchPageComplex(conditionDto, PageRequest.of(1, 3));
+        long countQueries = countQueries();
+        long hits = countCache.getHitCount();
+
+        Page<MemberTeamResponseDto> page = memberRepository.searchPageComplex(conditionDto, PageRequest.of(2, 3));
+
+        assertThat(page.getTotalElements()).isEqualTo(10);
+        assertThat(countQueries()).isEqualTo(countQueries);
+        assertThat(countCache.getHitCount()).isEqualTo(hits + 1);
+    }
+
+    private long countQueries() {
+        Timer timer = meterRegistry.find("querydsl.query").tag("query", COUNT_QUERY).tag("outcome", "success").timer();
+        return timer != null ? timer.count() : 0;
+    }
+}
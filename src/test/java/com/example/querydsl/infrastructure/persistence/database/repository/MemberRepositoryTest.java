@@ -1,16 +1,27 @@
 package com.example.querydsl.infrastructure.persistence.database.repository;
 
 import com.example.querydsl.infrastructure.persistence.database.entity.Member;
+import com.example.querydsl.infrastructure.persistence.database.entity.Team;
+import com.example.querydsl.ui.dto.request.MemberSearchConditionDto;
+import com.example.querydsl.ui.dto.response.CursorResponseDto;
+import com.example.querydsl.ui.dto.response.MemberTeamResponseDto;
+import org.assertj.core.groups.Tuple;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 
 import javax.persistence.EntityManager;
 import javax.transaction.Transactional;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 @SpringBootTest
 @Transactional
@@ -28,6 +39,9 @@ class MemberRepositoryTest {
     @Autowired
     MemberRepository memberRepository;
 
+    @Autowired
+    MemberQueryRepository memberQueryRepository;
+
     @Test
     public void jpaRepositoryTest() {
         Member member = Member.builder().username("member1").age(21).build();
@@ -73,6 +87,17 @@ class MemberRepositoryTest {
         assertThat(memberQuerydslRepository.exist(2L)).isFalse();
     }
 
+    @Test
+    public void existsAllTest() {
+        Member member1 = Member.builder().username("member1").age(21).build();
+        Member member2 = Member.builder().username("member2").age(22).build();
+        memberQuerydslRepository.save(member1);
+        memberQuerydslRepository.save(member2);
+
+        assertThat(memberQuerydslRepository.existsAll(List.of(member1.getId(), -1L, member2.getId(), Long.MAX_VALUE)))
+                .containsExactlyInAnyOrder(member1.getId(), member2.getId());
+    }
+
     @Test
     public void repositoryInterfaceTest() {
         Member member = Member.builder().username("member1").age(21).build();
@@ -91,4 +116,126 @@ class MemberRepositoryTest {
         assertThat(findMembersByUsername).containsExactly(member);
     }
 
-}
\ No newline at end of file
+    @Test
+    public void searchSliceByCursorTest() {
+        for (int i = 0; i < 5; i++) {
+            memberRepository.save(Member.builder().username("member" + i).age(20 + i % 3).build());
+        }
+
+        MemberSearchConditionDto conditionDto = MemberSearchConditionDto.builder().ageGoe(20).build();
+        PageRequest pageRequest = PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "age"));
+
+        List<MemberTeamResponseDto> visited = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorResponseDto<MemberTeamResponseDto> slice = memberRepository.searchSliceByCursor(conditionDto, cursor, pageRequest);
+            visited.addAll(slice.getContent());
+            cursor = slice.getNextCursor();
+        } while (cursor != null);
+
+        // age desc, 같은 age 는 id desc
+        assertThat(visited)
+                .extracting("username")
+                .containsExactly("member2", "member4", "member1", "member3", "member0");
+    }
+
+    /**
+     * username, age 조건이 JPA 경로(PredicateCompiler + QMember)의 모든 검색에서 실제로 적용되는지
+     */
+    @Test
+    public void searchWithUsernameAndAgeTest() {
+        Team teamA = Team.builder().name("teamA").build();
+        em.persist(teamA);
+        for (int i = 0; i < 6; i++) {
+            memberRepository.save(Member.builder().username(i % 2 == 0 ? "even" : "odd").age(20 + i).team(teamA).build());
+        }
+        em.flush();
+        em.clear();
+
+        MemberSearchConditionDto conditionDto = MemberSearchConditionDto.builder().username("even").ageGoe(21).ageLoe(25).build();
+        List<Tuple> expected = List.of(tuple("even", 22), tuple("even", 24));
+
+        assertThat(memberQueryRepository.searchMembers(conditionDto))
+                .extracting("username", "age").containsExactlyInAnyOrderElementsOf(expected);
+        assertThat(memberRepository.searchPageSimple(conditionDto, PageRequest.of(0, 10)).getContent())
+                .extracting("username", "age").containsExactlyInAnyOrderElementsOf(expected);
+        assertThat(memberRepository.searchPageComplex(conditionDto, PageRequest.of(0, 10)).getContent())
+                .extracting("username", "age").containsExactlyInAnyOrderElementsOf(expected);
+        assertThat(memberRepository.searchSliceByCursor(conditionDto, null, PageRequest.of(0, 10)).getContent())
+                .extracting("username", "age").containsExactlyInAnyOrderElementsOf(expected);
+
+        List<MemberTeamResponseDto> streamed = new ArrayList<>();
+        memberQuerydslRepository.streamByMemberSearchCondition(conditionDto, streamed::add);
+        assertThat(streamed).extracting("username", "age").containsExactlyInAnyOrderElementsOf(expected);
+
+        // usernameContains -> MemberSearchQueryShapes 의 Querydsl 경로
+        MemberSearchConditionDto partial = MemberSearchConditionDto.builder().usernameContains("ve").ageGoe(21).ageLoe(25).build();
+        assertThat(memberQuerydslRepository.searchByMemberSearchCondition(partial))
+                .extracting("username", "age").containsExactlyInAnyOrderElementsOf(expected);
+
+        // usernamePrefix, usernameContains 는 모든 검색 경로에서 같은 조건
+        for (MemberSearchConditionDto username : List.of(partial,
+                MemberSearchConditionDto.builder().usernamePrefix("ev").ageGoe(21).ageLoe(25).build())) {
+            assertThat(memberQueryRepository.searchMembers(username))
+                    .extracting("username", "age").containsExactlyInAnyOrderElementsOf(expected);
+            assertThat(memberRepository.searchPageSimple(username, PageRequest.of(0, 10)).getContent())
+                    .extracting("username", "age").containsExactlyInAnyOrderElementsOf(expected);
+            assertThat(memberRepository.searchPageComplex(username, PageRequest.of(0, 10)).getContent())
+                    .extracting("username", "age").containsExactlyInAnyOrderElementsOf(expected);
+            assertThat(memberRepository.searchSliceByCursor(username, null, PageRequest.of(0, 10)).getContent())
+                    .extracting("username", "age").containsExactlyInAnyOrderElementsOf(expected);
+        }
+    }
+
+    @Test
+    public void searchByTeamNameWithTeamCacheTest() {
+        Team teamA = Team.builder().name("teamA").build();
+        Team teamB = Team.builder().name("teamB").build();
+        em.persist(teamA);
+        em.persist(teamB);
+        memberRepository.save(Member.builder().username("member1").age(21).team(teamA).build());
+        memberRepository.save(Member.builder().username("member2").age(22).team(teamB).build());
+        memberRepository.save(Member.builder().username("member3").age(23).build());
+
+        MemberSearchConditionDto conditionDto = MemberSearchConditionDto.builder().teamName("teamB").build();
+        Page<MemberTeamResponseDto> page = memberRepository.searchPageComplex(conditionDto, PageRequest.of(0, 10));
+
+        assertThat(page.getContent())
+                .extracting("username", "teamId", "teamName")
+                .containsExactly(tuple("member2", teamB.getId(), "teamB"));
+
+        // 같은 transaction 에서 바꾼 team name 도 반영
+        teamB.setName("teamC");
+        em.flush();
+
+        assertThat(memberRepository.searchMembers(MemberSearchConditionDto.builder().teamName("teamC").build()))
+                .extracting("username", "teamName")
+                .containsExactly(tuple("member2", "teamC"));
+        assertThat(memberRepository.searchMembers(MemberSearchConditionDto.builder().teamName("teamB").build())).isEmpty();
+    }
+
+    @Test
+    public void findAllByIdsTest() {
+        Team teamA = Team.builder().name("teamA").build();
+        em.persist(teamA);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Member member = Member.builder().username("member" + i).age(20 + i).team(teamA).build();
+            memberQuerydslRepository.save(member);
+            ids.add(member.getId());
+        }
+        em.flush();
+        em.clear();
+
+        List<Long> requested = List.of(ids.get(3), -1L, ids.get(0), ids.get(3));
+
+        Map<Long, Member> members = memberJpaRepository.findAllByIds(requested);
+        Map<Long, MemberTeamResponseDto> dtos = memberQuerydslRepository.findDtosByIds(requested);
+
+        assertThat(members.keySet()).containsExactly(ids.get(3), ids.get(0));
+        assertThat(memberQuerydslRepository.findAllByIds(requested).keySet()).containsExactly(ids.get(3), ids.get(0));
+        assertThat(dtos.values())
+                .extracting("username", "teamName")
+                .containsExactly(tuple("member3", "teamA"), tuple("member0", "teamA"));
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.querydsl.infrastructure.persistence.database.repository;
+
+import com.example.querydsl.infrastructure.persistence.database.entity.Member;
+import com.example.querydsl.infrastructure.persistence.database.entity.Team;
+import com.example.querydsl.infrastructure.persistence.database.repository.support.PredicateCompiler;
+import com.example.querydsl.ui.dto.request.MemberSearchConditionDto;
+import com.example.querydsl.ui.dto.response.MemberTeamResponseDto;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.assertj.core.groups.Tuple;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.persistence.EntityManager;
+import javax.transaction.Transactional;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.stream.Collectors;
+
+import static com.example.querydsl.infrastructure.persistence.database.entity.QMember.member;
+import static com.example.querydsl.infrastructure.persistence.database.entity.QTeam.team;
+import static com.example.querydsl.infrastructure.persistence.database.repository.MemberProjections.MEMBER_TEAM;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * 미리 직렬화한 16개 shape 의 JPQL 이 Querydsl 로 직접 만든 query(team join) 와 같은 결과를 내는지 확인
+ */
+@SpringBootTest
+@Transactional
+class MemberSearchQueryShapesTest {
+
+    private static final PredicateCompiler<MemberSearchConditionDto> MEMBER_TEAM_CONDITION = PredicateCompiler.of(MemberSearchConditionDto.class, member, team);
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    JPAQueryFactory queryFactory;
+
+    @Autowired
+    MemberSearchQueryShapes queryShapes;
+
+    @BeforeEach
+    public void before() {
+        Team teamA = Team.builder().name("teamA").build();
+        Team teamB = Team.builder().name("teamB").build();
+        em.persist(teamA);
+        em.persist(teamB);
+
+        em.persist(Member.builder().username("member1").age(10).team(teamA).build());
+        em.persist(Member.builder().username("member2").age(20).team(teamA).build());
+        em.persist(Member.builder().username("member2").age(30).team(teamB).build());
+        em.persist(Member.builder().username("member3").age(40).team(teamB).build());
+        em.persist(Member.builder().username("member2").age(25).build());
+
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    public void everyShapeMatchesQuerydsl() {
+        for (int shape = 0; shape < 16; shape++) {
+            MemberSearchConditionDto condition = MemberSearchConditionDto.builder()
+                    .username((shape & 1) != 0 ? "member2" : null)
+                    .teamName((shape & 1 << 1) != 0 ? "teamA" : null)
+                    .ageGoe((shape & 1 << 2) != 0 ? 15 : null)
+                    .ageLoe((shape & 1 << 3) != 0 ? 35 : null)
+                    .build();
+            long hits = queryShapes.getHitCounts().get(shapeName(shape));
+
+            List<MemberTeamResponseDto> expected = queryFactory
+                    .select(MEMBER_TEAM)
+                    .from(member)
+                    .leftJoin(member.team, team)
+                    .where(MEMBER_TEAM_CONDITION.predicates(condition))
+                    .fetch();
+
+            assertThat(tuples(queryShapes.search(condition)))
+                    .as("shape %s", shapeName(shape))
+                    .containsExactlyInAnyOrderElementsOf(tuples(expected));
+            assertThat(queryShapes.getHitCounts().get(shapeName(shape))).isEqualTo(hits + 1);
+        }
+    }
+
+    @Test
+    public void unknownTeamIsNotCounted() {
+        Map<String, Long> hits = queryShapes.getHitCounts();
+
+        assertThat(queryShapes.search(MemberSearchConditionDto.builder().teamName("none").build())).isEmpty();
+        assertThat(queryShapes.getHitCounts()).isEqualTo(hits);  // query 없이 반환
+    }
+
+    private List<Tuple> tuples(List<MemberTeamResponseDto> results) {
+        return results.stream()
+                .map(dto -> tuple(dto.getMemberId(), dto.getUsername(), dto.getAge(), dto.getTeamId(), dto.getTeamName()))
+                .collect(Collectors.toList());
+    }
+
+    private String shapeName(int shape) {
+        String[] names = {"username", "teamName", "ageGoe", "ageLoe"};
+        StringJoiner name = new StringJoiner("+");
+        for (int bit = 0; bit < names.length; bit++) {
+            if ((shape & (1 << bit)) != 0) {
+                name.add(names[bit]);
+            }
+        }
+        return shape == 0 ? "none" : name.toString();
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.querydsl.infrastructure.persistence.database.repository;
+
+import com.example.querydsl.infrastructure.persistence.database.entity.Member;
+import com.example.querydsl.infrastructure.persistence.database.entity.Team;
+import com.example.querydsl.infrastructure.persistence.database.repository.support.MemberSnapshotReader;
+import com.example.querydsl.ui.dto.request.MemberSearchConditionDto;
+import com.example.querydsl.ui.dto.response.MemberTeamResponseDto;
+import com.example.querydsl.ui.dto.response.SnapshotExportResponseDto;
+import com.querydsl.sql.SQLQueryFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.persistence.EntityManager;
+import javax.transaction.Transactional;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class MemberSnapshotExporterTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    SQLQueryFactory sqlQueryFactory;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    MemberQuerydslRepository memberQuerydslRepository;
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    public void before() {
+        Team teamA = Team.builder().name("teamA").build();
+        Team teamB = Team.builder().name("teamB").build();
+        em.persist(teamA);
+        em.persist(teamB);
+
+        for (int i = 0; i < 10; i++) {
+            em.persist(Member.builder().username("member" + i).age(20 + i).team(i % 2 == 0 ? teamA : teamB).build());
+        }
+        em.persist(Member.builder().username("member10").age(30).build());
+        em.flush();  // querydsl-sql 로 읽으므로 flush 필요
+        em.clear();
+    }
+
+    @Test
+    public void exportAndReadBack() throws IOException {
+        MemberSnapshotExporter exporter = new MemberSnapshotExporter(sqlQueryFactory, transactionManager, directory.toString(), 3);
+
+        SnapshotExportResponseDto result = exporter.export();
+
+        assertThat(result.getRows()).isEqualTo(11);
+        assertThat(result.getBlocks()).isEqualTo(4);  // 3 + 3 + 3 + 2
+        assertThat(result.getBytes()).isEqualTo(Files.size(exporter.latest()));
+
+        List<MemberTeamResponseDto> rows = new ArrayList<>();
+        try (MemberSnapshotReader reader = MemberSnapshotReader.open(exporter.latest())) {
+            reader.forEach(rows::add);
+        }
+
+        assertThat(rows).extracting(MemberTeamResponseDto::getMemberId).isSorted();
+        assertThat(rows)
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyInAnyOrderElementsOf(memberQuerydslRepository.searchByMemberSearchCondition(
+                        new MemberSearchConditionDto()));
+    }
+}
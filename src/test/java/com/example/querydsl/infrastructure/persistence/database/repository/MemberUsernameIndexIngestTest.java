@@ -0,0 +1,81 @@
+package com.example.querydsl.infrastructure.persistence.database.repository;
+
+import com.example.querydsl.ui.dto.request.MemberIngestDto;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.example.querydsl.infrastructure.persistence.database.entity.QMember.member;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * StatelessSession ingest 는 row 별 event 가 없음 -> 끝날 때 BULK event 로 index 를 다시 적재
+ * - ingest 가 실제로 commit 되어야 하므로 @Transactional 없음 (별도 in-memory DB)
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:username-index-ingest;DB_CLOSE_DELAY=-1",
+        "querydsl.member.username-index.enabled=true",
+        "querydsl.member.username-index.authoritative=true"})
+class MemberUsernameIndexIngestTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    JPAQueryFactory queryFactory;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    MemberBulkIngestRepository ingestRepository;
+
+    @Autowired
+    MemberUsernameIndex usernameIndex;
+
+    @AfterEach
+    public void after() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            em.createQuery("delete from Member").executeUpdate();
+            em.createQuery("delete from Team").executeUpdate();
+        });
+    }
+
+    @Test
+    public void statelessIngestIsVisibleToContainsSearch() throws InterruptedException {
+        usernameIndex.rebuild();
+        assertThat(usernameIndex.candidates("ested")).hasValue(List.of());  // 빈 index -> 후보 없음
+
+        ingestRepository.ingest(Stream.of(
+                MemberIngestDto.builder().username("ingested1").age(20).teamName("teamA").build(),
+                MemberIngestDto.builder().username("ingested2").age(21).build(),
+                MemberIngestDto.builder().username("other").age(22).build()), true);
+
+        // BULK -> 다시 적재가 끝날 때까지 like 로 조회 (예전 index 의 빈 후보 목록을 쓰지 않음)
+        assertThat(searchContains("ested")).containsExactlyInAnyOrder("ingested1", "ingested2");
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (usernameIndex.size() < 3 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(usernameIndex.size()).isEqualTo(3);
+        assertThat(usernameIndex.candidates("ested").orElseThrow()).hasSize(2);
+        assertThat(searchContains("ested")).containsExactlyInAnyOrder("ingested1", "ingested2");
+    }
+
+    private List<String> searchContains(String contains) {
+        return queryFactory
+                .select(member.username)
+                .from(member)
+                .where(usernameIndex.usernameMatches(null, contains))
+                .fetch();
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.querydsl.infrastructure.persistence.database.repository;
+
+import com.example.querydsl.infrastructure.persistence.database.entity.Member;
+import com.example.querydsl.infrastructure.persistence.database.event.EntityChangedEvent;
+import com.example.querydsl.infrastructure.persistence.database.event.EntityChangedEvent.ChangeType;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.persistence.EntityManager;
+import javax.transaction.Transactional;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static com.example.querydsl.infrastructure.persistence.database.entity.QMember.member;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class MemberUsernameIndexTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    JPAQueryFactory queryFactory;
+
+    MemberUsernameIndex usernameIndex;
+
+    @BeforeEach
+    public void before() {
+        for (int i = 0; i <= 10; i++) {
+            em.persist(Member.builder().username("member" + i).age(20 + i).build());
+        }
+        em.persist(Member.builder().username("kim_%").age(40).build());
+        em.flush();
+        em.clear();
+
+        usernameIndex = new MemberUsernameIndex(true, true, 3, 5, queryFactory);  // batch 경계 확인용으로 작은 batch
+        usernameIndex.rebuild();
+    }
+
+    @Test
+    public void candidatesContainAllTrigrams() {
+        assertThat(usernameIndex.size()).isEqualTo(12);
+        assertThat(usernameIndex.candidates("ber1").orElseThrow()).containsExactly(idOf("member1"), idOf("member10"));
+        assertThat(usernameIndex.candidates("xyz").orElseThrow()).isEmpty();
+
+        assertThat(usernameIndex.candidates("be")).isEmpty();   // 3글자 미만 -> like
+        assertThat(usernameIndex.candidates("mem")).isEmpty();  // 후보가 max-candidates 초과 -> like
+    }
+
+    /**
+     * 쓰기 transaction 안 -> commit 전 insert 는 index 에 없으므로 후보로 좁히지 않음 (IN 경로는 MemberUsernameIndexIngestTest)
+     */
+    @Test
+    public void sameResultsAsLike() {
+        for (String contains : List.of("ber1", "er10", "ember", "xyz", "_%", "m_%")) {
+            List<String> fromIndex = queryFactory
+                    .select(member.username)
+                    .from(member)
+                    .where(usernameIndex.usernameMatches(null, contains))
+                    .fetch();
+            List<String> fromLike = queryFactory
+                    .select(member.username)
+                    .from(member)
+                    .where(member.username.contains(contains))
+                    .fetch();
+            assertThat(fromIndex).as(contains).containsExactlyInAnyOrderElementsOf(fromLike);
+        }
+
+        assertThat(queryFactory.select(member.username).from(member)
+                .where(usernameIndex.usernameMatches("mem", "r1"))
+                .fetch()).containsExactlyInAnyOrder("member1", "member10");
+    }
+
+    @Test
+    public void uncommittedInsertIsNotDropped() {
+        em.persist(Member.builder().username("newber1").age(30).build());
+        em.flush();
+
+        assertThat(usernameIndex.candidates("ber1").orElseThrow()).doesNotContain(idOf("newber1"));  // event 는 commit 후
+        assertThat(usernameIndex.usernameMatches(null, "ber1")).isEqualTo(member.username.contains("ber1"));
+        assertThat(queryFactory.select(member.username).from(member)
+                .where(usernameIndex.usernameMatches(null, "ber1"))
+                .fetch()).containsExactlyInAnyOrder("member1", "member10", "newber1");
+    }
+
+    @Test
+    public void applyChangeEvents() {
+        Member member2 = em.createQuery("select m from Member m where m.username = 'member2'", Member.class).getSingleResult();
+        member2.setUsername("renamed");
+        usernameIndex.onEntityChanged(new EntityChangedEvent(Member.class, member2.getId(), ChangeType.UPDATED, member2, Collections.emptyMap()));
+
+        Member member10 = em.createQuery("select m from Member m where m.username = 'member10'", Member.class).getSingleResult();
+        usernameIndex.onEntityChanged(new EntityChangedEvent(Member.class, member10.getId(), ChangeType.DELETED, member10, Collections.emptyMap()));
+
+        assertThat(usernameIndex.candidates("ber2").orElseThrow()).isEmpty();
+        assertThat(usernameIndex.candidates("name").orElseThrow()).containsExactly(member2.getId());
+        assertThat(usernameIndex.candidates("ber1").orElseThrow()).containsExactly(idOf("member1"));
+        assertThat(usernameIndex.size()).isEqualTo(11);
+    }
+
+    @Test
+    public void disabledIndexFallsBackToLike() {
+        MemberUsernameIndex disabled = new MemberUsernameIndex(false, true, 3, 5, queryFactory);
+
+        assertThat(disabled.candidates("ber1")).isEqualTo(Optional.empty());
+        assertThat(disabled.usernameMatches(null, "ber1")).isEqualTo(member.username.contains("ber1"));
+        assertThat(disabled.usernameMatches(null, null)).isNull();
+
+        // authoritative 가 아니면 적재하지 않음 -> 다른 서버, JPQL/SQL 변경이 빠진 후보로 결과를 좁히지 않음
+        MemberUsernameIndex notAuthoritative = new MemberUsernameIndex(true, false, 3, 5, queryFactory);
+        notAuthoritative.rebuild();
+        assertThat(notAuthoritative.candidates("ber1")).isEqualTo(Optional.empty());
+        assertThat(notAuthoritative.usernameMatches(null, "ber1")).isEqualTo(member.username.contains("ber1"));
+    }
+
+    private Long idOf(String username) {
+        return queryFactory.select(member.id).from(member).where(member.username.eq(username)).fetchOne();
+    }
+}
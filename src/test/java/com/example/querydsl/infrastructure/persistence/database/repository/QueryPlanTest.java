@@ -0,0 +1,188 @@
+package com.example.querydsl.infrastructure.persistence.database.repository;
+
+import com.example.querydsl.infrastructure.persistence.database.entity.Member;
+import com.example.querydsl.infrastructure.persistence.database.entity.Team;
+import com.example.querydsl.ui.dto.request.MemberIngestDto;
+import com.example.querydsl.ui.dto.request.MemberSearchConditionDto;
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.SimpleJdbcEventListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import javax.persistence.EntityManager;
+import javax.transaction.Transactional;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** QueryPlanTest
+ * - 자주 실행되는 repository method 가 실행한 select 를 p6spy 로 (값이 채워진 SQL 로) 잡아서 embedded H2 의 EXPLAIN 으로 확인
+ * - plan 에 tableScan 이 있으면 실패 -> index 가 빠지거나 query 모양이 바뀌어서 full scan 으로 떨어진 것
+ *
+ * [ 제외 ]
+ * - 조건 없는 검색, TeamCache 전체 적재처럼 원래 전체를 읽는 query
+ * - member left join team + team.name 조건 (outer join 이라 member 부터 읽음) -> TeamCache 로 team id 를 구해서 조회하는 이유
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:query-plan;DB_CLOSE_DELAY=-1")
+@Transactional
+class QueryPlanTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    SqlCapture sqlCapture;
+
+    @Autowired
+    MemberQuerydslRepository memberQuerydslRepository;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    MemberSearchQueryShapes queryShapes;
+
+    @Autowired
+    MemberBulkIngestRepository bulkIngestRepository;
+
+    @Autowired
+    TeamCache teamCache;
+
+    List<Long> memberIds = new ArrayList<>();
+
+    @BeforeEach
+    public void before() {
+        List<Team> teams = Stream.of("teamA", "teamB", "teamC")
+                .map(name -> Team.builder().name(name).build())
+                .collect(Collectors.toList());
+        teams.forEach(em::persist);
+
+        for (int i = 0; i < 30; i++) {
+            Member member = Member.builder().username("member" + i).age(20 + i).team(teams.get(i % 3)).build();
+            em.persist(member);
+            memberIds.add(member.getId());
+        }
+        em.flush();
+        em.clear();
+        teamCache.findIdsByName("teamA");  // cache 적재 query 는 확인 대상이 아님
+    }
+
+    @Test
+    public void findByUsernameUsesUsernameIndex() {
+        assertNoTableScan(() -> memberQuerydslRepository.findByUsername("member1"), "IDX_MEMBER_USERNAME");
+    }
+
+    @Test
+    public void teamAndAgeSearchUsesCompositeIndex() {
+        assertNoTableScan(() -> queryShapes.search(MemberSearchConditionDto.builder().teamName("teamA").ageGoe(25).build()),
+                "IDX_MEMBER_TEAM_AGE");
+    }
+
+    @Test
+    public void ageRangePageUsesAgeIndex() {
+        assertNoTableScan(() -> memberRepository.searchPageComplex(
+                        MemberSearchConditionDto.builder().ageGoe(25).ageLoe(40).build(), PageRequest.of(0, 3)),
+                "IDX_MEMBER_AGE");
+    }
+
+    @Test
+    public void usernamePrefixUsesUsernameIndex() {
+        assertNoTableScan(() -> queryShapes.search(MemberSearchConditionDto.builder().usernamePrefix("member1").build()),
+                "IDX_MEMBER_USERNAME");
+    }
+
+    @Test
+    public void cursorPageByTeamUsesIndex() {
+        assertNoTableScan(() -> memberRepository.searchSliceByCursor(
+                MemberSearchConditionDto.builder().teamName("teamB").build(), null, PageRequest.of(0, 5, Sort.by("id"))));
+    }
+
+    @Test
+    public void findAllByIdsUsesPrimaryKey() {
+        assertNoTableScan(() -> memberQuerydslRepository.findAllByIds(memberIds.subList(0, 10)));
+    }
+
+    @Test
+    public void ingestTeamLookupUsesTeamNameIndex() {
+        assertNoTableScan(() -> bulkIngestRepository.ingest(Stream.of(new MemberIngestDto("new", 20, "teamC")), false),
+                "IDX_TEAM_NAME");
+    }
+
+    /**
+     * @param expectedIndexes 실행한 select 중 어느 하나의 plan 에는 있어야 하는 index
+     */
+    private void assertNoTableScan(Runnable repositoryCall, String... expectedIndexes) {
+        sqlCapture.start();
+        try {
+            repositoryCall.run();
+        } finally {
+            sqlCapture.stop();
+        }
+
+        List<String> selects = sqlCapture.getStatements().stream()
+                .filter(sql -> sql.trim().toLowerCase(Locale.ROOT).startsWith("select"))
+                .filter(sql -> !sql.toLowerCase(Locale.ROOT).contains("next value for"))
+                .collect(Collectors.toList());
+        assertThat(selects).as("captured select statements").isNotEmpty();
+
+        List<String> plans = new ArrayList<>();
+        for (String sql : selects) {
+            String plan = String.valueOf(em.createNativeQuery("EXPLAIN " + sql).getSingleResult());
+            assertThat(plan).as("plan of %s", sql).doesNotContainIgnoringCase("tableScan");
+            plans.add(plan.toUpperCase(Locale.ROOT));
+        }
+        for (String index : expectedIndexes) {
+            assertThat(plans).as("plans using %s", index).anyMatch(plan -> plan.contains(index));
+        }
+    }
+
+    /**
+     * p6spy 가 감싼 DataSource 에서 실행된 SQL (parameter 값이 채워진 형태) 을 기록
+     */
+    static class SqlCapture extends SimpleJdbcEventListener {
+
+        private final List<String> statements = Collections.synchronizedList(new ArrayList<>());
+        private volatile boolean capturing;
+
+        void start() {
+            statements.clear();
+            capturing = true;
+        }
+
+        void stop() {
+            capturing = false;
+        }
+
+        List<String> getStatements() {
+            return new ArrayList<>(statements);
+        }
+
+        @Override
+        public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+            if (capturing && e == null) {
+                statements.add(statementInformation.getSqlWithValues());
+            }
+        }
+    }
+
+    @TestConfiguration
+    static class SqlCaptureConfiguration {
+
+        @Bean
+        SqlCapture sqlCapture() {
+            return new SqlCapture();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.querydsl.infrastructure.persistence.database.repository;
+
+import com.example.querydsl.infrastructure.persistence.database.entity.Team;
+import com.example.querydsl.ui.dto.request.MemberIngestDto;
+import com.querydsl.sql.SQLQueryFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.stream.Stream;
+
+import static com.example.querydsl.infrastructure.persistence.database.sql.STeam.team;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * snapshot 은 commit 된 team 만 담음 -> @Transactional 없음 (별도 in-memory DB)
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:team-cache;DB_CLOSE_DELAY=-1")
+class TeamCacheTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    SQLQueryFactory sqlQueryFactory;
+
+    @Autowired
+    MemberBulkIngestRepository ingestRepository;
+
+    @Autowired
+    TeamCache teamCache;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    Team teamA;
+
+    @BeforeEach
+    public void before() {
+        teamA = Team.builder().name("teamA").build();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> em.persist(teamA));
+        teamCache.findIdsByName("teamA");  // snapshot 적재
+    }
+
+    @AfterEach
+    public void after() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            em.createQuery("delete from Member").executeUpdate();
+            em.createQuery("delete from Team").executeUpdate();
+        });
+        teamCache.invalidate();
+    }
+
+    @Test
+    public void missDoesNotReloadSnapshot() {
+        long loads = queries("TeamCache.load#fetch");
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(teamCache.findIdsByName("none")).isEmpty();
+            assertThat(teamCache.findNameById(-1L)).isNull();
+        }
+
+        assertThat(teamCache.findIdsByName("teamA")).containsExactly(teamA.getId());
+        assertThat(queries("TeamCache.load#fetch")).isEqualTo(loads);
+        assertThat(queries("TeamCache.findIdsByName#miss")).isGreaterThanOrEqualTo(3);
+    }
+
+    @Test
+    public void teamWithoutEventIsFoundAndReloaded() {
+        // SQL 로 직접 insert -> Hibernate event 없음
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> sqlQueryFactory
+                .insert(team)
+                .set(team.id, 1_000_000L)
+                .set(team.name, "teamB")
+                .execute());
+        long loads = queries("TeamCache.load#fetch");
+
+        assertThat(teamCache.findIdsByName("teamB")).containsExactly(1_000_000L);  // 그 row 만 조회
+        assertThat(teamCache.findNameById(1_000_000L)).isEqualTo("teamB");         // 무효화 -> 전체를 한 번 다시 읽음
+        assertThat(queries("TeamCache.load#fetch")).isEqualTo(loads + 1);
+    }
+
+    @Test
+    public void statelessIngestInvalidatesByBulkEvent() {
+        ingestRepository.ingest(Stream.of(MemberIngestDto.builder().username("member1").age(20).teamName("teamC").build()), true);
+        long loads = queries("TeamCache.load#fetch");
+        long misses = queries("TeamCache.findIdsByName#miss");
+
+        assertThat(teamCache.findIdsByName("teamC")).hasSize(1);
+        assertThat(queries("TeamCache.load#fetch")).isEqualTo(loads + 1);  // Team BULK 로 snapshot 이 무효화됨
+        assertThat(queries("TeamCache.findIdsByName#miss")).isEqualTo(misses);
+    }
+
+    private long queries(String name) {
+        Timer timer = meterRegistry.find("querydsl.query").tag("query", name).tag("outcome", "success").timer();
+        return timer != null ? timer.count() : 0;
+    }
+}
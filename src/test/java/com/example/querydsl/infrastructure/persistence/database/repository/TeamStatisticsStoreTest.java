@@ -0,0 +1,115 @@
+package com.example.querydsl.infrastructure.persistence.database.repository;
+
+import com.example.querydsl.infrastructure.persistence.database.entity.Member;
+import com.example.querydsl.infrastructure.persistence.database.entity.Team;
+import com.example.querydsl.infrastructure.persistence.database.event.EntityChangedEvent;
+import com.example.querydsl.infrastructure.persistence.database.event.EntityChangedEvent.ChangeType;
+import com.example.querydsl.ui.dto.response.TeamStatisticsResponseDto;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.persistence.EntityManager;
+import javax.transaction.Transactional;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class TeamStatisticsStoreTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    JPAQueryFactory queryFactory;
+
+    @Autowired
+    TeamCache teamCache;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    TeamStatisticsStore statisticsStore;
+
+    Team teamA;
+    Team teamB;
+    Member member1;
+
+    @BeforeEach
+    public void before() {
+        teamA = Team.builder().name("teamA").build();
+        teamB = Team.builder().name("teamB").build();
+        em.persist(teamA);
+        em.persist(teamB);
+
+        member1 = Member.builder().username("member1").age(21).team(teamA).build();
+        em.persist(member1);
+        em.persist(Member.builder().username("member2").age(22).team(teamA).build());
+        em.persist(Member.builder().username("member3").age(33).team(teamB).build());
+        em.persist(Member.builder().username("member4").age(34).team(teamB).build());
+        em.flush();
+
+        statisticsStore = new TeamStatisticsStore(true, queryFactory, teamCache, transactionManager);
+        statisticsStore.reconcile();
+    }
+
+    @Test
+    public void statisticsPerTeam() {
+        TeamStatisticsResponseDto teamAStatistics = find(teamA);
+
+        assertThat(teamAStatistics.getTeamName()).isEqualTo("teamA");
+        assertThat(teamAStatistics.getMemberCount()).isEqualTo(2);
+        assertThat(teamAStatistics.getAgeAvg()).isEqualTo(21.5);
+        assertThat(teamAStatistics.getAgeMin()).isEqualTo(21);
+        assertThat(teamAStatistics.getAgeMax()).isEqualTo(22);
+        assertThat(teamAStatistics.getAgeHistogram()).containsExactly(Map.entry("20-29", 2L));
+    }
+
+    @Test
+    public void changeTeamIncrementally() {
+        member1.changeTeam(teamB);
+        member1.setAge(41);
+        em.flush();
+        statisticsStore.onEntityChanged(new EntityChangedEvent(Member.class, member1.getId(), ChangeType.UPDATED, member1,
+                Map.of("team", teamA, "age", 21)));
+
+        TeamStatisticsResponseDto teamAStatistics = find(teamA);
+        TeamStatisticsResponseDto teamBStatistics = find(teamB);
+
+        assertThat(teamAStatistics.getMemberCount()).isEqualTo(1);
+        assertThat(teamAStatistics.getAgeMin()).isEqualTo(22);
+        assertThat(teamBStatistics.getMemberCount()).isEqualTo(3);
+        assertThat(teamBStatistics.getAgeMax()).isEqualTo(41);
+        assertThat(teamBStatistics.getAgeHistogram()).containsExactly(Map.entry("30-39", 2L), Map.entry("40-49", 1L));
+
+        // 증분 갱신 결과가 DB 집계와 같으면 drift 없음
+        assertThat(statisticsStore.reconcile()).isZero();
+    }
+
+    @Test
+    public void reconcileDrift() {
+        // event 없이 DB 만 변경 -> reconcile 이 바로잡음
+        em.persist(Member.builder().username("member5").age(25).team(teamA).build());
+        em.flush();
+
+        assertThat(statisticsStore.reconcile()).isEqualTo(1);
+        assertThat(find(teamA).getMemberCount()).isEqualTo(3);
+
+        statisticsStore.onEntityChanged(new EntityChangedEvent(Member.class, member1.getId(), ChangeType.DELETED, member1,
+                Map.of("team", teamA, "age", 21)));
+        assertThat(find(teamA).getMemberCount()).isEqualTo(2);
+        assertThat(statisticsStore.getStatistics()).noneMatch(statistics -> statistics.getMemberCount() == 0);
+    }
+
+    private TeamStatisticsResponseDto find(Team team) {
+        return statisticsStore.getStatistics().stream()
+                .filter(statistics -> team.getId().equals(statistics.getTeamId()))
+                .findFirst()
+                .orElseThrow();
+    }
+}
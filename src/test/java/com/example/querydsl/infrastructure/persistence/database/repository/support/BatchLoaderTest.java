@@ -0,0 +1,121 @@
+package com.example.querydsl.infrastructure.persistence.database.repository.support;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BatchLoaderTest {
+
+    ScheduledExecutorService executor = Executors.newScheduledThreadPool(2);
+    List<List<Long>> batches = new CopyOnWriteArrayList<>();
+
+    Function<Collection<Long>, Map<Long, String>> batchFunction = ids -> {
+        batches.add(new ArrayList<>(ids));
+        return ids.stream()
+                .filter(id -> id > 0)
+                .collect(Collectors.toMap(id -> id, id -> "member" + id));
+    };
+
+    @AfterEach
+    public void after() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void coalesceWithinWindow() {
+        BatchLoader<Long, String> loader = new BatchLoader<>(batchFunction, Duration.ofMillis(50), 100, executor);
+
+        CompletableFuture<Optional<String>> first = loader.load(1L);
+        CompletableFuture<Optional<String>> duplicate = loader.load(1L);
+        CompletableFuture<Optional<String>> second = loader.load(2L);
+        CompletableFuture<Optional<String>> missing = loader.load(-1L);
+
+        assertThat(first).isSameAs(duplicate);
+        assertThat(first.join()).contains("member1");
+        assertThat(second.join()).contains("member2");
+        assertThat(missing.join()).isEmpty();
+        assertThat(batches).containsExactly(List.of(1L, 2L, -1L));
+    }
+
+    @Test
+    public void dispatchWhenBatchIsFull() {
+        BatchLoader<Long, String> loader = new BatchLoader<>(batchFunction, Duration.ofMinutes(1), 2, executor);
+
+        CompletableFuture<Optional<String>> first = loader.load(1L);
+        CompletableFuture<Optional<String>> second = loader.load(2L);
+
+        assertThat(first.join()).contains("member1");
+        assertThat(second.join()).contains("member2");
+        assertThat(batches).containsExactly(List.of(1L, 2L));
+    }
+
+    @Test
+    public void failAllCallersOfBatch() {
+        BatchLoader<Long, String> loader = new BatchLoader<>(ids -> {
+            throw new IllegalStateException("db down");
+        }, Duration.ofMillis(10), 100, executor);
+
+        CompletableFuture<Optional<String>> first = loader.load(1L);
+        CompletableFuture<Optional<String>> second = loader.load(2L);
+
+        assertThatThrownBy(first::join).hasCauseInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(second::join).hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void failAllCallersOnError() {
+        BatchLoader<Long, String> loader = new BatchLoader<>(ids -> {
+            throw new AssertionError("broken batch");
+        }, Duration.ofMillis(10), 100, executor);
+
+        CompletableFuture<Optional<String>> first = loader.load(1L);
+        CompletableFuture<Optional<String>> second = loader.load(2L);
+
+        assertThatThrownBy(first::join).hasCauseInstanceOf(AssertionError.class);
+        assertThatThrownBy(second::join).hasCauseInstanceOf(AssertionError.class);
+        assertThatThrownBy(() -> loader.get(1L, Duration.ofSeconds(1))).isInstanceOf(AssertionError.class);  // 새 batch 도 같은 Error
+    }
+
+    @Test
+    public void getReturnsValue() {
+        BatchLoader<Long, String> loader = new BatchLoader<>(batchFunction, Duration.ofMillis(10), 100, executor);
+
+        assertThat(loader.get(1L, Duration.ofSeconds(1))).contains("member1");
+        assertThat(loader.get(-1L, Duration.ofSeconds(1))).isEmpty();
+    }
+
+    @Test
+    public void getTimesOut() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        BatchLoader<Long, String> loader = new BatchLoader<>(ids -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return batchFunction.apply(ids);
+        }, Duration.ofMillis(1), 100, executor);
+
+        assertThatThrownBy(() -> loader.get(1L, Duration.ofMillis(50))).isInstanceOf(QueryTimeoutException.class);
+
+        release.countDown();
+        assertThat(loader.get(1L, Duration.ofSeconds(1))).contains("member1");  // timeout 이 batch 를 취소하지 않음
+    }
+}
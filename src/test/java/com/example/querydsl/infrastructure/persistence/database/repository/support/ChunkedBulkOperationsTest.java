@@ -0,0 +1,105 @@
+package com.example.querydsl.infrastructure.persistence.database.repository.support;
+
+import com.example.querydsl.infrastructure.persistence.database.entity.Member;
+import com.example.querydsl.infrastructure.persistence.database.event.EntityChangedEvent;
+import com.example.querydsl.ui.dto.response.BulkOperationResponseDto;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.example.querydsl.infrastructure.persistence.database.entity.QMember.member;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * QuerydslBatchTest 는 @Transactional 안에서 실행 (chunk 가 바깥 transaction 에 참여)
+ * -> 여기서는 transaction 없이 호출해서 chunk 마다 commit 되는지 확인 (별도 in-memory DB)
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:chunked-bulk;DB_CLOSE_DELAY=-1",
+        "querydsl.bulk.chunk-size=3"})
+@RecordApplicationEvents
+class ChunkedBulkOperationsTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    JPAQueryFactory queryFactory;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    ChunkedBulkOperations bulkOperations;
+
+    @Autowired
+    ApplicationEvents events;
+
+    @BeforeEach
+    public void before() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            for (int age = 21; age <= 28; age++) {
+                em.persist(Member.builder().username("member" + age).age(age).build());
+            }
+        });
+        events.clear();
+    }
+
+    @AfterEach
+    public void after() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                em.createQuery("delete from Member").executeUpdate());
+    }
+
+    @Test
+    public void eachChunkCommits() {
+        AtomicInteger calls = new AtomicInteger();
+
+        // 두 번째 chunk 에서 실패 -> 첫 번째 chunk 는 이미 commit 됨
+        assertThatThrownBy(() -> bulkOperations.update(member, member.id, member.age.lt(25), update -> {
+            if (calls.incrementAndGet() == 2) {
+                throw new IllegalStateException("second chunk");
+            }
+            update.set(member.username, "비회원");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(queryFactory.selectFrom(member).where(member.username.eq("비회원")).fetch())
+                .extracting("age").containsExactlyInAnyOrder(21, 22, 23);
+        assertThat(bulkChanged()).isEqualTo(1);  // commit 된 chunk 가 있으므로 발행
+    }
+
+    @Test
+    public void bulkChangedAfterAllChunks() {
+        BulkOperationResponseDto result = bulkOperations.delete(member, member.id, member.age.goe(25));
+
+        assertThat(result.getRows()).isEqualTo(4);
+        assertThat(result.getChunks()).extracting("rows").containsExactly(3L, 1L);
+        assertThat(queryFactory.selectFrom(member).fetch()).extracting("age").containsExactlyInAnyOrder(21, 22, 23, 24);
+        assertThat(bulkChanged()).isEqualTo(1);  // chunk 마다가 아니라 마지막에 한 번
+    }
+
+    @Test
+    public void noRowsNoEvent() {
+        BulkOperationResponseDto result = bulkOperations.delete(member, member.id, member.age.gt(100));
+
+        assertThat(result.getRows()).isZero();
+        assertThat(bulkChanged()).isZero();
+    }
+
+    private long bulkChanged() {
+        return events.stream(EntityChangedEvent.class)
+                .filter(event -> event.getChangeType() == EntityChangedEvent.ChangeType.BULK && event.isFor(Member.class))
+                .count();
+    }
+}
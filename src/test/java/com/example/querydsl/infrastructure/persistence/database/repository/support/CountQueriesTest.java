@@ -0,0 +1,88 @@
+package com.example.querydsl.infrastructure.persistence.database.repository.support;
+
+import com.example.querydsl.infrastructure.persistence.database.entity.Member;
+import com.example.querydsl.infrastructure.persistence.database.entity.Team;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.persistence.EntityManager;
+import javax.transaction.Transactional;
+
+import static com.example.querydsl.infrastructure.persistence.database.entity.QMember.member;
+import static com.example.querydsl.infrastructure.persistence.database.entity.QTeam.team;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class CountQueriesTest {
+
+    @Autowired
+    EntityManager em;
+
+    JPAQueryFactory queryFactory;
+
+    @BeforeEach
+    public void before() {
+        queryFactory = new JPAQueryFactory(em);
+
+        Team teamA = Team.builder().name("teamA").build();
+        Team teamB = Team.builder().name("teamB").build();
+        em.persist(teamA);
+        em.persist(teamB);
+
+        em.persist(Member.builder().username("member1").age(21).team(teamA).build());
+        em.persist(Member.builder().username("member2").age(22).team(teamA).build());
+        em.persist(Member.builder().username("member3").age(23).team(teamB).build());
+        em.persist(Member.builder().username("member4").age(24).build());
+
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    public void dropUnreferencedLeftJoinAndOrderBy() {
+        JPAQuery<Member> contentQuery = queryFactory
+                .selectFrom(member)
+                .leftJoin(member.team, team).fetchJoin()
+                .where(member.age.goe(22))
+                .orderBy(member.age.desc());
+
+        JPAQuery<Long> countQuery = CountQueries.derive(contentQuery, em);
+
+        assertThat(countQuery.toString())
+                .doesNotContain("fetch")
+                .doesNotContain("order by")
+                .doesNotContain("team");
+        assertThat(countQuery.fetchOne()).isEqualTo(3);
+    }
+
+    @Test
+    public void keepReferencedLeftJoin() {
+        JPAQuery<Member> contentQuery = queryFactory
+                .selectFrom(member)
+                .leftJoin(member.team, team).fetchJoin()
+                .where(team.name.eq("teamA"));
+
+        JPAQuery<Long> countQuery = CountQueries.derive(contentQuery, em);
+
+        assertThat(countQuery.toString())
+                .doesNotContain("fetch")
+                .contains("left join");
+        assertThat(countQuery.fetchOne()).isEqualTo(2);
+    }
+
+    @Test
+    public void groupByFallsBackToRowCount() {
+        JPAQuery<String> contentQuery = queryFactory
+                .select(team.name)
+                .from(member)
+                .join(member.team, team)
+                .groupBy(team.name);
+
+        assertThat(CountQueries.count(contentQuery, em).getAsLong()).isEqualTo(2);
+    }
+}
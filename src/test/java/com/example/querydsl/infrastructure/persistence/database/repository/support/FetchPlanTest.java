@@ -0,0 +1,98 @@
+package com.example.querydsl.infrastructure.persistence.database.repository.support;
+
+import com.example.querydsl.infrastructure.persistence.database.entity.Member;
+import com.example.querydsl.infrastructure.persistence.database.entity.Team;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceUnitUtil;
+import javax.transaction.Transactional;
+import java.util.List;
+
+import static com.example.querydsl.infrastructure.persistence.database.entity.QMember.member;
+import static com.example.querydsl.infrastructure.persistence.database.entity.QTeam.team;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Transactional
+class FetchPlanTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    EntityManagerFactory emf;
+
+    JPAQueryFactory queryFactory;
+
+    @BeforeEach
+    public void before() {
+        queryFactory = new JPAQueryFactory(em);
+
+        Team teamA = Team.builder().name("teamA").build();
+        Team teamB = Team.builder().name("teamB").build();
+        Team teamC = Team.builder().name("teamC").build();
+        em.persist(teamA);
+        em.persist(teamB);
+        em.persist(teamC);
+
+        em.persist(Member.builder().username("member1").age(21).team(teamA).build());
+        em.persist(Member.builder().username("member2").age(22).team(teamA).build());
+        em.persist(Member.builder().username("member3").age(23).team(teamA).build());
+        em.persist(Member.builder().username("member4").age(24).team(teamB).build());
+
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    public void fetchToOneWithFetchJoin() {
+        List<Member> results = FetchPlan.of(member)
+                .fetch(member.team)
+                .fetch(queryFactory.selectFrom(member).orderBy(member.id.asc()), em);
+
+        PersistenceUnitUtil util = emf.getPersistenceUnitUtil();
+        assertThat(results).hasSize(4);
+        assertThat(results).allSatisfy(m -> assertThat(util.isLoaded(m.getTeam())).isTrue());
+    }
+
+    /**
+     * collection 은 본 query 에서 join 하지 않음 -> limit 이 team row 기준으로 DB 에서 적용
+     */
+    @Test
+    public void fetchCollectionWithSecondaryInQuery() {
+        List<Team> results = FetchPlan.of(team)
+                .fetch(team.members)
+                .fetch(queryFactory.selectFrom(team).orderBy(team.name.asc()).limit(2), em);
+
+        PersistenceUnitUtil util = emf.getPersistenceUnitUtil();
+        assertThat(results).extracting("name").containsExactly("teamA", "teamB");
+        assertThat(results).allSatisfy(t -> assertThat(util.isLoaded(t, "members")).isTrue());
+        assertThat(results.get(0).getMembers()).extracting("username")
+                .containsExactlyInAnyOrder("member1", "member2", "member3");
+        assertThat(results.get(1).getMembers()).extracting("username").containsExactly("member4");
+    }
+
+    @Test
+    public void fetchWithEntityGraph() {
+        List<Member> results = FetchPlan.of(member)
+                .graph(member.team)
+                .fetch(queryFactory.selectFrom(member).where(member.age.goe(23)), em);
+
+        PersistenceUnitUtil util = emf.getPersistenceUnitUtil();
+        assertThat(results).hasSize(2);
+        assertThat(results).allSatisfy(m -> assertThat(util.isLoaded(m.getTeam())).isTrue());
+    }
+
+    @Test
+    public void nestedCollectionIsRejected() {
+        assertThatThrownBy(() -> FetchPlan.of(member).fetch(member.team.members))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
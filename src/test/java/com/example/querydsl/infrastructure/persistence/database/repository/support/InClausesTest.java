@@ -0,0 +1,52 @@
+package com.example.querydsl.infrastructure.persistence.database.repository.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InClausesTest {
+
+    @Test
+    public void partitionWithoutPadding() {
+        List<List<Long>> chunks = InClauses.partition(List.of(3L, 1L, 2L, 1L));
+
+        assertThat(chunks).containsExactly(List.of(3L, 1L, 2L));  // 중복 제거만, padding 은 Hibernate
+    }
+
+    @Test
+    public void partitionLargeIds() {
+        List<Long> ids = LongStream.rangeClosed(1, 2100).boxed().collect(Collectors.toList());
+
+        List<List<Long>> chunks = InClauses.partition(ids);
+
+        assertThat(chunks).extracting(List::size).containsExactly(1000, 1000, 100);
+        assertThat(chunks.get(2)).startsWith(2001L).endsWith(2100L);
+        assertThat(chunks.stream().flatMap(List::stream).distinct().count()).isEqualTo(2100);
+    }
+
+    @Test
+    public void padToBucket() {
+        assertThat(InClauses.padded(List.of(3L, 1L, 2L, 1L))).containsExactly(3L, 1L, 2L, 2L);  // 중복 제거 후 3개 -> 4개
+
+        List<Long> ids = LongStream.rangeClosed(1, 300).boxed().collect(Collectors.toList());
+        assertThat(InClauses.padded(ids)).hasSize(1000).endsWith(300L, 300L);
+    }
+
+    @Test
+    public void paddedRejectsEmptyAndOversizedIds() {
+        List<Long> ids = LongStream.rangeClosed(1, 1001).boxed().collect(Collectors.toList());
+
+        assertThatThrownBy(() -> InClauses.padded(List.of())).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> InClauses.padded(ids)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void emptyIds() {
+        assertThat(InClauses.partition(List.of())).isEmpty();
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.querydsl.infrastructure.persistence.database.repository.support;
+
+import com.example.querydsl.infrastructure.persistence.database.entity.Member;
+import com.example.querydsl.infrastructure.persistence.database.entity.Team;
+import com.querydsl.jpa.impl.JPAQuery;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.persistence.EntityManager;
+import javax.transaction.Transactional;
+import java.util.List;
+
+import static com.example.querydsl.infrastructure.persistence.database.entity.QMember.member;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Transactional
+class InstrumentedJPAQueryTest {
+
+    @Autowired
+    EntityManager em;
+
+    SimpleMeterRegistry meterRegistry;
+    InstrumentedJPAQueryFactory queryFactory;
+
+    @BeforeEach
+    public void before() {
+        meterRegistry = new SimpleMeterRegistry();
+        queryFactory = new InstrumentedJPAQueryFactory(em, new QueryMetrics(meterRegistry, false));
+
+        Team teamA = Team.builder().name("teamA").build();
+        em.persist(teamA);
+        em.persist(Member.builder().username("member1").age(21).team(teamA).build());
+        em.persist(Member.builder().username("member2").age(22).team(teamA).build());
+        em.persist(Member.builder().username("member3").age(23).build());
+
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    public void unnamedQueriesShareOneFingerprint() {
+        queryFactory.selectFrom(member).fetch();
+        queryFactory.select(member.count()).from(member).fetchOne();
+
+        assertThat(meterRegistry.get("querydsl.query").tag("query", "unnamed#fetch").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("querydsl.query").tag("query", "unnamed#fetchOne").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void recordLatencyAndRowsByCallSite() {
+        queryFactory = new InstrumentedJPAQueryFactory(em, new QueryMetrics(meterRegistry, true));
+
+        List<Member> members = queryFactory
+                .selectFrom(member)
+                .where(member.age.goe(22))
+                .fetch();
+
+        String fingerprint = "InstrumentedJPAQueryTest.recordLatencyAndRowsByCallSite#fetch";
+        Timer timer = meterRegistry.get("querydsl.query").tag("query", fingerprint).tag("outcome", "success").timer();
+        DistributionSummary rows = meterRegistry.get("querydsl.query.rows").tag("query", fingerprint).summary();
+
+        assertThat(members).hasSize(2);
+        assertThat(timer.count()).isEqualTo(1);
+        assertThat(rows.totalAmount()).isEqualTo(2);
+    }
+
+    @Test
+    public void nameHintOverridesCallSite() {
+        Long count = queryFactory
+                .select(member.count())
+                .from(member)
+                .setHint(QueryMetrics.NAME_HINT, "members#count")
+                .fetchOne();
+
+        assertThat(count).isEqualTo(3);
+        assertThat(meterRegistry.get("querydsl.query").tag("query", "members#count").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void derivedCountQueryKeepsName() {
+        JPAQuery<Member> contentQuery = queryFactory
+                .selectFrom(member)
+                .where(member.age.goe(22))
+                .setHint(QueryMetrics.NAME_HINT, "members#content");
+
+        assertThat(CountQueries.count(contentQuery, em).getAsLong()).isEqualTo(2);
+        assertThat(meterRegistry.get("querydsl.query").tag("query", "members#count").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void measureQueryOutsideQuerydsl() {
+        QueryMetrics metrics = new QueryMetrics(meterRegistry, false);
+
+        List<Member> members = metrics.measure("members#jpql",
+                em.createQuery("select m from Member m", Member.class)::getResultList, List::size);
+
+        assertThat(members).hasSize(3);
+        assertThat(meterRegistry.get("querydsl.query.rows").tag("query", "members#jpql").summary().totalAmount()).isEqualTo(3);
+    }
+
+    @Test
+    public void recordError() {
+        assertThatThrownBy(() -> queryFactory
+                .selectFrom(member)
+                .setHint(QueryMetrics.NAME_HINT, "members#fetchOne")
+                .fetchOne())  // 결과가 여러 건 -> NonUniqueResultException
+                .isInstanceOf(RuntimeException.class);
+
+        assertThat(meterRegistry.get("querydsl.query.errors").tag("query", "members#fetchOne").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("querydsl.query").tag("outcome", "error").timer().count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.querydsl.infrastructure.persistence.database.repository.support;
+
+import com.example.querydsl.ui.dto.response.MemberTeamResponseDto;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.example.querydsl.infrastructure.persistence.database.repository.support.MemberSnapshotFormat.NO_TEAM;
+import static com.example.querydsl.infrastructure.persistence.database.repository.support.MemberSnapshotFormat.NULL_CODE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+class MemberSnapshotReaderTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void roundTrip() throws IOException {
+        Path file = directory.resolve("snapshot.bin");
+        Map<Long, String> teams = new LinkedHashMap<>();
+        teams.put(1L, "teamA");
+        teams.put(2L, "팀B");
+
+        try (MemberSnapshotWriter writer = MemberSnapshotWriter.create(file)) {
+            writer.writeBlock(3,
+                    new long[]{10, 11, 12},
+                    new long[]{1, 2, NO_TEAM},
+                    new int[]{20, 21, 22},
+                    new String[]{"member", "회원", "member"});
+            writer.writeBlock(1, new long[]{13}, new long[]{1}, new int[]{23}, new String[]{null});
+            writer.finish(teams);
+        }
+
+        assertThat(directory).isDirectoryNotContaining("glob:**.tmp");
+        try (MemberSnapshotReader reader = MemberSnapshotReader.open(file)) {
+            assertThat(reader.rowCount()).isEqualTo(4);
+            assertThat(reader.teamNames()).containsExactlyEntriesOf(teams);
+
+            MemberSnapshotReader.Block first = reader.blocks().get(0);
+            assertThat(first.dictionarySize()).isEqualTo(2);  // block 안에서 같은 username 은 code 1개
+            assertThat(first.usernameCode(0)).isEqualTo(first.usernameCode(2));
+            assertThat(first.teamId(2)).isEqualTo(NO_TEAM);
+            assertThat(reader.blocks().get(1).usernameCode(0)).isEqualTo(NULL_CODE);
+
+            List<MemberTeamResponseDto> rows = new ArrayList<>();
+            reader.forEach(rows::add);
+            assertThat(rows)
+                    .extracting("memberId", "username", "age", "teamId", "teamName")
+                    .containsExactly(
+                            tuple(10L, "member", 20, 1L, "teamA"),
+                            tuple(11L, "회원", 21, 2L, "팀B"),
+                            tuple(12L, "member", 22, null, null),
+                            tuple(13L, null, 23, 1L, "teamA"));
+        }
+    }
+
+    @Test
+    public void emptySnapshot() throws IOException {
+        Path file = directory.resolve("empty.bin");
+        try (MemberSnapshotWriter writer = MemberSnapshotWriter.create(file)) {
+            writer.writeBlock(0, new long[0], new long[0], new int[0], new String[0]);
+            writer.finish(Map.of());
+        }
+
+        try (MemberSnapshotReader reader = MemberSnapshotReader.open(file)) {
+            assertThat(reader.rowCount()).isZero();
+            assertThat(reader.blocks()).isEmpty();
+            assertThat(reader.teamNames()).isEmpty();
+        }
+    }
+
+    @Test
+    public void unfinishedWriterLeavesNoFile() throws IOException {
+        Path file = directory.resolve("unfinished.bin");
+        try (MemberSnapshotWriter writer = MemberSnapshotWriter.create(file)) {
+            writer.writeBlock(1, new long[]{1}, new long[]{NO_TEAM}, new int[]{20}, new String[]{"member"});
+        }
+
+        assertThat(file).doesNotExist();
+        assertThat(directory).isEmptyDirectory();  // 임시 파일도 삭제
+    }
+
+    @Test
+    public void concurrentWritersDoNotShareTempFile() throws IOException {
+        Path file = directory.resolve("concurrent.bin");
+        try (MemberSnapshotWriter first = MemberSnapshotWriter.create(file);
+             MemberSnapshotWriter second = MemberSnapshotWriter.create(file)) {
+            first.writeBlock(2, new long[]{1, 2}, new long[]{NO_TEAM, NO_TEAM}, new int[]{20, 21}, new String[]{"first1", "first2"});
+            second.writeBlock(1, new long[]{3}, new long[]{NO_TEAM}, new int[]{30}, new String[]{"second"});
+            first.finish(Map.of());
+            second.finish(Map.of());  // 나중에 rename 한 쪽이 남음
+        }
+
+        try (MemberSnapshotReader reader = MemberSnapshotReader.open(file)) {
+            List<MemberTeamResponseDto> rows = new ArrayList<>();
+            reader.forEach(rows::add);
+            assertThat(rows).extracting("memberId", "username").containsExactly(tuple(3L, "second"));
+        }
+        assertThat(directory).isDirectoryNotContaining("glob:**.tmp");
+    }
+
+    @Test
+    public void rejectOtherFiles() throws IOException {
+        Path file = Files.write(directory.resolve("other.bin"), new byte[64]);
+
+        assertThatThrownBy(() -> MemberSnapshotReader.open(file)).isInstanceOf(IOException.class);
+    }
+}
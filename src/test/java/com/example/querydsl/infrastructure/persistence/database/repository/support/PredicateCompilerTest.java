@@ -0,0 +1,97 @@
+package com.example.querydsl.infrastructure.persistence.database.repository.support;
+
+import com.example.querydsl.common.search.Eq;
+import com.example.querydsl.infrastructure.persistence.database.entity.QMember;
+import com.example.querydsl.infrastructure.persistence.database.sql.SMember;
+import com.example.querydsl.ui.dto.request.MemberSearchConditionDto;
+import com.querydsl.jpa.impl.JPAQuery;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static com.example.querydsl.infrastructure.persistence.database.entity.QMember.member;
+import static com.example.querydsl.infrastructure.persistence.database.entity.QTeam.team;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PredicateCompilerTest {
+
+    PredicateCompiler<MemberSearchConditionDto> memberTeam = PredicateCompiler.of(MemberSearchConditionDto.class, member, team);
+
+    @Test
+    public void canonicalOrderRegardlessOfDeclaration() {
+        MemberSearchConditionDto condition = MemberSearchConditionDto.builder()
+                .username("member1").teamName("teamA").ageGoe(20).ageLoe(30).build();
+
+        assertThat(memberTeam.predicates(condition)).containsExactly(
+                member.age.goe(20),
+                member.age.loe(30),
+                member.username.eq("member1"),
+                team.name.eq("teamA"));
+    }
+
+    @Test
+    public void emptyValuesAreSkipped() {
+        MemberSearchConditionDto condition = MemberSearchConditionDto.builder().username(" ").teamName("").ageLoe(30).build();
+
+        assertThat(memberTeam.predicates(condition)).containsExactly(member.age.loe(30));
+        assertThat(memberTeam.predicates(new MemberSearchConditionDto(), null, member.id.gt(1L)))
+                .containsExactly(member.id.gt(1L));
+    }
+
+    /**
+     * 생성된 QMember.member 의 alias 는 "member1" (member 는 JPQL 예약어) -> root 는 alias 가 아니라 static field 이름으로 찾음
+     */
+    @Test
+    public void rootIsResolvedByStaticInstanceNotAlias() {
+        assertThat(member.getMetadata().getName()).isEqualTo("member1");
+        assertThat(PredicateCompiler.rootName(member)).isEqualTo("member");
+        assertThat(PredicateCompiler.rootName(new QMember("m"))).isEqualTo("member");
+        assertThat(PredicateCompiler.rootName(SMember.member)).isEqualTo("member");
+
+        MemberSearchConditionDto condition = MemberSearchConditionDto.builder().username("member1").ageGoe(20).build();
+        assertThat(memberTeam.predicates(condition)).containsExactly(member.age.goe(20), member.username.eq("member1"));
+    }
+
+    @Test
+    public void skippedRootsAreExplicit() {
+        PredicateCompiler<MemberSearchConditionDto> memberOnly = PredicateCompiler.of(MemberSearchConditionDto.class, Set.of("team"), member);
+        MemberSearchConditionDto condition = MemberSearchConditionDto.builder().teamName("teamA").ageGoe(20).build();
+
+        assertThat(memberOnly.predicates(condition)).containsExactly(member.age.goe(20));
+        assertThat(PredicateCompiler.of(MemberSearchConditionDto.class, Set.of("team"), member)).isSameAs(memberOnly);  // DTO + root 조합마다 한 번만 분석
+    }
+
+    @Test
+    public void missingRootIsRejected() {
+        assertThatThrownBy(() -> PredicateCompiler.of(MemberSearchConditionDto.class, member))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("team");
+    }
+
+    /**
+     * 같은 조건이면 누가 만들어도 같은 JPQL
+     */
+    @Test
+    public void sameJpqlAsHandWrittenCanonicalQuery() {
+        MemberSearchConditionDto condition = MemberSearchConditionDto.builder().username("member1").ageGoe(20).build();
+
+        String compiled = new JPAQuery<>().select(member).from(member).leftJoin(member.team, team)
+                .where(memberTeam.predicates(condition)).toString();
+        String handWritten = new JPAQuery<>().select(member).from(member).leftJoin(member.team, team)
+                .where(member.age.goe(20), member.username.eq("member1")).toString();
+
+        assertThat(compiled).isEqualTo(handWritten);
+    }
+
+    @Test
+    public void invalidPathIsRejected() {
+        assertThatThrownBy(() -> PredicateCompiler.of(InvalidCondition.class, member))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    static class InvalidCondition {
+        @Eq("member.nickname")
+        private String nickname;
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.querydsl.infrastructure.persistence.database.repository.support;
+
+import com.example.querydsl.infrastructure.persistence.database.entity.Member;
+import com.example.querydsl.infrastructure.persistence.database.entity.Team;
+import com.example.querydsl.infrastructure.persistence.database.repository.MemberSupportTestRepository;
+import com.example.querydsl.infrastructure.persistence.database.repository.TeamSupportTestRepository;
+import com.example.querydsl.ui.dto.request.MemberSearchConditionDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceUnitUtil;
+import javax.transaction.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * applyPagination(pageable, contentQuery, FetchPlan)
+ * - count query 는 fetch join 을 붙이기 전의 content query 에서 유도
+ * - collection 은 현재 페이지 entity 만 IN 으로 추가 조회
+ */
+@SpringBootTest
+@Transactional
+class Querydsl4RepositorySupportTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    EntityManagerFactory emf;
+
+    @Autowired
+    MemberSupportTestRepository memberSupportTestRepository;
+
+    @Autowired
+    TeamSupportTestRepository teamSupportTestRepository;
+
+    @BeforeEach
+    public void before() {
+        Team teamA = Team.builder().name("teamA").build();
+        Team teamB = Team.builder().name("teamB").build();
+        Team teamC = Team.builder().name("teamC").build();
+        em.persist(teamA);
+        em.persist(teamB);
+        em.persist(teamC);
+
+        em.persist(Member.builder().username("member1").age(21).team(teamA).build());
+        em.persist(Member.builder().username("member2").age(22).team(teamA).build());
+        em.persist(Member.builder().username("member3").age(23).team(teamA).build());
+        em.persist(Member.builder().username("member4").age(24).team(teamB).build());
+
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    public void memberPageWithTeam() {
+        Page<Member> page = memberSupportTestRepository.searchPageWithTeam(
+                new MemberSearchConditionDto(), PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "username")));
+
+        PersistenceUnitUtil util = emf.getPersistenceUnitUtil();
+        assertThat(page.getTotalElements()).isEqualTo(4);
+        assertThat(page.getContent()).extracting("username").containsExactly("member4", "member3", "member2");
+        assertThat(page.getContent()).allSatisfy(m -> assertThat(util.isLoaded(m.getTeam())).isTrue());
+    }
+
+    @Test
+    public void memberPageWithTeamFiltersByTeamName() {
+        Page<Member> page = memberSupportTestRepository.searchPageWithTeam(
+                MemberSearchConditionDto.builder().teamName("teamB").build(), PageRequest.of(0, 3));
+
+        assertThat(page.getTotalElements()).isEqualTo(1);
+        assertThat(page.getContent()).extracting("username").containsExactly("member4");
+    }
+
+    @Test
+    public void memberPagesApplyUsernameConditions() {
+        MemberSearchConditionDto contains = MemberSearchConditionDto.builder().usernameContains("ber4").build();
+        MemberSearchConditionDto prefix = MemberSearchConditionDto.builder().usernamePrefix("member4").build();
+
+        for (MemberSearchConditionDto conditionDto : new MemberSearchConditionDto[]{contains, prefix}) {
+            assertThat(memberSupportTestRepository.searchPageBuAppluPage(conditionDto, PageRequest.of(0, 10)).getContent())
+                    .extracting("username").containsExactly("member4");
+            assertThat(memberSupportTestRepository.applyPagination(conditionDto, PageRequest.of(0, 10)).getContent())
+                    .extracting("username").containsExactly("member4");
+            assertThat(memberSupportTestRepository.searchPageWithTeam(conditionDto, PageRequest.of(0, 10)).getContent())
+                    .extracting("username").containsExactly("member4");
+        }
+    }
+
+    /**
+     * 페이지 크기(2) < team 수(3) -> limit 이 team row 기준으로 적용되고 count query 가 실행됨
+     */
+    @Test
+    public void teamPageWithMembers() {
+        Page<Team> first = teamSupportTestRepository.searchTeamPageWithMembers(null, PageRequest.of(0, 2, Sort.by("name")));
+
+        PersistenceUnitUtil util = emf.getPersistenceUnitUtil();
+        assertThat(first.getTotalElements()).isEqualTo(3);
+        assertThat(first.getTotalPages()).isEqualTo(2);
+        assertThat(first.getContent()).extracting("name").containsExactly("teamA", "teamB");
+        assertThat(first.getContent()).allSatisfy(t -> assertThat(util.isLoaded(t, "members")).isTrue());
+        assertThat(first.getContent().get(0).getMembers()).extracting("username")
+                .containsExactlyInAnyOrder("member1", "member2", "member3");
+        assertThat(first.getContent().get(1).getMembers()).extracting("username").containsExactly("member4");
+
+        Page<Team> second = teamSupportTestRepository.searchTeamPageWithMembers(null, PageRequest.of(1, 2, Sort.by("name")));
+        assertThat(second.getContent()).extracting("name").containsExactly("teamC");
+        assertThat(second.getContent().get(0).getMembers()).isEmpty();
+    }
+
+    @Test
+    public void teamPageSortedByTeamProperty() {
+        Page<Team> page = teamSupportTestRepository.searchTeamPageWithMembers(null, PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "name")));
+
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(page.getContent()).extracting("name").containsExactly("teamC", "teamB");
+    }
+
+    @Test
+    public void teamPageWithCondition() {
+        Page<Team> page = teamSupportTestRepository.searchTeamPageWithMembers("teamB", PageRequest.of(0, 2));
+
+        assertThat(page.getTotalElements()).isEqualTo(1);
+        assertThat(page.getContent()).extracting("name").containsExactly("teamB");
+        assertThat(page.getContent().get(0).getMembers()).extracting("username").containsExactly("member4");
+    }
+}
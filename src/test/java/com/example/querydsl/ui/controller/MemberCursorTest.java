@@ -0,0 +1,79 @@
+package com.example.querydsl.ui.controller;
+
+import com.example.querydsl.infrastructure.persistence.database.entity.Member;
+import com.example.querydsl.infrastructure.persistence.database.repository.support.KeysetCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.persistence.EntityManager;
+import javax.transaction.Transactional;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * /v4/members
+ * - client 가 보낸 cursor, 정렬이 잘못되면 500 이 아니라 400
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class MemberCursorTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    EntityManager em;
+
+    @BeforeEach
+    public void before() {
+        for (int i = 1; i <= 3; i++) {
+            em.persist(Member.builder().username("cursor" + i).age(20 + i).build());
+        }
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    public void nextCursorContinuesSlice() throws Exception {
+        mockMvc.perform(get("/v4/members").param("usernamePrefix", "cursor").param("size", "2").param("sort", "age,asc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.hasNext").value(true));
+    }
+
+    @Test
+    public void malformedCursorIsBadRequest() throws Exception {
+        mockMvc.perform(get("/v4/members").param("cursor", "not a cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void unsupportedSortIsBadRequest() throws Exception {
+        mockMvc.perform(get("/v4/members").param("sort", "teamName,asc"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void cursorFromDifferentSortIsBadRequest() throws Exception {
+        String ageCursor = KeysetCursor.of("age", Sort.Direction.ASC, 1L, 21).encode();
+
+        mockMvc.perform(get("/v4/members").param("cursor", ageCursor).param("sort", "username,asc"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void nonNumericAgeKeyIsBadRequest() throws Exception {
+        String cursor = KeysetCursor.of("age", Sort.Direction.ASC, 1L, "abc").encode();
+
+        mockMvc.perform(get("/v4/members").param("cursor", cursor).param("sort", "age,asc"))
+                .andExpect(status().isBadRequest());
+    }
+}
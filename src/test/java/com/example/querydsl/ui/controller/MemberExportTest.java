@@ -0,0 +1,104 @@
+package com.example.querydsl.ui.controller;
+
+import com.example.querydsl.infrastructure.persistence.database.entity.Member;
+import com.example.querydsl.infrastructure.persistence.database.entity.Team;
+import com.example.querydsl.ui.dto.response.MemberTeamResponseDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.persistence.EntityManager;
+import javax.transaction.Transactional;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * /v1/members/export
+ * - fetch size 2 -> 5건을 stream 하는 동안 영속성 컨텍스트가 여러 번 clear 됨
+ */
+@SpringBootTest(properties = "querydsl.member.export.fetch-size=2")
+@AutoConfigureMockMvc
+@Transactional
+class MemberExportTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    Team teamA;
+    List<Member> members = new ArrayList<>();
+
+    @BeforeEach
+    public void before() {
+        teamA = Team.builder().name("teamA").build();
+        em.persist(teamA);
+        for (int i = 1; i <= 5; i++) {
+            Member member = Member.builder().username(i == 5 ? "export,\"5\"" : "export" + i).age(20 + i).team(i == 5 ? null : teamA).build();
+            em.persist(member);
+            members.add(member);
+        }
+
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    public void ndjsonRowsAreStreamedWithoutRetainingEntities() throws Exception {
+        Member loaded = em.find(Member.class, members.get(0).getId());
+
+        String body = mockMvc.perform(get("/v1/members/export").param("usernamePrefix", "export"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        List<MemberTeamResponseDto> rows = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            rows.add(objectMapper.readValue(line, MemberTeamResponseDto.class));
+        }
+        assertThat(rows)
+                .extracting("username", "age", "teamName")
+                .containsExactly(  // id 순
+                        tuple("export1", 21, "teamA"),
+                        tuple("export2", 22, "teamA"),
+                        tuple("export3", 23, "teamA"),
+                        tuple("export4", 24, "teamA"),
+                        tuple("export,\"5\"", 25, null));
+
+        // DTO projection -> entity 를 만들지 않음, fetch size 마다 clear -> 이전에 올라와 있던 entity 도 남지 않음
+        assertThat(em.contains(loaded)).isFalse();
+        assertThat(em.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+
+    @Test
+    public void csvRowsAreQuoted() throws Exception {
+        String body = mockMvc.perform(get("/v1/members/export").param("usernamePrefix", "export").param("format", "csv"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        assertThat(body.split("\n")).containsExactly(
+                "memberId,username,age,teamId,teamName",
+                members.get(0).getId() + ",export1,21," + teamA.getId() + ",teamA",
+                members.get(1).getId() + ",export2,22," + teamA.getId() + ",teamA",
+                members.get(2).getId() + ",export3,23," + teamA.getId() + ",teamA",
+                members.get(3).getId() + ",export4,24," + teamA.getId() + ",teamA",
+                members.get(4).getId() + ",\"export,\"\"5\"\"\",25,,");
+    }
+}